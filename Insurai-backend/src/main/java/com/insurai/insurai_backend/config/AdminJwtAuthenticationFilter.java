@@ -18,9 +18,11 @@ import jakarta.servlet.http.HttpServletResponse;
 public class AdminJwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final AuthenticatedUserResolver userResolver;
 
-    public AdminJwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public AdminJwtAuthenticationFilter(JwtUtil jwtUtil, AuthenticatedUserResolver userResolver) {
         this.jwtUtil = jwtUtil;
+        this.userResolver = userResolver;
     }
 
     @Override
@@ -35,16 +37,18 @@ public class AdminJwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
 
             try {
-                String email = jwtUtil.extractEmail(token);
-                String role = jwtUtil.extractRole(token);
+                JwtPrincipal principal = jwtUtil.parse(token);
 
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null
-                        && "ADMIN".equalsIgnoreCase(role)) {
+                if (principal.getEmail() != null && SecurityContextHolder.getContext().getAuthentication() == null
+                        && "ADMIN".equalsIgnoreCase(principal.getRole())) {
 
                     SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_ADMIN");
 
                     UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(email, null, Collections.singletonList(authority));
+                            new UsernamePasswordAuthenticationToken(principal, null, Collections.singletonList(authority));
+
+                    // Entity id and name for controllers, cached across requests
+                    userResolver.resolve(principal.getEmail(), principal.getRole()).ifPresent(authToken::setDetails);
 
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -6,13 +6,9 @@ import java.util.Collections;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.insurai.insurai_backend.model.Agent;
-import com.insurai.insurai_backend.service.AgentService;
-
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,7 +20,7 @@ import lombok.RequiredArgsConstructor;
 public class AgentJwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final AgentService agentService;
+    private final AuthenticatedUserResolver userResolver;
 
     @Override
     protected void doFilterInternal(
@@ -35,30 +31,32 @@ public class AgentJwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Get the Authorization header
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String email = null;
+        JwtPrincipal principal = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
+            String token = authHeader.substring(7);
             try {
-                email = jwtUtil.extractUsername(token);
+                // Verifies signature and expiry once; later lookups of this token hit the cache
+                principal = jwtUtil.parse(token);
             } catch (Exception e) {
                 System.out.println("Invalid JWT: " + e.getMessage());
             }
         }
 
         // Validate token
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            Agent agent = agentService.findByEmail(email).orElse(null);
+        if (principal != null && principal.getEmail() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Agent must still exist; resolved from the identity cache when possible
+            AuthenticatedUser agent = userResolver.resolve(principal.getEmail(), "AGENT").orElse(null);
 
-            if (agent != null && jwtUtil.validateToken(token, email)) {
+            if (agent != null) {
                 SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_AGENT");
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                agent, null, Collections.singletonList(authority)
+                                principal, null, Collections.singletonList(authority)
                         );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                authToken.setDetails(agent);
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
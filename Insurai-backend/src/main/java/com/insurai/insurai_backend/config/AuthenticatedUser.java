@@ -0,0 +1,64 @@
+package com.insurai.insurai_backend.config;
+
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Database identity of the caller: entity id and display name for the token's email and role.
+ * Resolved once per request by the JWT filters (through AuthenticatedUserResolver) and
+ * attached to the authentication as its details.
+ */
+public final class AuthenticatedUser {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String role;
+    private final String employeeCode; // Corporate employee ID, employees only
+
+    public AuthenticatedUser(Long id, String name, String email, String role, String employeeCode) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.employeeCode = employeeCode;
+    }
+
+    /**
+     * Identity resolved by a JWT filter for the current request, if any.
+     */
+    public static Optional<AuthenticatedUser> current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getDetails() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[" + role + " #" + id + ", " + email + "]";
+    }
+}
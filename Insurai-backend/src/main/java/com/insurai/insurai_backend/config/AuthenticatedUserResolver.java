@@ -0,0 +1,126 @@
+package com.insurai.insurai_backend.config;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.insurai.insurai_backend.repository.AdminRepository;
+import com.insurai.insurai_backend.repository.AgentRepository;
+import com.insurai.insurai_backend.repository.EmployeeRepository;
+import com.insurai.insurai_backend.repository.HrRepository;
+
+/**
+ * Maps a token's (email, role) to the caller's entity id and name.
+ *
+ * Results are kept in a small LRU cache for a short TTL so that most requests do
+ * not hit the database just to find out who the caller is. Call invalidate() when
+ * a user's email, name or account is changed or removed; the TTL bounds staleness
+ * for anything that is not invalidated explicitly. Unknown users are not cached.
+ */
+@Component
+public class AuthenticatedUserResolver {
+
+    private final EmployeeRepository employeeRepository;
+    private final HrRepository hrRepository;
+    private final AgentRepository agentRepository;
+    private final AdminRepository adminRepository;
+    private final long ttlMs;
+    private final Map<String, CachedIdentity> cache;
+
+    public AuthenticatedUserResolver(EmployeeRepository employeeRepository,
+                                     HrRepository hrRepository,
+                                     AgentRepository agentRepository,
+                                     AdminRepository adminRepository,
+                                     @Value("${auth.identity-cache.ttl-ms:60000}") long ttlMs,
+                                     @Value("${auth.identity-cache.max-entries:10000}") int maxEntries) {
+        this.employeeRepository = employeeRepository;
+        this.hrRepository = hrRepository;
+        this.agentRepository = agentRepository;
+        this.adminRepository = adminRepository;
+        this.ttlMs = ttlMs;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedIdentity> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Identity of the caller with this email and role, from the current request,
+     * the cache or the database (in that order).
+     */
+    public Optional<AuthenticatedUser> resolve(String email, String role) {
+        if (email == null || role == null) return Optional.empty();
+
+        Optional<AuthenticatedUser> current = AuthenticatedUser.current()
+                .filter(user -> user.getEmail().equalsIgnoreCase(email) && user.getRole().equalsIgnoreCase(role));
+        if (current.isPresent()) return current;
+
+        String key = key(email, role);
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedIdentity cached = cache.get(key);
+            if (cached != null && cached.expiresAt > now) return Optional.of(cached.user);
+        }
+
+        Optional<AuthenticatedUser> loaded = load(email, role.toUpperCase());
+        loaded.ifPresent(user -> {
+            synchronized (cache) {
+                cache.put(key, new CachedIdentity(user, now + ttlMs));
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Drop cached identities for this email (all roles).
+     */
+    public void invalidate(String email) {
+        if (email == null) return;
+        String suffix = ":" + email.toLowerCase();
+        synchronized (cache) {
+            Iterator<String> keys = cache.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().endsWith(suffix)) keys.remove();
+            }
+        }
+    }
+
+    private Optional<AuthenticatedUser> load(String email, String role) {
+        switch (role) {
+            case "EMPLOYEE":
+                return employeeRepository.findByEmail(email)
+                        .map(e -> new AuthenticatedUser(e.getId(), e.getName(), e.getEmail(), role, e.getEmployeeId()));
+            case "HR":
+                return hrRepository.findByEmail(email)
+                        .map(h -> new AuthenticatedUser(h.getId(), h.getName(), h.getEmail(), role, null));
+            case "AGENT":
+                return agentRepository.findByEmail(email)
+                        .map(a -> new AuthenticatedUser(a.getId(), a.getName(), a.getEmail(), role, null));
+            case "ADMIN":
+                return adminRepository.findByEmail(email)
+                        .map(a -> new AuthenticatedUser(a.getId(), a.getEmail(), a.getEmail(), role, null));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static String key(String email, String role) {
+        return role.toUpperCase() + ":" + email.toLowerCase();
+    }
+
+    private static class CachedIdentity {
+        private final AuthenticatedUser user;
+        private final long expiresAt;
+
+        private CachedIdentity(AuthenticatedUser user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -18,9 +18,11 @@ import jakarta.servlet.http.HttpServletResponse;
 public class EmployeeJwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final AuthenticatedUserResolver userResolver;
 
-    public EmployeeJwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public EmployeeJwtAuthenticationFilter(JwtUtil jwtUtil, AuthenticatedUserResolver userResolver) {
         this.jwtUtil = jwtUtil;
+        this.userResolver = userResolver;
     }
 
     @Override
@@ -35,15 +37,18 @@ public class EmployeeJwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
 
             try {
-                String email = jwtUtil.extractEmail(token);
-                String role = jwtUtil.extractRole(token); // e.g., "EMPLOYEE"
+                JwtPrincipal principal = jwtUtil.parse(token);
+                String role = principal.getRole(); // e.g., "EMPLOYEE"
 
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (principal.getEmail() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     // **Important:** Add "ROLE_" prefix for Spring Security
                     SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role.toUpperCase());
 
                     UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(email, null, Collections.singletonList(authority));
+                            new UsernamePasswordAuthenticationToken(principal, null, Collections.singletonList(authority));
+
+                    // Entity id and name for controllers, cached across requests
+                    userResolver.resolve(principal.getEmail(), role).ifPresent(authToken::setDetails);
 
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
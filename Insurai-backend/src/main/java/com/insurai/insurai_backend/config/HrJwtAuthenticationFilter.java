@@ -21,9 +21,11 @@ public class HrJwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(HrJwtAuthenticationFilter.class);
     private final JwtUtil jwtUtil;
+    private final AuthenticatedUserResolver userResolver;
 
-    public HrJwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public HrJwtAuthenticationFilter(JwtUtil jwtUtil, AuthenticatedUserResolver userResolver) {
         this.jwtUtil = jwtUtil;
+        this.userResolver = userResolver;
     }
 
     @Override
@@ -38,8 +40,9 @@ public class HrJwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7).trim();
 
             try {
-                String email = jwtUtil.extractEmail(token);
-                String role = jwtUtil.extractRole(token);
+                JwtPrincipal principal = jwtUtil.parse(token);
+                String email = principal.getEmail();
+                String role = principal.getRole();
 
                 if (email != null && role != null &&
                         SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -48,7 +51,10 @@ public class HrJwtAuthenticationFilter extends OncePerRequestFilter {
                     SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role.toUpperCase());
 
                     UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(email, null, Collections.singletonList(authority));
+                            new UsernamePasswordAuthenticationToken(principal, null, Collections.singletonList(authority));
+
+                    // Entity id and name for controllers, cached across requests
+                    userResolver.resolve(principal.getEmail(), role).ifPresent(authToken::setDetails);
 
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     logger.debug("Authentication set for HR: {} with role: {}", email, role);
@@ -0,0 +1,62 @@
+package com.insurai.insurai_backend.config;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Verified contents of a JWT: who the caller is, their role and when the token expires.
+ * Produced once per token by JwtUtil.parse and set as the principal by the JWT filters.
+ */
+public final class JwtPrincipal implements Principal {
+
+    private final String email;
+    private final String role;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(String email, String role, Instant expiresAt) {
+        this.email = email;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Principal of the current request, if a JWT filter authenticated it.
+     */
+    public static Optional<JwtPrincipal> current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof JwtPrincipal principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal[" + email + ", " + role + "]";
+    }
+}
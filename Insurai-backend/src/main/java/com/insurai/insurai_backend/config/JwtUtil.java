@@ -1,10 +1,20 @@
 package com.insurai.insurai_backend.config;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,8 +26,23 @@ public class JwtUtil {
     // must be at least 256-bit for HS256
     private final long EXPIRATION_TIME = 86400000; // 1 day
 
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // Verified tokens keyed by SHA-256 of the token, LRU-bounded; entries are dropped once the token expires
+    private final Map<String, JwtPrincipal> verifiedTokens;
+
+    public JwtUtil(@Value("${jwt.cache.max-entries:10000}") int maxCachedTokens) {
+        this.verifiedTokens = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtPrincipal> eldest) {
+                return size() > maxCachedTokens || eldest.getValue().isExpired();
+            }
+        };
+    }
+
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        return signingKey;
     }
 
     // Generate JWT token
@@ -31,14 +56,41 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verify the token once and return its principal.
+     * Repeated calls with the same token are served from the cache until the token expires.
+     * Throws the usual jjwt exceptions for invalid or expired tokens.
+     */
+    public JwtPrincipal parse(String token) {
+        String digest = digest(token);
+
+        synchronized (verifiedTokens) {
+            JwtPrincipal cached = verifiedTokens.get(digest);
+            if (cached != null) {
+                if (!cached.isExpired()) return cached;
+                verifiedTokens.remove(digest);
+            }
+        }
+
+        // Signature and expiry are checked here; throws if either fails
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                expiration != null ? expiration.toInstant() : null);
+
+        if (expiration != null) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(digest, principal);
+            }
+        }
+        return principal;
+    }
+
     // Extract email from token
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parse(token).getEmail();
     }
 
     // ------------------- Added for Agent JWT filter -------------------
@@ -56,23 +108,21 @@ public class JwtUtil {
     }
 
     private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+        return parse(token).isExpired();
     }
     // -------------------------------------------------------------------
 
     // Extract role from token
     public String extractRole(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role", String.class);
+        return parse(token).getRole();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -10,19 +10,24 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 public class SecurityConfig {
 
     private final EmployeeJwtAuthenticationFilter employeeJwtAuthenticationFilter;
     private final AgentJwtAuthenticationFilter agentJwtAuthenticationFilter;
     private final HrJwtAuthenticationFilter hrJwtAuthenticationFilter;
+    private final StreamTicketAuthenticationFilter streamTicketAuthenticationFilter;
 
     public SecurityConfig(EmployeeJwtAuthenticationFilter employeeJwtAuthenticationFilter,
                           AgentJwtAuthenticationFilter agentJwtAuthenticationFilter,
-                          HrJwtAuthenticationFilter hrJwtAuthenticationFilter) {
+                          HrJwtAuthenticationFilter hrJwtAuthenticationFilter,
+                          StreamTicketAuthenticationFilter streamTicketAuthenticationFilter) {
         this.employeeJwtAuthenticationFilter = employeeJwtAuthenticationFilter;
         this.agentJwtAuthenticationFilter = agentJwtAuthenticationFilter;
         this.hrJwtAuthenticationFilter = hrJwtAuthenticationFilter;
+        this.streamTicketAuthenticationFilter = streamTicketAuthenticationFilter;
     }
 
     @Bean
@@ -31,10 +36,13 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> {}) // Keep global CORS
             .authorizeHttpRequests(auth -> auth
+                // Completion of async (SSE) requests: the request itself was authorised when it started,
+                // and the JWT filters do not run again on the async dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Employee claim endpoints
                 .requestMatchers("/employee/claims/**").hasRole("EMPLOYEE")
                 .requestMatchers("/employee/queries/**").hasRole("EMPLOYEE")
-                .requestMatchers("/uploads/**").permitAll()
                 .requestMatchers("/hr/claims").hasAnyRole("HR")
                 .requestMatchers("/admin/claims").hasAnyRole("ADMIN")
                 .requestMatchers("/hr/claims/fraud").hasRole("HR")
@@ -72,6 +80,9 @@ public class SecurityConfig {
                 // Employee endpoints (other than claims/queries)
                 .requestMatchers("/employee/**").hasRole("EMPLOYEE")
 
+                // Claim documents: ownership is checked by ClaimDocumentController
+                .requestMatchers("/claims/*/documents/**").hasAnyRole("EMPLOYEE", "HR", "ADMIN")
+
                 // Claim endpoints for HR/Admin
                 .requestMatchers(
                     "/claims/approve/**",
@@ -86,6 +97,7 @@ public class SecurityConfig {
             .formLogin(formLogin -> formLogin.disable());
 
         // Add JWT filters in order
+        http.addFilterBefore(streamTicketAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(employeeJwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(agentJwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(hrJwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,51 @@
+package com.insurai.insurai_backend.config;
+
+import java.io.IOException;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates notification stream requests that carry a ?ticket= from StreamTicketStore
+ * instead of an Authorization header (EventSource cannot set headers).
+ */
+@Component
+public class StreamTicketAuthenticationFilter extends OncePerRequestFilter {
+
+    private final StreamTicketStore streamTicketStore;
+
+    public StreamTicketAuthenticationFilter(StreamTicketStore streamTicketStore) {
+        this.streamTicketStore = streamTicketStore;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = streamTicketStore.redeem(request.getParameter("ticket")).orElse(null);
+        if (authentication == null) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.getWriter().write("Invalid or expired stream ticket");
+            return;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        String path = request.getServletPath();
+        return !(path.startsWith("/notifications/user/") && path.endsWith("/stream"))
+                || request.getParameter("ticket") == null;
+    }
+}
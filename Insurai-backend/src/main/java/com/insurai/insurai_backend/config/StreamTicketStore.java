@@ -0,0 +1,52 @@
+package com.insurai.insurai_backend.config;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time tickets for opening an event stream with the browser's EventSource, which cannot
+ * send an Authorization header. A client authenticated with its JWT asks for a ticket and puts
+ * it in the stream URL; the ticket carries that authentication, expires after a short TTL and
+ * can be redeemed once, so a logged URL is useless afterwards.
+ */
+@Component
+public class StreamTicketStore {
+
+    private final long ttlMs;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public StreamTicketStore(@Value("${notifications.stream.ticket-ttl-ms:60000}") long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public String issue(Authentication authentication) {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.expiresAt() <= now);
+
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(authentication, now + ttlMs));
+        return ticket;
+    }
+
+    /**
+     * Authentication the ticket was issued for, if it exists and has not expired. Removes the ticket.
+     */
+    public Optional<Authentication> redeem(String ticket) {
+        Ticket redeemed = ticket != null ? tickets.remove(ticket) : null;
+        if (redeemed == null || redeemed.expiresAt() <= System.currentTimeMillis()) return Optional.empty();
+        return Optional.of(redeemed.authentication());
+    }
+
+    private record Ticket(Authentication authentication, long expiresAt) {
+    }
+}
@@ -1,9 +1,13 @@
 package com.insurai.insurai_backend.controller;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,14 +15,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.insurai.insurai_backend.config.JwtUtil;
+import com.insurai.insurai_backend.dto.AuditLogFilter;
+import com.insurai.insurai_backend.dto.ClaimSummary;
+import com.insurai.insurai_backend.dto.CursorPage;
 import com.insurai.insurai_backend.model.AuditLog;
-import com.insurai.insurai_backend.model.Claim;
 import com.insurai.insurai_backend.model.LoginRequest;
 import com.insurai.insurai_backend.model.RegisterRequest;
 import com.insurai.insurai_backend.service.AdminService;
+import com.insurai.insurai_backend.service.AuditLogExporter;
 import com.insurai.insurai_backend.service.AuditLogService;
 import com.insurai.insurai_backend.service.ClaimService;
 import com.insurai.insurai_backend.service.HrService;
@@ -29,6 +38,9 @@ import com.insurai.insurai_backend.service.PolicyService;
 @CrossOrigin(origins = "http://localhost:5173") // React frontend
 public class AdminController {
 
+    private static final int RECENT_AUDIT_LOGS_LIMIT = 500;
+    private static final int MAX_AUDIT_LOGS_PAGE_SIZE = 500;
+
     @Autowired
     private AdminService adminService;
 
@@ -44,6 +56,9 @@ public class AdminController {
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private AuditLogExporter auditLogExporter;
+
     @Autowired
     private HrService hrService; // ✅ NEW: For HR registration
 
@@ -109,44 +124,47 @@ public class AdminController {
     }
 
     // -------------------- Get All Claims --------------------
+    // One keyset page, newest first; same as /claims/page without filters
     @GetMapping("/claims")
-    public ResponseEntity<?> getAllClaims(@RequestHeader(value = "Authorization") String authHeader) {
-        try {
-            if (!isAdminJwt(authHeader)) {
-                return ResponseEntity.status(403).body("Access denied. Please login as Admin.");
-            }
-
-            List<Claim> claims = claimService.getAllClaims();
-            List<ClaimDTO> dtos = claims.stream()
-                    .map(ClaimDTO::new)
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(dtos);
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body("Error fetching claims: " + e.getMessage());
-        }
+    public ResponseEntity<?> getAllClaims(
+            @RequestHeader(value = "Authorization") String authHeader,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return getClaimsPage(authHeader, null, null, null, null, null, cursor, size);
     }
 
     // ================= Get All Fraud-Flagged Claims (Admin) =================
+    // One keyset page of fraud-flagged claims, filtered in the query
     @GetMapping("/claims/fraud")
-    public ResponseEntity<?> getFraudClaimsAdmin(@RequestHeader(value = "Authorization") String authHeader) {
+    public ResponseEntity<?> getFraudClaimsAdmin(
+            @RequestHeader(value = "Authorization") String authHeader,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return getClaimsPage(authHeader, null, true, null, null, null, cursor, size);
+    }
+
+    // ================= Claims Page (keyset pagination + filters) =================
+    // Newest first; pass nextCursor from the response as cursor to load the next page
+    @GetMapping("/claims/page")
+    public ResponseEntity<?> getClaimsPage(
+            @RequestHeader(value = "Authorization") String authHeader,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Boolean fraudFlag,
+            @RequestParam(required = false) Long hrId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size) {
         try {
             if (!isAdminJwt(authHeader)) {
                 return ResponseEntity.status(403).body("Access denied. Please login as Admin.");
             }
 
-            List<Claim> claims = claimService.getAllClaims()
-                    .stream()
-                    .filter(Claim::isFraud) // only fraud-flagged
-                    .collect(Collectors.toList());
-
-            List<ClaimDTO> dtos = claims.stream()
-                    .map(ClaimDTO::new)
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(dtos);
+            CursorPage<ClaimSummary> page =
+                    claimService.findClaimSummaries(status, fraudFlag, hrId, from, to, cursor, size);
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
-            return ResponseEntity.status(500).body("Error fetching fraud claims: " + e.getMessage());
+            return ResponseEntity.status(500).body("Error fetching claims: " + e.getMessage());
         }
     }
 
@@ -167,7 +185,8 @@ public class AdminController {
                 return ResponseEntity.status(403).body("Unauthorized: Not an admin");
             }
 
-            List<AuditLog> logs = auditLogService.getAllLogs();
+            // Bounded: the table grows with every login; older entries via /audit/logs/page or /audit/logs/export
+            List<AuditLog> logs = auditLogService.getRecentLogs(RECENT_AUDIT_LOGS_LIMIT);
             return ResponseEntity.ok(logs);
 
         } catch (Exception e) {
@@ -175,6 +194,54 @@ public class AdminController {
         }
     }
 
+    // ================= Audit Logs Page (keyset pagination + filters) =================
+    @GetMapping("/audit/logs/page")
+    public ResponseEntity<?> getAuditLogsPage(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        try {
+            if (!isAdminJwt(authHeader)) {
+                return ResponseEntity.status(403).body("Unauthorized: Not an admin");
+            }
+
+            int pageSize = Math.max(1, Math.min(size, MAX_AUDIT_LOGS_PAGE_SIZE));
+            AuditLogFilter filter = new AuditLogFilter(role, action, userId, from, to);
+            CursorPage<AuditLog> page = auditLogService.getLogsPage(filter, cursor, pageSize);
+            return ResponseEntity.ok(page);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Error fetching audit logs: " + e.getMessage());
+        }
+    }
+
+    // ================= Audit Logs Export (NDJSON stream) =================
+    @GetMapping("/audit/logs/export")
+    public ResponseEntity<?> exportAuditLogs(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!isAdminJwt(authHeader)) {
+            return ResponseEntity.status(403).body("Unauthorized: Not an admin");
+        }
+
+        AuditLogFilter filter = new AuditLogFilter(role, action, userId, from, to);
+        StreamingResponseBody body = out -> auditLogExporter.export(filter, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs.ndjson\"")
+                .body(body);
+    }
+
     // -------------------- JWT Validation Helper --------------------
     private boolean isAdminJwt(String authHeader) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -215,135 +282,4 @@ public class AdminController {
             return token;
         }
     }
-
-    // -------------------- Inner class for Claim DTO --------------------
-    public static class ClaimDTO {
-        private Long id;
-        private String title;
-        private String description;
-        private Double amount;
-        private String status;
-        private String remarks;
-        private java.time.LocalDateTime claimDate;
-        private java.time.LocalDateTime createdAt;
-        private java.time.LocalDateTime updatedAt;
-
-        private Long employeeId;
-        private String employeeName;
-        private Long policyId;
-        private String policyName;
-        private java.util.List<String> documents;
-        private Long assignedHrId;
-        private String assignedHrName;
-
-        private boolean fraudFlag;
-        private String fraudReason;
-
-        public ClaimDTO(Claim claim) {
-            this.id = claim.getId();
-            this.title = claim.getTitle();
-            this.description = claim.getDescription();
-            this.amount = claim.getAmount();
-            this.status = claim.getStatus();
-            this.remarks = claim.getRemarks();
-            this.claimDate = claim.getClaimDate();
-            this.createdAt = claim.getCreatedAt();
-            this.updatedAt = claim.getUpdatedAt();
-
-            if (claim.getEmployee() != null) {
-                this.employeeId = claim.getEmployee().getId();
-                this.employeeName = claim.getEmployee().getName();
-            }
-
-            if (claim.getAssignedHr() != null) {
-                this.assignedHrId = claim.getAssignedHr().getId();
-                this.assignedHrName = claim.getAssignedHr().getName();
-            }
-
-            if (claim.getPolicy() != null) {
-                this.policyId = claim.getPolicy().getId();
-                this.policyName = claim.getPolicy().getPolicyName();
-            } else {
-                this.policyName = "N/A";
-            }
-
-            this.documents = claim.getDocuments();
-            this.fraudFlag = claim.isFraud();
-            this.fraudReason = claim.getFraudReason();
-        }
-
-        // -------------------- Getters --------------------
-        public Long getId() {
-            return id;
-        }
-
-        public String getTitle() {
-            return title;
-        }
-
-        public String getDescription() {
-            return description;
-        }
-
-        public Double getAmount() {
-            return amount;
-        }
-
-        public String getStatus() {
-            return status;
-        }
-
-        public String getRemarks() {
-            return remarks;
-        }
-
-        public java.time.LocalDateTime getClaimDate() {
-            return claimDate;
-        }
-
-        public java.time.LocalDateTime getCreatedAt() {
-            return createdAt;
-        }
-
-        public java.time.LocalDateTime getUpdatedAt() {
-            return updatedAt;
-        }
-
-        public Long getEmployeeId() {
-            return employeeId;
-        }
-
-        public String getEmployeeName() {
-            return employeeName;
-        }
-
-        public Long getPolicyId() {
-            return policyId;
-        }
-
-        public String getPolicyName() {
-            return policyName;
-        }
-
-        public java.util.List<String> getDocuments() {
-            return documents;
-        }
-
-        public Long getAssignedHrId() {
-            return assignedHrId;
-        }
-
-        public String getAssignedHrName() {
-            return assignedHrName;
-        }
-
-        public boolean isFraudFlag() {
-            return fraudFlag;
-        }
-
-        public String getFraudReason() {
-            return fraudReason;
-        }
-
-    }
 }
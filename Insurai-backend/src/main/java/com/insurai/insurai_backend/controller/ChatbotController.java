@@ -1,72 +1,68 @@
 package com.insurai.insurai_backend.controller;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.JwtPrincipal;
 import com.insurai.insurai_backend.model.Claim;
-import com.insurai.insurai_backend.model.Employee;
 import com.insurai.insurai_backend.model.EmployeeQuery;
 import com.insurai.insurai_backend.model.Policy;
-import com.insurai.insurai_backend.service.ClaimService;
-import com.insurai.insurai_backend.service.EmployeeQueryService;
+import com.insurai.insurai_backend.service.ChatbotContextCache;
+import com.insurai.insurai_backend.service.ChatbotIntentClassifier;
+import com.insurai.insurai_backend.service.ChatbotResponseCache;
+import com.insurai.insurai_backend.service.CohereChatClient;
 import com.insurai.insurai_backend.service.EmployeeService;
 import com.insurai.insurai_backend.service.NotificationService;
-import com.insurai.insurai_backend.service.PolicyService;
-
-import jakarta.annotation.PostConstruct;
 
 @RestController
 @RequestMapping("/employee/chatbot")
 @CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
 public class ChatbotController {
 
-    @Value("${cohere.api.key:}")
-    private String cohereApiKey;
+    private static final String COHERE_NOT_CONFIGURED =
+            "Cohere API key is not set. I can answer only claims and policy questions for now.";
 
-    private final ClaimService claimService;
+    private final ChatbotContextCache contextCache;
+    private final ChatbotIntentClassifier intentClassifier;
+    private final CohereChatClient cohereClient;
+    private final ChatbotResponseCache responseCache;
     private final EmployeeService employeeService;
-    private final PolicyService policyService;
-    private final EmployeeQueryService queryService;
     private final NotificationService notificationService;
+    private final long streamTimeoutMs;
 
     public ChatbotController(
-            ClaimService claimService,
+            ChatbotContextCache contextCache,
+            ChatbotIntentClassifier intentClassifier,
+            CohereChatClient cohereClient,
+            ChatbotResponseCache responseCache,
             EmployeeService employeeService,
-            PolicyService policyService,
-            EmployeeQueryService queryService,
-            NotificationService notificationService
+            NotificationService notificationService,
+            @Value("${chatbot.stream.timeout-ms:120000}") long streamTimeoutMs
     ) {
-        this.claimService = claimService;
+        this.contextCache = contextCache;
+        this.intentClassifier = intentClassifier;
+        this.cohereClient = cohereClient;
+        this.responseCache = responseCache;
         this.employeeService = employeeService;
-        this.policyService = policyService;
-        this.queryService = queryService;
         this.notificationService = notificationService;
-    }
-
-    @PostConstruct
-    public void init() {
-        if (cohereApiKey.isEmpty()) {
-            System.out.println("⚠️ Cohere API key not set! Cohere responses will not work.");
-        } else {
-            System.out.println("✅ Cohere API key loaded successfully.");
-        }
+        this.streamTimeoutMs = streamTimeoutMs;
     }
 
     @PostMapping
@@ -76,14 +72,15 @@ public class ChatbotController {
             return ResponseEntity.badRequest().body(Map.of("response", "Please type a question to continue."));
         }
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
+        if (JwtPrincipal.current().isEmpty()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("response", "Invalid or missing Employee JWT token."));
         }
 
-        String email = auth.getName();
-        Employee employee = employeeService.findByEmail(email);
+        // Resolved by the employee JWT filter (cached identity, no per-request lookup)
+        AuthenticatedUser employee = AuthenticatedUser.current()
+                .filter(user -> "EMPLOYEE".equalsIgnoreCase(user.getRole()))
+                .orElse(null);
         if (employee == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("response", "Employee not found."));
@@ -95,67 +92,134 @@ public class ChatbotController {
         String localResponse = handleLocalResponse(msg, employee);
         if (localResponse != null) return ResponseEntity.ok(Map.of("response", localResponse));
 
-        // --- Load employee-specific data ---
-        List<Claim> claims = claimService.getClaimsByEmployeeId(employee.getEmployeeId());
-        List<Policy> policies = policyService.getAllPolicies();
-        List<EmployeeQuery> queries = queryService.getQueriesForEmployee(employee.getId());
-
         // --- Detect intent ---
-        String intent = detectIntent(msg);
+        String intent = intentClassifier.classify(msg);
+
+        // --- Employee-specific data, loaded lazily: only what the intent needs, reused across the session ---
+        ChatbotContextCache.Context context = contextCache.forEmployee(employee);
+
+        String answer = answerFromData(intent, msg, context);
+        if (answer == null) answer = callCohereChat(msg, employee, context);
+        return ResponseEntity.ok(Map.of("response", answer));
+    }
+
+    /**
+     * Same answers as POST /employee/chatbot, as Server-Sent Events: "token" events carry pieces
+     * of the answer as Cohere generates them, then "done" carries the whole answer (replacing the
+     * pieces), or "error" if the answer broke off. Answers that need no model call arrive as one
+     * token. No request thread is held while the model answers.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> chatStream(@RequestBody Map<String, String> req) {
+        String message = req.get("message");
+        if (message == null || message.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        AuthenticatedUser employee = AuthenticatedUser.current()
+                .filter(user -> "EMPLOYEE".equalsIgnoreCase(user.getRole()))
+                .orElse(null);
+        if (employee == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        String msg = message.toLowerCase().trim();
+
+        String answer = handleLocalResponse(msg, employee);
+        ChatbotContextCache.Context context = null;
+        if (answer == null) {
+            context = contextCache.forEmployee(employee);
+            answer = answerFromData(intentClassifier.classify(msg), msg, context);
+        }
+        if (answer == null && !cohereClient.isConfigured()) {
+            answer = COHERE_NOT_CONFIGURED;
+        }
+
+        boolean generic = answer == null && !responseCache.isPersonal(msg);
+        List<Policy> policies = context != null ? context.policies() : List.of();
+        if (generic) {
+            Optional<String> cached = responseCache.get(msg, policies);
+            if (cached.isPresent()) answer = cached.get();
+        }
 
+        if (answer != null) {
+            try {
+                sendEvent(emitter, "token", answer);
+                sendEvent(emitter, "done", answer);
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                emitter.completeWithError(e);
+            }
+            return ResponseEntity.ok(emitter);
+        }
+
+        CompletableFuture<String> stream = generic
+                ? cohereClient.streamChat(genericPrompt(msg, policies), null, token -> sendEvent(emitter, "token", token))
+                : cohereClient.streamChat(personalPrompt(msg, employee, context), "employee_" + employee.getEmployeeCode(),
+                        token -> sendEvent(emitter, "token", token));
+
+        // Client gone or emitter expired: stop reading from Cohere
+        emitter.onTimeout(() -> stream.cancel(true));
+        emitter.onError(e -> stream.cancel(true));
+
+        stream.whenComplete((full, error) -> {
+            try {
+                if (error == null) {
+                    if (generic) responseCache.put(msg, policies, full);
+                    sendEvent(emitter, "done", full);
+                } else {
+                    sendEvent(emitter, "error", CohereChatClient.FALLBACK_ANSWER);
+                }
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok(emitter);
+    }
+
+    // Sent as JSON so line breaks in the text cannot break the event framing
+    private static void sendEvent(SseEmitter emitter, String name, String text) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(Map.of("text", text), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Answer from the employee's own data for the detected intent; null for general questions
+    private String answerFromData(String intent, String msg, ChatbotContextCache.Context context) {
         switch (intent) {
             case "CLAIM_TRACK":
-                return ResponseEntity.ok(Map.of("response", handleClaimTracking(msg, claims)));
+                return handleClaimTracking(msg, context.claims());
             case "CLAIM_LIST":
-                return ResponseEntity.ok(Map.of("response", handleClaimList(claims)));
+                return handleClaimList(context.claims());
             case "POLICY_EXPIRY":
-                return ResponseEntity.ok(Map.of("response", handlePolicyExpiry(policies)));
+                return handlePolicyExpiry(context.policies());
             case "POLICY_COVERAGE":
-                return ResponseEntity.ok(Map.of("response", handlePolicyCoverage(policies, msg)));
+                return handlePolicyCoverage(context.policies(), msg);
             case "POLICY_RENEW":
-                return ResponseEntity.ok(Map.of("response", handlePolicyRenew(policies, msg)));
+                return handlePolicyRenew(context.policies(), msg);
             case "POLICY_PREMIUM":
-                return ResponseEntity.ok(Map.of("response", handlePolicyPremium(policies, msg)));
+                return handlePolicyPremium(context.policies(), msg);
             case "EMP_QUERY_LAST_REPLY":
-                return ResponseEntity.ok(Map.of("response", handleLastQueryReply(queries)));
+                return handleLastQueryReply(context.queries());
             case "EMP_QUERY_SUBMIT":
-                return ResponseEntity.ok(Map.of("response", "Please submit your query using the query submission form."));
+                return "Please submit your query using the query submission form.";
             case "EMP_QUERY_AGENT":
-                return ResponseEntity.ok(Map.of("response", handleAssignedAgent(queries)));
+                return handleAssignedAgent(context.queries());
             case "EMP_QUERY_TIME":
-                return ResponseEntity.ok(Map.of("response", handleQueryTime(queries)));
+                return handleQueryTime(context.queries());
             case "GENERAL":
             default:
-                String aiResponse = callCohereChat(msg, employee, claims, policies, queries);
-                return ResponseEntity.ok(Map.of("response", aiResponse));
+                return null;
         }
     }
 
-    // ----------------------------------------
-    // Intent Detection
-    // ----------------------------------------
-    private String detectIntent(String msg) {
-        msg = msg.toLowerCase();
-        if (msg.matches(".*\\b(track|status)\\b.*\\bclaim\\b.*")) return "CLAIM_TRACK";
-        if (msg.matches(".*\\b(my claims|list claims)\\b.*")) return "CLAIM_LIST";
-        if (msg.matches(".*\\b(policy|policies)\\b.*")) {
-            if (msg.contains("expire")) return "POLICY_EXPIRY";
-            if (msg.contains("coverage")) return "POLICY_COVERAGE";
-            if (msg.contains("renew")) return "POLICY_RENEW";
-            if (msg.contains("premium")) return "POLICY_PREMIUM";
-            return "POLICY_INFO";
-        }
-        if (msg.matches(".*\\b(agent reply|last query reply)\\b.*")) return "EMP_QUERY_LAST_REPLY";
-        if (msg.matches(".*\\b(submit|ask)\\b.*\\bquery\\b.*")) return "EMP_QUERY_SUBMIT";
-        if (msg.matches(".*\\b(assigned agent)\\b.*")) return "EMP_QUERY_AGENT";
-        if (msg.matches(".*\\b(query time|how long).*\\bresolve\\b.*")) return "EMP_QUERY_TIME";
-        return "GENERAL";
-    }
-
     // ----------------------------------------
     // Local handlers
     // ----------------------------------------
-    private String handleLocalResponse(String msg, Employee employee) {
+    private String handleLocalResponse(String msg, AuthenticatedUser employee) {
         if (msg.matches(".*\\b(hi|hello|hey)\\b.*")) {
             return "Hello 👋 " + employee.getName() + "! How can I assist you today — claims, policies, or support?";
         }
@@ -256,62 +320,62 @@ public class ChatbotController {
     // ----------------------------------------
     // Cohere Chat API for general questions
     // ----------------------------------------
-    private String callCohereChat(String userInput, Employee employee, List<Claim> claims, List<Policy> policies, List<EmployeeQuery> queries) {
-        if (cohereApiKey.isEmpty()) {
-            return "Cohere API key is not set. I can answer only claims and policy questions for now.";
+    private String callCohereChat(String userInput, AuthenticatedUser employee, ChatbotContextCache.Context context) {
+        if (!cohereClient.isConfigured()) {
+            return COHERE_NOT_CONFIGURED;
         }
 
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-            String url = "https://api.cohere.ai/v1/chat";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + cohereApiKey);
-
-            String prompt = String.format("""
-                    You are InsurAI, an intelligent insurance assistant.
-                    Use the data below to answer the employee's question accurately.
+        // Generic questions get a prompt without personal data, so the answer can be shared across employees
+        if (!responseCache.isPersonal(userInput)) {
+            List<Policy> policies = context.policies();
+            return responseCache.getOrGenerate(userInput, policies,
+                    () -> cohereClient.chat(genericPrompt(userInput, policies), null));
+        }
 
-                    Employee: %s
+        // Pooled, timeout-bounded and circuit-broken; answers locally when Cohere is unavailable
+        return cohereClient.chat(personalPrompt(userInput, employee, context), "employee_" + employee.getEmployeeCode());
+    }
 
-                    Claims:
-                    %s
+    private String personalPrompt(String userInput, AuthenticatedUser employee, ChatbotContextCache.Context context) {
+        return String.format("""
+                You are InsurAI, an intelligent insurance assistant.
+                Use the data below to answer the employee's question accurately.
 
-                    Policies:
-                    %s
+                Employee: %s
 
-                    Queries:
-                    %s
+                Claims:
+                %s
 
-                    Question: %s
-                    Guidelines: Answer concisely, clearly, friendly tone, max 100 words.
-                    """,
-                    employee.getName(),
-                    claims.stream().map(c -> "Claim #" + c.getId() + " — " + c.getStatus() + " (" + c.getDescription() + ")").collect(Collectors.joining("\n")),
-                    policies.stream().map(p -> p.getPolicyName() + " (Renewal: " + p.getRenewalDate() + ")").collect(Collectors.joining("\n")),
-                    queries.stream().map(q -> q.getQueryText() + " -> " + (q.getResponse() != null ? q.getResponse() : "Pending")).collect(Collectors.joining("\n")),
-                    userInput
-            );
+                Policies:
+                %s
 
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", "command-a-03-2025");
-            requestBody.put("message", prompt);
-            requestBody.put("conversation_id", "employee_" + employee.getEmployeeId());
+                Queries:
+                %s
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, entity, Map.class);
+                Question: %s
+                Guidelines: Answer concisely, clearly, friendly tone, max 100 words.
+                """,
+                employee.getName(),
+                context.claims().stream().map(c -> "Claim #" + c.getId() + " — " + c.getStatus() + " (" + c.getDescription() + ")").collect(Collectors.joining("\n")),
+                context.policies().stream().map(p -> p.getPolicyName() + " (Renewal: " + p.getRenewalDate() + ")").collect(Collectors.joining("\n")),
+                context.queries().stream().map(q -> q.getQueryText() + " -> " + (q.getResponse() != null ? q.getResponse() : "Pending")).collect(Collectors.joining("\n")),
+                userInput
+        );
+    }
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                String aiText = (String) response.getBody().get("text");
-                if (aiText != null) return aiText.trim();
-            }
+    private String genericPrompt(String userInput, List<Policy> policies) {
+        return String.format("""
+                You are InsurAI, an intelligent insurance assistant.
+                Use the data below to answer the employee's question accurately.
 
-            return "I couldn’t find a clear answer at the moment.";
+                Policies:
+                %s
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "I’m having trouble connecting to InsurAI’s knowledge base right now. Please try again later.";
-        }
+                Question: %s
+                Guidelines: Answer concisely, clearly, friendly tone, max 100 words.
+                """,
+                policies.stream().map(p -> p.getPolicyName() + " (Renewal: " + p.getRenewalDate() + ")").collect(Collectors.joining("\n")),
+                userInput
+        );
     }
 }
@@ -1,13 +1,8 @@
 package com.insurai.insurai_backend.controller;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,13 +16,18 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
 import com.insurai.insurai_backend.config.JwtUtil;
+import com.insurai.insurai_backend.dto.ClaimSummary;
+import com.insurai.insurai_backend.dto.CursorPage;
 import com.insurai.insurai_backend.model.Claim;
-import com.insurai.insurai_backend.model.Employee;
 import com.insurai.insurai_backend.model.Policy;
 import com.insurai.insurai_backend.repository.EmployeeRepository;
 import com.insurai.insurai_backend.repository.PolicyRepository;
 import com.insurai.insurai_backend.service.AuditLogService;
+import com.insurai.insurai_backend.service.ChatbotContextCache;
+import com.insurai.insurai_backend.service.ClaimDocumentStore;
 import com.insurai.insurai_backend.service.ClaimService;
 
 @RestController
@@ -47,10 +47,17 @@ public class ClaimController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private AuthenticatedUserResolver userResolver;
+
    @Autowired
     private AuditLogService auditLogService;
 
-    private final String uploadDir = "C:/Users/Jeevan/Documents/InsurAi/insurai-backend/uploads/";
+    @Autowired
+    private ClaimDocumentStore documentStore;
+
+    @Autowired
+    private ChatbotContextCache chatbotContextCache;
 
 // -------------------- Submit Claim --------------------
 @PostMapping("")
@@ -75,7 +82,7 @@ public ResponseEntity<?> submitClaim(
             return ResponseEntity.status(403).body("Unauthorized: Not an employee");
         }
 
-        Employee employee = employeeRepository.findByEmail(email).orElse(null);
+        AuthenticatedUser employee = userResolver.resolve(email, role).orElse(null);
         if (employee == null) {
             return ResponseEntity.status(403).body("Unauthorized: Invalid token");
         }
@@ -83,16 +90,23 @@ public ResponseEntity<?> submitClaim(
         Policy policy = policyRepository.findById(policyId)
                 .orElseThrow(() -> new RuntimeException("Policy not found"));
 
-        // Handle document uploads safely
-        List<String> documentPaths = (documents != null) ?
-                documents.stream().map(file -> storeFile(file)).collect(Collectors.toList())
-                : List.of();
-
         LocalDateTime claimDate = LocalDateTime.parse(date + "T00:00:00");
 
-        Claim claim = new Claim(title, description, amount, claimDate, employee, policy, null, documentPaths);
+        // Handle document uploads safely (content-addressed: documents hold SHA-256 hashes)
+        List<String> documentHashes = storeDocuments(documents);
 
-        Claim savedClaim = claimService.submitClaim(claim);
+        Claim claim = new Claim(title, description, amount, claimDate,
+                employeeRepository.getReferenceById(employee.getId()), policy, null, documentHashes);
+        claim.setDocumentHashes(documentHashes);
+
+        Claim savedClaim;
+        try {
+            savedClaim = claimService.submitClaim(claim);
+        } catch (Exception e) {
+            documentStore.release(documentHashes);
+            throw e;
+        }
+        chatbotContextCache.invalidate(employee.getId());
 
         // ✅ Audit log for claim submission
         auditLogService.logAction(
@@ -134,7 +148,7 @@ public ResponseEntity<?> updateClaim(
             return ResponseEntity.status(403).body("Unauthorized: Not an employee");
         }
 
-        Employee employee = employeeRepository.findByEmail(email).orElse(null);
+        AuthenticatedUser employee = userResolver.resolve(email, role).orElse(null);
         if (employee == null) {
             return ResponseEntity.status(403).body("Unauthorized: Invalid token");
         }
@@ -153,14 +167,21 @@ public ResponseEntity<?> updateClaim(
         claim.setClaimDate(LocalDateTime.parse(date + "T00:00:00"));
         claim.setPolicy(policy);
 
+        List<String> documentHashes = List.of();
         if (documents != null && !documents.isEmpty()) {
-            List<String> documentPaths = documents.stream()
-                    .map(file -> storeFile(file))
-                    .collect(Collectors.toList());
-            claim.getDocuments().addAll(documentPaths);
+            documentHashes = storeDocuments(documents);
+            claim.getDocuments().addAll(documentHashes);
+            claim.setDocumentHashes(documentHashes);
         }
 
-        Claim updatedClaim = claimService.updateClaim(claim);
+        Claim updatedClaim;
+        try {
+            updatedClaim = claimService.updateClaim(claim);
+        } catch (Exception e) {
+            documentStore.release(documentHashes);
+            throw e;
+        }
+        chatbotContextCache.invalidate(employee.getId());
 
         // ✅ Audit log for claim update
         auditLogService.logAction(
@@ -196,12 +217,12 @@ public ResponseEntity<?> getEmployeeClaims(
         return ResponseEntity.status(403).body("Access denied: Not an employee");
     }
 
-    Employee employee = employeeRepository.findByEmail(email).orElse(null);
+    AuthenticatedUser employee = userResolver.resolve(email, role).orElse(null);
     if (employee == null) {
         return ResponseEntity.status(403).body("Invalid token: employee not found");
     }
 
-    List<Claim> claims = claimService.getClaimsByEmployee(employee);
+    List<Claim> claims = claimService.getClaimsByEmployee(employeeRepository.getReferenceById(employee.getId()));
     List<ClaimDTO> claimDTOs = claims.stream().map(ClaimDTO::new).collect(Collectors.toList());
 
     // -------------------- Audit Log --------------------
@@ -218,28 +239,32 @@ public ResponseEntity<?> getEmployeeClaims(
 
 
     // -------------------- Get All Claims (for admin) --------------------
+    // One keyset page, newest first; pass nextCursor back as cursor for the next one
     @GetMapping("/all")
-    public ResponseEntity<?> getAllClaims() {
+    public ResponseEntity<?> getAllClaims(@RequestParam(required = false) Long cursor,
+                                          @RequestParam(defaultValue = "50") int size) {
         try {
-            List<Claim> claims = claimService.getAllClaims();
-            List<ClaimDTO> claimDTOs = claims.stream().map(ClaimDTO::new).collect(Collectors.toList());
-            return ResponseEntity.ok(claimDTOs);
+            CursorPage<ClaimSummary> claims = claimService.findClaimSummaries(null, null, null, null, null, cursor, size);
+            return ResponseEntity.ok(claims);
         } catch (Exception e) {
             return ResponseEntity.status(400).body("Error fetching all claims: " + e.getMessage());
         }
     }
 
-    // -------------------- Helper: Store file safely --------------------
-    private String storeFile(MultipartFile file) {
+    // -------------------- Helper: Store uploaded documents --------------------
+    // If one upload fails, the documents already stored for this request are released
+    private List<String> storeDocuments(List<MultipartFile> documents) {
+        List<String> documentHashes = new ArrayList<>();
+        if (documents == null) return documentHashes;
         try {
-            String uniqueName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-            Path filePath = Paths.get(uploadDir + uniqueName);
-            Files.createDirectories(filePath.getParent());
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            return "/uploads/" + uniqueName;
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to store file " + file.getOriginalFilename(), e);
+            for (MultipartFile document : documents) {
+                documentHashes.add(documentStore.store(document));
+            }
+        } catch (RuntimeException e) {
+            documentStore.release(documentHashes);
+            throw e;
         }
+        return documentHashes;
     }
 
     // -------------------- Claim DTO --------------------
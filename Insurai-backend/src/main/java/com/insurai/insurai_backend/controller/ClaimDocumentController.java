@@ -0,0 +1,241 @@
+package com.insurai.insurai_backend.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.model.StoredDocument;
+import com.insurai.insurai_backend.repository.ClaimRepository;
+import com.insurai.insurai_backend.service.ClaimDocumentStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Claim document downloads, readable by the claim's employee, its assigned HR and admins.
+ *
+ * Content-addressed documents (SHA-256 names) never change: they get the hash as a strong
+ * ETag and a long immutable Cache-Control. Older /uploads/ files are revalidated with
+ * Last-Modified. A single byte range is honoured (206); bodies go out with Tomcat sendfile
+ * when the connector offers it, otherwise with FileChannel.transferTo.
+ */
+@RestController
+@RequestMapping("/claims")
+@CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
+public class ClaimDocumentController {
+
+    private static final String LEGACY_PREFIX = "/uploads/";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimDocumentStore documentStore;
+
+    // Where claims submitted before the content-addressed store kept their files
+    @Value("${documents.legacy.dir:./uploads}")
+    private String legacyDir;
+
+    @Value("${documents.download.max-age-seconds:31536000}")
+    private long maxAgeSeconds;
+
+    // -------------------- Download Claim Document --------------------
+    // {document} is a SHA-256 from Claim.documents, or the file name of an /uploads/ entry
+    @GetMapping("/{claimId}/documents/{document}")
+    public void downloadDocument(@PathVariable Long claimId,
+                                 @PathVariable String document,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        AuthenticatedUser caller = AuthenticatedUser.current().orElse(null);
+        if (caller == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized: Invalid token");
+            return;
+        }
+
+        boolean contentAddressed = ClaimDocumentStore.isContentHash(document);
+        List<Object[]> access = claimRepository.findDocumentAccess(
+                claimId, contentAddressed ? document : LEGACY_PREFIX + document);
+        if (access.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Document not found");
+            return;
+        }
+        if (!mayRead(caller, (Long) access.get(0)[0], (Long) access.get(0)[1])) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Access denied: not your claim");
+            return;
+        }
+
+        Download download = contentAddressed ? storedDownload(document) : legacyDownload(document);
+        if (download == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Document not found");
+            return;
+        }
+        serve(download, request, response);
+    }
+
+    private static boolean mayRead(AuthenticatedUser caller, Long employeeId, Long assignedHrId) {
+        switch (caller.getRole().toUpperCase()) {
+            case "ADMIN":
+                return true;
+            case "EMPLOYEE":
+                return caller.getId().equals(employeeId);
+            case "HR":
+                return caller.getId().equals(assignedHrId);
+            default:
+                return false;
+        }
+    }
+
+    // -------------------- Resolving --------------------
+
+    private Download storedDownload(String sha256) {
+        StoredDocument stored = documentStore.find(sha256).orElse(null);
+        if (stored == null) return null;
+
+        String filename = stored.getOriginalFilename() != null ? stored.getOriginalFilename() : sha256;
+        return new Download(stored.getSizeBytes(), contentType(stored.getContentType(), filename), filename,
+                sha256, -1, documentStore.localPath(sha256).orElse(null), sha256);
+    }
+
+    private Download legacyDownload(String name) throws IOException {
+        Path root = Paths.get(legacyDir).toAbsolutePath().normalize();
+        Path file = root.resolve(name).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) return null;
+
+        String filename = name.substring(name.indexOf('_') + 1); // stored as <uuid>_<original name>
+        return new Download(Files.size(file), contentType(null, filename), filename,
+                null, Files.getLastModifiedTime(file).toMillis(), file, null);
+    }
+
+    private static String contentType(String declared, String filename) {
+        if (declared != null && !declared.isBlank()) return declared;
+        return MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    // -------------------- Serving --------------------
+
+    private void serve(Download download, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Set before the conditional check so 304 responses carry it too
+        response.setHeader(HttpHeaders.CACHE_CONTROL, download.etag() != null
+                ? "private, max-age=" + maxAgeSeconds + ", immutable"
+                : "private, no-cache");
+
+        // Writes ETag / Last-Modified, and answers 304 (or 412) itself when the client copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(download.etag(), download.lastModified())) {
+            return;
+        }
+
+        long length = download.length();
+        long start = 0;
+        long end = length - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, download)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of(); // malformed Range is ignored
+            }
+            // Several ranges would need multipart/byteranges; the whole document is sent instead
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(download.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(download.filename(), StandardCharsets.UTF_8).build().toString());
+        response.setHeader("X-Content-Type-Options", "nosniff"); // uploaded content, never sniffed as HTML
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count <= 0) return;
+
+        Path file = download.file();
+        if (file != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat copies the file to the socket after this method returns, without passing through the JVM heap
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (WritableByteChannel out = Channels.newChannel(response.getOutputStream())) {
+            if (file != null) {
+                transferFile(file, start, count, out);
+            } else {
+                documentStore.transferTo(download.sha256(), start, count, out);
+            }
+        }
+    }
+
+    // Range applies only if the client's copy is still the current one (If-Range holds an ETag or a date)
+    private static boolean ifRangeMatches(HttpServletRequest request, Download download) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"")) {
+            return download.etag() != null && ifRange.equals("\"" + download.etag() + "\"");
+        }
+        try {
+            return download.lastModified() >= 0
+                    && download.lastModified() / 1000 == request.getDateHeader(HttpHeaders.IF_RANGE) / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void transferFile(Path file, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long offset = position;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(offset, remaining, target);
+                if (sent <= 0) break;
+                offset += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // etag is set for content-addressed documents only; file is null when the backend has no local copy
+    private record Download(long length, String contentType, String filename,
+                            String etag, long lastModified, Path file, String sha256) {
+    }
+}
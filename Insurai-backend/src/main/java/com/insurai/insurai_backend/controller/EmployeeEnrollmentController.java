@@ -15,9 +15,10 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
 import com.insurai.insurai_backend.config.JwtUtil;
 import com.insurai.insurai_backend.model.Dependent;
-import com.insurai.insurai_backend.model.Employee;
 import com.insurai.insurai_backend.model.Enrollment;
 import com.insurai.insurai_backend.repository.EmployeeRepository;
 import com.insurai.insurai_backend.service.EnrollmentService;
@@ -33,6 +34,7 @@ public class EmployeeEnrollmentController {
     private final EnrollmentService enrollmentService;
     private final EmployeeRepository employeeRepository;
     private final JwtUtil jwtUtil;
+    private final AuthenticatedUserResolver userResolver;
 
     // ==================== Submit Enrollment Request ====================
     @PostMapping("/request")
@@ -53,7 +55,7 @@ public class EmployeeEnrollmentController {
                 return ResponseEntity.status(403).body("Unauthorized: Not an employee");
             }
 
-            Employee employee = employeeRepository.findByEmail(email).orElse(null);
+            AuthenticatedUser employee = userResolver.resolve(email, role).orElse(null);
             if (employee == null) {
                 return ResponseEntity.status(403).body("Invalid token: Employee not found");
             }
@@ -74,7 +76,7 @@ public class EmployeeEnrollmentController {
             }
 
             Enrollment enrollment = enrollmentService.createEnrollment(
-                    employee, policyId, coverageType, requestReason, dependents);
+                    employeeRepository.getReferenceById(employee.getId()), policyId, coverageType, requestReason, dependents);
 
             return ResponseEntity.ok(new EnrollmentDTO(enrollment));
 
@@ -100,7 +102,7 @@ public class EmployeeEnrollmentController {
                 return ResponseEntity.status(403).body("Unauthorized: Not an employee");
             }
 
-            Employee employee = employeeRepository.findByEmail(email).orElse(null);
+            AuthenticatedUser employee = userResolver.resolve(email, role).orElse(null);
             if (employee == null) {
                 return ResponseEntity.status(403).body("Invalid token: Employee not found");
             }
@@ -136,7 +138,7 @@ public class EmployeeEnrollmentController {
                 return ResponseEntity.status(403).body("Unauthorized: Not an employee");
             }
 
-            Employee employee = employeeRepository.findByEmail(email).orElse(null);
+            AuthenticatedUser employee = userResolver.resolve(email, role).orElse(null);
             if (employee == null) {
                 return ResponseEntity.status(403).body("Invalid token: Employee not found");
             }
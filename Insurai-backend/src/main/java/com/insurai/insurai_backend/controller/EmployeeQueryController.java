@@ -15,15 +15,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
 import com.insurai.insurai_backend.config.JwtUtil;
 import com.insurai.insurai_backend.model.Agent;
 import com.insurai.insurai_backend.model.AgentAvailability;
-import com.insurai.insurai_backend.model.Employee;
 import com.insurai.insurai_backend.model.EmployeeQuery;
 import com.insurai.insurai_backend.repository.AgentAvailabilityRepository;
 import com.insurai.insurai_backend.repository.AgentRepository;
-import com.insurai.insurai_backend.repository.EmployeeRepository;
 import com.insurai.insurai_backend.service.AuditLogService;
+import com.insurai.insurai_backend.service.ChatbotContextCache;
 import com.insurai.insurai_backend.service.EmployeeQueryService;
 
 @RestController
@@ -34,9 +35,6 @@ public class EmployeeQueryController {
     @Autowired
     private EmployeeQueryService queryService;
 
-    @Autowired
-    private EmployeeRepository employeeRepository;
-
     @Autowired
     private AgentRepository agentRepository;
 
@@ -46,9 +44,15 @@ public class EmployeeQueryController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private AuthenticatedUserResolver userResolver;
+
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private ChatbotContextCache chatbotContextCache;
+
 
 // ================= Employee Submits a Query =================
 @PostMapping("/queries")
@@ -72,7 +76,7 @@ public ResponseEntity<?> submitQuery(
             return ResponseEntity.status(403).body("Unauthorized: not an employee");
         }
 
-        Employee emp = employeeRepository.findByEmail(email).orElse(null);
+        AuthenticatedUser emp = userResolver.resolve(email, role).orElse(null);
         if (emp == null) {
             return ResponseEntity.status(403).body("Invalid token: employee not found");
         }
@@ -96,6 +100,7 @@ public ResponseEntity<?> submitQuery(
 
         // Submit query with policyName and claimType
         EmployeeQuery query = queryService.submitQuery(emp.getId(), agentId, queryText, policyName, claimType);
+        chatbotContextCache.invalidate(emp.getId());
 
         // -------------------- Audit log --------------------
         auditLogService.logAction(
@@ -132,7 +137,7 @@ public ResponseEntity<?> submitQuery(
                 return ResponseEntity.status(403).body("Unauthorized: not an employee");
             }
 
-            Employee emp = employeeRepository.findByEmail(email).orElse(null);
+            AuthenticatedUser emp = userResolver.resolve(email, role).orElse(null);
             if (emp == null) {
                 return ResponseEntity.status(403).body("Invalid token: employee not found");
             }
@@ -12,11 +12,11 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
 import com.insurai.insurai_backend.config.JwtUtil;
-import com.insurai.insurai_backend.model.Employee;
 import com.insurai.insurai_backend.model.Enrollment;
 import com.insurai.insurai_backend.model.Policy;
-import com.insurai.insurai_backend.repository.EmployeeRepository;
 import com.insurai.insurai_backend.repository.EnrollmentRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -28,8 +28,8 @@ import lombok.RequiredArgsConstructor;
 public class EmployeeRenewalController {
 
     private final EnrollmentRepository enrollmentRepository;
-    private final EmployeeRepository employeeRepository;
     private final JwtUtil jwtUtil;
+    private final AuthenticatedUserResolver userResolver;
 
     // ==================== Get My Policy Renewals ====================
     @GetMapping("/my-policies")
@@ -48,7 +48,7 @@ public class EmployeeRenewalController {
                 return ResponseEntity.status(403).body("Unauthorized: Not an employee");
             }
 
-            Employee employee = employeeRepository.findByEmail(email).orElse(null);
+            AuthenticatedUser employee = userResolver.resolve(email, role).orElse(null);
             if (employee == null) {
                 return ResponseEntity.status(403).body("Invalid token: Employee not found");
             }
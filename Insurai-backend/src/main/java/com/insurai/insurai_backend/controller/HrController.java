@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
 import com.insurai.insurai_backend.config.JwtUtil;
 import com.insurai.insurai_backend.model.Claim;
 import com.insurai.insurai_backend.model.Hr;
@@ -37,6 +39,7 @@ public class HrController {
     private final HrRepository hrRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final AuthenticatedUserResolver userResolver;
     private final ClaimService claimService;
     private final AuditLogService auditLogService;
 
@@ -109,7 +112,7 @@ public class HrController {
             String token = authHeader.substring(7).trim();
             String hrEmail = jwtUtil.extractUsername(token);
 
-            Hr hr = hrRepository.findByEmail(hrEmail)
+            AuthenticatedUser hr = userResolver.resolve(hrEmail, "HR")
                     .orElseThrow(() -> new RuntimeException("HR not found"));
 
             List<Claim> claims = claimService.getClaimsByAssignedHr(hr.getId());
@@ -142,7 +145,7 @@ public class HrController {
             String remarks = body.get("remarks");
             Claim updated = claimService.approveClaim(claimId, remarks);
 
-            Hr hr = getHrFromToken(authHeader);
+            AuthenticatedUser hr = getHrFromToken(authHeader);
 
             auditLogService.logAction(
                     hr.getId().toString(),
@@ -169,7 +172,7 @@ public class HrController {
             String remarks = body.get("remarks");
             Claim updated = claimService.rejectClaim(claimId, remarks);
 
-            Hr hr = getHrFromToken(authHeader);
+            AuthenticatedUser hr = getHrFromToken(authHeader);
 
             auditLogService.logAction(
                     hr.getId().toString(),
@@ -194,7 +197,7 @@ public class HrController {
             String token = authHeader.substring(7).trim();
             String hrEmail = jwtUtil.extractUsername(token);
 
-            Hr hr = hrRepository.findByEmail(hrEmail)
+            AuthenticatedUser hr = userResolver.resolve(hrEmail, "HR")
                     .orElseThrow(() -> new RuntimeException("HR not found"));
 
             List<Claim> claims = claimService.getClaimsByAssignedHr(hr.getId())
@@ -221,10 +224,10 @@ public class HrController {
     }
 
     // ---------------- Helper method to extract HR from token ----------------
-    private Hr getHrFromToken(String authHeader) {
+    private AuthenticatedUser getHrFromToken(String authHeader) {
         String token = authHeader.substring(7).trim();
         String hrEmail = jwtUtil.extractUsername(token);
-        return hrRepository.findByEmail(hrEmail)
+        return userResolver.resolve(hrEmail, "HR")
                 .orElseThrow(() -> new RuntimeException("HR not found"));
     }
 
@@ -1,20 +1,30 @@
 package com.insurai.insurai_backend.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.StreamTicketStore;
 import com.insurai.insurai_backend.model.Notification;
 import com.insurai.insurai_backend.service.InAppNotificationService;
+import com.insurai.insurai_backend.service.NotificationPushService;
 
 @CrossOrigin(origins = "http://localhost:3000") // Enable CORS for React frontend
 @RestController
@@ -24,8 +34,14 @@ public class NotificationController {
     @Autowired
     private InAppNotificationService notificationService;
 
+    @Autowired
+    private NotificationPushService notificationPushService;
+
+    @Autowired
+    private StreamTicketStore streamTicketStore;
+
     /**
-     * Get all notifications for a specific user AND role (sorted by newest first)
+     * Get all notifications for a specific user AND role, role broadcasts included (sorted by newest first)
      * Example: GET /notifications/user/5?role=HR
      */
     @GetMapping("/user/{userId}")
@@ -60,6 +76,83 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    /**
+     * Unread badge count for a user's inbox (served from the inbox cache)
+     * Example: GET /notifications/user/5/unread-count?role=HR
+     */
+    @GetMapping("/user/{userId}/unread-count")
+    public ResponseEntity<?> getUnreadCount(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String role
+    ) {
+        String inboxRole = inboxRole(role);
+        if (inboxRole == null) {
+            return ResponseEntity.badRequest().body("role is required");
+        }
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(userId, inboxRole)));
+    }
+
+    /**
+     * Dropdown view: unread count plus the newest notifications (served from the inbox cache)
+     * Example: GET /notifications/user/5/inbox?role=HR
+     */
+    @GetMapping("/user/{userId}/inbox")
+    public ResponseEntity<?> getInbox(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String role
+    ) {
+        String inboxRole = inboxRole(role);
+        if (inboxRole == null) {
+            return ResponseEntity.badRequest().body("role is required");
+        }
+        return ResponseEntity.ok(Map.of(
+                "unreadCount", notificationService.getUnreadCount(userId, inboxRole),
+                "latest", notificationService.getLatestNotifications(userId, inboxRole)));
+    }
+
+    /**
+     * One-time ticket for opening the stream with EventSource, which cannot send the Authorization header.
+     * Example: POST /notifications/user/5/stream-ticket, then GET /notifications/user/5/stream?role=HR&ticket=...
+     */
+    @PostMapping("/user/{userId}/stream-ticket")
+    public ResponseEntity<Map<String, String>> streamTicket(@PathVariable Long userId) {
+        AuthenticatedUser caller = AuthenticatedUser.current().orElse(null);
+        if (caller == null || !caller.getId().equals(userId)) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(Map.of(
+                "ticket", streamTicketStore.issue(SecurityContextHolder.getContext().getAuthentication())));
+    }
+
+    /**
+     * Live stream of new notifications for a user (Server-Sent Events), including role broadcasts.
+     * Authenticated with the Authorization header or a ?ticket= from /stream-ticket.
+     * Reconnecting clients send Last-Event-ID (or ?lastEventId=) to receive what they missed.
+     * Example: GET /notifications/user/5/stream?role=HR
+     */
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Long lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader
+    ) {
+        AuthenticatedUser caller = AuthenticatedUser.current().orElse(null);
+        if (caller == null || !caller.getId().equals(userId)
+                || (role != null && !role.equalsIgnoreCase(caller.getRole()))) {
+            return ResponseEntity.status(403).build();
+        }
+
+        Long resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        return ResponseEntity.ok(notificationPushService.subscribe(userId, caller.getRole(), resumeFrom));
+    }
+
+    // Inboxes are per (user, role); fall back to the caller's role when none is given
+    private String inboxRole(String role) {
+        if (role != null) return role.toUpperCase();
+        return AuthenticatedUser.current().map(AuthenticatedUser::getRole).map(String::toUpperCase).orElse(null);
+    }
+
     /**
      * Get all notifications for a specific role (sorted by newest first)
      */
@@ -82,11 +175,20 @@ public class NotificationController {
     }
 
     /**
-     * Mark a notification as read
+     * Mark a notification as read (for role broadcasts: read for the calling user only,
+     * 403 when the caller is not of the broadcast's role)
      */
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<Notification> markAsRead(@PathVariable Long notificationId) {
-        Notification notification = notificationService.markAsRead(notificationId);
+        AuthenticatedUser caller = AuthenticatedUser.current().orElse(null);
+        Notification notification;
+        try {
+            notification = caller != null
+                    ? notificationService.markAsRead(notificationId, caller.getId(), caller.getRole())
+                    : notificationService.markAsRead(notificationId);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).build();
+        }
         if (notification != null) {
             return ResponseEntity.ok(notification);
         } else {
@@ -15,10 +15,10 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
 import com.insurai.insurai_backend.config.JwtUtil;
-import com.insurai.insurai_backend.model.Employee;
 import com.insurai.insurai_backend.model.Reimbursement;
-import com.insurai.insurai_backend.repository.EmployeeRepository;
 import com.insurai.insurai_backend.service.ReimbursementService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,8 +29,8 @@ import lombok.RequiredArgsConstructor;
 public class ReimbursementController {
 
     private final ReimbursementService reimbursementService;
-    private final EmployeeRepository employeeRepository;
     private final JwtUtil jwtUtil;
+    private final AuthenticatedUserResolver userResolver;
 
     // ==================== HR: Initiate Reimbursement ====================
     @PostMapping("/hr/claims/{claimId}/initiate-reimbursement")
@@ -243,7 +243,7 @@ public class ReimbursementController {
                 return ResponseEntity.status(403).body("Unauthorized: Not an employee");
             }
 
-            Employee employee = employeeRepository.findByEmail(email).orElse(null);
+            AuthenticatedUser employee = userResolver.resolve(email, role).orElse(null);
             if (employee == null) {
                 return ResponseEntity.status(403).body("Invalid token: Employee not found");
             }
@@ -278,7 +278,7 @@ public class ReimbursementController {
                 return ResponseEntity.status(403).body("Unauthorized: Not an employee");
             }
 
-            Employee employee = employeeRepository.findByEmail(email).orElse(null);
+            AuthenticatedUser employee = userResolver.resolve(email, role).orElse(null);
             if (employee == null) {
                 return ResponseEntity.status(403).body("Invalid token: Employee not found");
             }
@@ -0,0 +1,20 @@
+package com.insurai.insurai_backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Optional audit log filters; null fields are ignored. {@code from} is inclusive, {@code to} exclusive.
+ */
+@Getter
+@AllArgsConstructor
+public class AuditLogFilter {
+
+    private final String role;
+    private final String action;
+    private final String userId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+}
@@ -0,0 +1,62 @@
+package com.insurai.insurai_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Read-only claim row for listings, built directly by a JPQL constructor expression
+ * (ClaimRepository.findSummaries) so no Claim entities or lazy associations are loaded.
+ * Documents are filled in afterwards with one batched query per page.
+ */
+@Getter
+public class ClaimSummary {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Double amount;
+    private final String status;
+    private final String remarks;
+    private final LocalDateTime claimDate;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    private final Long employeeId;
+    private final String employeeName;
+    private final Long policyId;
+    private final String policyName;
+    private final Long assignedHrId;
+    private final String assignedHrName;
+
+    private final boolean fraudFlag;
+    private final String fraudReason;
+
+    @Setter
+    private List<String> documents = List.of();
+
+    public ClaimSummary(Long id, String title, String description, Double amount, String status, String remarks,
+                        LocalDateTime claimDate, LocalDateTime createdAt, LocalDateTime updatedAt,
+                        Long employeeId, String employeeName, Long policyId, String policyName,
+                        Long assignedHrId, String assignedHrName, boolean fraudFlag, String fraudReason) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.amount = amount;
+        this.status = status;
+        this.remarks = remarks;
+        this.claimDate = claimDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.policyId = policyId;
+        this.policyName = policyName != null ? policyName : "N/A";
+        this.assignedHrId = assignedHrId;
+        this.assignedHrName = assignedHrName;
+        this.fraudFlag = fraudFlag;
+        this.fraudReason = fraudReason;
+    }
+}
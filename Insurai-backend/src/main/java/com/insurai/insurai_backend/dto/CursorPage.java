@@ -0,0 +1,23 @@
+package com.insurai.insurai_backend.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * One page of a keyset-paginated listing.
+ * Pass nextCursor back as the cursor parameter to get the following page; it is null on the last page.
+ */
+@Getter
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final Long nextCursor;
+    private final boolean hasMore;
+
+    public CursorPage(List<T> items, Long nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+}
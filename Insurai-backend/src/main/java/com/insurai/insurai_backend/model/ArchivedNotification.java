@@ -0,0 +1,55 @@
+package com.insurai.insurai_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cold copy of a notification moved out of the hot notifications table by
+ * NotificationRetentionJob. Keeps the original id.
+ */
+@Entity
+@Table(name = "notifications_archive",
+        indexes = @Index(name = "idx_notification_archive_target", columnList = "target_id, target_role, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedNotification {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Column(name = "target_role", nullable = false)
+    private String targetRole;
+
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Column(nullable = false)
+    private String notificationType;
+
+    @Column(nullable = false)
+    private boolean readStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -9,7 +9,13 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        // Filtered listings walk (filter column, id) newest first; time-range-only queries use timestamp
+        @Index(name = "idx_audit_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_audit_action_id", columnList = "action, id"),
+        @Index(name = "idx_audit_role_id", columnList = "role, id"),
+        @Index(name = "idx_audit_timestamp", columnList = "timestamp")
+})
 @Getter
 @Setter
 @NoArgsConstructor
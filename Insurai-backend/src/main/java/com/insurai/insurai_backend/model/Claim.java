@@ -11,12 +11,19 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "claims")
+@Table(name = "claims", indexes = {
+        @Index(name = "idx_claim_hr_status", columnList = "assigned_hr_id, status"),
+        @Index(name = "idx_claim_employee_status", columnList = "employee_id, status"),
+        @Index(name = "idx_claim_status_id", columnList = "status, id"),
+        @Index(name = "idx_claim_fraud_id", columnList = "fraud_flag, id")
+})
 public class Claim {
 
     @Id
@@ -74,6 +81,10 @@ public class Claim {
     @Column(name = "document_path")
     private List<String> documents;
 
+    // SHA-256 of newly uploaded documents, parallel to the last entries of documents (indexed in document_fingerprints)
+    @Transient
+    private List<String> documentHashes;
+
     // Fraud detection fields
     @Column(nullable = false)
     private boolean fraudFlag = false;
@@ -196,6 +207,14 @@ public class Claim {
         this.documents = documents;
     }
 
+    public List<String> getDocumentHashes() {
+        return documentHashes;
+    }
+
+    public void setDocumentHashes(List<String> documentHashes) {
+        this.documentHashes = documentHashes;
+    }
+
     public boolean isFraud() {
         return fraudFlag;
     }
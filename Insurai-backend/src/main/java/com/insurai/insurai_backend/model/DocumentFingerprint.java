@@ -0,0 +1,53 @@
+package com.insurai.insurai_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Content hash of an uploaded claim document, recorded at its first upload.
+ * Used to detect the same file being reused on any later claim.
+ */
+@Entity
+@Table(name = "document_fingerprints", indexes = {
+        @Index(name = "uk_document_fingerprints_sha256", columnList = "sha256", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DocumentFingerprint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String sha256; // Hex-encoded SHA-256 of the file content
+
+    @Column(nullable = false)
+    private Long claimId; // Claim the document was first uploaded with
+
+    private Long employeeId;
+
+    private String documentPath;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public DocumentFingerprint(String sha256, Long claimId, Long employeeId, String documentPath) {
+        this.sha256 = sha256;
+        this.claimId = claimId;
+        this.employeeId = employeeId;
+        this.documentPath = documentPath;
+        this.createdAt = LocalDateTime.now();
+    }
+}
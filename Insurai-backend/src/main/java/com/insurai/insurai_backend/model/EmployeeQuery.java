@@ -10,6 +10,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -17,7 +18,11 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "employee_queries")
+@Table(name = "employee_queries", indexes = {
+        @Index(name = "idx_employee_query_employee_status", columnList = "employee_id, status"),
+        @Index(name = "idx_employee_query_agent_status", columnList = "agent_id, status"),
+        @Index(name = "idx_employee_query_status", columnList = "status")
+})
 public class EmployeeQuery {
 
     @Id
@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -18,7 +19,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "enrollments")
+@Table(name = "enrollments", indexes = {
+        @Index(name = "idx_enrollment_employee_status", columnList = "employee_id, status"),
+        @Index(name = "idx_enrollment_policy_status", columnList = "policy_id, status"),
+        @Index(name = "idx_enrollment_hr_status", columnList = "assigned_hr_id, status"),
+        @Index(name = "idx_enrollment_status", columnList = "status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
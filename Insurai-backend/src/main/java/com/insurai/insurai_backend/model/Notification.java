@@ -7,12 +7,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notification_user_unread", columnList = "target_id, target_role, read_status, id"),
+        @Index(name = "idx_notification_target_read_created", columnList = "target_id, read_status, created_at"),
+        @Index(name = "idx_notification_role_type_created", columnList = "target_role, notification_type, created_at"),
+        @Index(name = "idx_notification_type_created", columnList = "notification_type, created_at")
+})
 public class Notification {
 
     @Id
@@ -0,0 +1,44 @@
+package com.insurai.insurai_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Per-user read state for role broadcasts (notifications with targetId = null).
+ * Every broadcast of the role with id <= lastReadId counts as read for this user.
+ */
+@Entity
+@Table(name = "notification_read_watermarks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_watermark_user_role",
+                columnNames = {"user_id", "role"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationReadWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "role", nullable = false, length = 20)
+    private String role;
+
+    @Column(name = "last_read_id", nullable = false)
+    private Long lastReadId = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
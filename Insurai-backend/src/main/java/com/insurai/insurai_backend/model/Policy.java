@@ -7,10 +7,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "policies")
+@Table(name = "policies", indexes = {
+        @Index(name = "idx_policy_renewal_status", columnList = "renewal_date, policy_status"),
+        @Index(name = "idx_policy_status", columnList = "policy_status"),
+        @Index(name = "idx_policy_type", columnList = "policy_type"),
+        @Index(name = "idx_policy_provider", columnList = "provider_name")
+})
 public class Policy {
 
     @Id
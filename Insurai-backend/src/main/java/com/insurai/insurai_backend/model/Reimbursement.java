@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
@@ -19,7 +20,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "reimbursements")
+@Table(name = "reimbursements", indexes = {
+        @Index(name = "idx_reimbursement_employee_status", columnList = "employee_id, status"),
+        @Index(name = "idx_reimbursement_status_completed", columnList = "status, completed_date"),
+        @Index(name = "idx_reimbursement_completed_date", columnList = "completed_date"),
+        @Index(name = "idx_reimbursement_processed_date", columnList = "processed_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
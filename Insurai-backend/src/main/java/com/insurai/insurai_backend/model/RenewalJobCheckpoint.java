@@ -0,0 +1,72 @@
+package com.insurai.insurai_backend.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of one renewal alert run for one (alert stage, policy) pair.
+ * Enrollments are processed in id order, so lastEnrollmentId is enough to resume.
+ */
+@Entity
+@Table(name = "renewal_job_checkpoints",
+        uniqueConstraints = @UniqueConstraint(name = "uk_renewal_checkpoint_run_stage_policy",
+                columnNames = {"run_key", "alert_days", "policy_id"}),
+        indexes = @Index(name = "idx_renewal_checkpoint_date_completed", columnList = "run_date, completed"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RenewalJobCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_key", nullable = false, length = 100)
+    private String runKey; // DAILY-<date> or MANUAL-<millis>
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "alert_days", nullable = false)
+    private Integer alertDays;
+
+    @Column(name = "policy_id", nullable = false)
+    private Long policyId;
+
+    @Column(nullable = false, length = 500)
+    private String alertMessage;
+
+    @Column(nullable = false)
+    private Long lastEnrollmentId = 0L;
+
+    @Column(nullable = false)
+    private Integer alertsSent = 0;
+
+    @Column(nullable = false)
+    private Boolean completed = false;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public RenewalJobCheckpoint(String runKey, LocalDate runDate, Integer alertDays, Long policyId, String alertMessage) {
+        this.runKey = runKey;
+        this.runDate = runDate;
+        this.alertDays = alertDays;
+        this.policyId = policyId;
+        this.alertMessage = alertMessage;
+    }
+}
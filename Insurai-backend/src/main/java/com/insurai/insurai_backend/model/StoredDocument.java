@@ -0,0 +1,55 @@
+package com.insurai.insurai_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A blob in the content-addressed claim document store, keyed by the SHA-256 of its content.
+ * refCount is the number of claim attachments pointing at it; unreferenced blobs are
+ * removed by ClaimDocumentStore after a grace period.
+ */
+@Entity
+@Table(name = "stored_documents", indexes = {
+        @Index(name = "uk_stored_documents_sha256", columnList = "sha256", unique = true),
+        @Index(name = "idx_stored_documents_unreferenced", columnList = "ref_count, updated_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class StoredDocument {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "original_filename")
+    private String originalFilename; // name it was first uploaded with
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount = 0;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
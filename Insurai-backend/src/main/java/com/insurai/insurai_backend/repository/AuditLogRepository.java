@@ -1,9 +1,13 @@
 package com.insurai.insurai_backend.repository;
 
 import com.insurai.insurai_backend.model.AuditLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -15,8 +19,28 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
      */
     List<AuditLog> findAllByOrderByTimestampDesc();
 
-    // Additional query methods can be added later if needed, e.g.,
-    // List<AuditLog> findByRole(String role);
-    // List<AuditLog> findByAction(String action);
-    // List<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
+    /**
+     * Latest audit logs, newest first, limited by the pageable.
+     */
+    List<AuditLog> findAllByOrderByIdDesc(Pageable pageable);
+
+    /**
+     * Keyset page of audit logs, newest first. Null filters are ignored;
+     * afterId is the cursor (last id of the previous page).
+     */
+    @Query("SELECT a FROM AuditLog a " +
+           "WHERE (:role IS NULL OR a.role = :role) " +
+           "AND (:action IS NULL OR a.action = :action) " +
+           "AND (:userId IS NULL OR a.userId = :userId) " +
+           "AND (:from IS NULL OR a.timestamp >= :from) " +
+           "AND (:to IS NULL OR a.timestamp < :to) " +
+           "AND (:afterId IS NULL OR a.id < :afterId) " +
+           "ORDER BY a.id DESC")
+    List<AuditLog> findPage(@Param("role") String role,
+                            @Param("action") String action,
+                            @Param("userId") String userId,
+                            @Param("from") LocalDateTime from,
+                            @Param("to") LocalDateTime to,
+                            @Param("afterId") Long afterId,
+                            Pageable pageable);
 }
@@ -1,13 +1,17 @@
 package com.insurai.insurai_backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.insurai.insurai_backend.dto.ClaimSummary;
 import com.insurai.insurai_backend.model.Claim;
 import com.insurai.insurai_backend.model.Employee;
 import com.insurai.insurai_backend.model.Hr;
@@ -40,15 +44,47 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     // Count pending claims for a specific HR
     int countByAssignedHrAndStatus(Hr hr, String status);
 
+    // Claim count per assigned HR for a status (rows of [hrId, count]), used to rebuild the HR workload index
+    @Query("SELECT c.assignedHr.id, COUNT(c) FROM Claim c WHERE c.status = :status AND c.assignedHr IS NOT NULL GROUP BY c.assignedHr.id")
+    List<Object[]> countByStatusGroupedByAssignedHr(@Param("status") String status);
+
     // -------------------- New: fetch claim by ID with employee eagerly --------------------
     @Query("SELECT c FROM Claim c JOIN FETCH c.employee WHERE c.id = :claimId")
     Optional<Claim> findByIdWithEmployee(@Param("claimId") Long claimId);
 
+    // [employeeId, assignedHrId] of the claim if it lists the document; used to authorise downloads
+    @Query("SELECT c.employee.id, h.id FROM Claim c LEFT JOIN c.assignedHr h JOIN c.documents d " +
+           "WHERE c.id = :claimId AND d = :document")
+    List<Object[]> findDocumentAccess(@Param("claimId") Long claimId, @Param("document") String document);
+
     // Optional: fetch all claims with HR info (if needed for admin dashboards)
     @Query("SELECT c FROM Claim c LEFT JOIN FETCH c.assignedHr")
     List<Claim> findAllWithHrDetails();
 
     List<Claim> findByAssignedHrIdAndFraudFlag(Long hrId, boolean fraudFlag);
 
+    // -------------------- Listing projections (keyset paginated, newest first) --------------------
+    // Null filters are ignored; afterId is the cursor (last id of the previous page)
+    @Query("SELECT new com.insurai.insurai_backend.dto.ClaimSummary(" +
+           "c.id, c.title, c.description, c.amount, c.status, c.remarks, c.claimDate, c.createdAt, c.updatedAt, " +
+           "e.id, e.name, p.id, p.policyName, h.id, h.name, c.fraudFlag, c.fraudReason) " +
+           "FROM Claim c LEFT JOIN c.employee e LEFT JOIN c.policy p LEFT JOIN c.assignedHr h " +
+           "WHERE (:status IS NULL OR c.status = :status) " +
+           "AND (:fraudFlag IS NULL OR c.fraudFlag = :fraudFlag) " +
+           "AND (:hrId IS NULL OR h.id = :hrId) " +
+           "AND (:from IS NULL OR c.claimDate >= :from) " +
+           "AND (:to IS NULL OR c.claimDate < :to) " +
+           "AND (:afterId IS NULL OR c.id < :afterId) " +
+           "ORDER BY c.id DESC")
+    List<ClaimSummary> findSummaries(@Param("status") String status,
+                                     @Param("fraudFlag") Boolean fraudFlag,
+                                     @Param("hrId") Long hrId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    // Document paths for a batch of claims (rows of [claimId, path])
+    @Query("SELECT c.id, d FROM Claim c JOIN c.documents d WHERE c.id IN :claimIds")
+    List<Object[]> findDocumentPathsByClaimIds(@Param("claimIds") Collection<Long> claimIds);
 }
-
@@ -0,0 +1,22 @@
+package com.insurai.insurai_backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.insurai.insurai_backend.model.DocumentFingerprint;
+
+@Repository
+public interface DocumentFingerprintRepository extends JpaRepository<DocumentFingerprint, Long> {
+
+    // Fingerprints already recorded for any of the given hashes
+    List<DocumentFingerprint> findBySha256In(Collection<String> sha256s);
+
+    // All recorded hashes, streamed (must be consumed inside a transaction)
+    @Query("SELECT f.sha256 FROM DocumentFingerprint f")
+    Stream<String> streamAllSha256();
+}
@@ -3,6 +3,7 @@ package com.insurai.insurai_backend.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -41,7 +42,13 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     @Query("SELECT e FROM Enrollment e WHERE e.employee.id = :employeeId AND e.status IN ('Approved', 'Active')")
     List<Enrollment> findActiveEnrollmentsByEmployeeId(@Param("employeeId") Long employeeId);
 
-    @Query("SELECT e FROM Enrollment e WHERE e.policy.id = :policyId AND e.status IN ('Approved', 'Active')")
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.employee WHERE e.policy.id = :policyId AND e.status IN ('Approved', 'Active')")
     List<Enrollment> findActiveEnrollmentsByPolicyId(@Param("policyId") Long policyId);
-}
 
+    // Keyset page of active enrollments for a policy, employee fetched in the same query
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.employee WHERE e.policy.id = :policyId " +
+           "AND e.status IN ('Approved', 'Active') AND e.id > :afterId ORDER BY e.id")
+    List<Enrollment> findActiveEnrollmentsByPolicyIdAfter(@Param("policyId") Long policyId,
+                                                          @Param("afterId") Long afterId,
+                                                          Pageable pageable);
+}
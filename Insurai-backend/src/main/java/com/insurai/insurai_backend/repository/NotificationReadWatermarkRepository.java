@@ -0,0 +1,27 @@
+package com.insurai.insurai_backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.insurai.insurai_backend.model.NotificationReadWatermark;
+
+@Repository
+public interface NotificationReadWatermarkRepository extends JpaRepository<NotificationReadWatermark, Long> {
+
+    Optional<NotificationReadWatermark> findByUserIdAndRole(Long userId, String role);
+
+    // Create or advance the watermark in one statement; it never moves backwards
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO notification_read_watermarks (user_id, role, last_read_id, updated_at) " +
+                   "VALUES (:userId, :role, :lastReadId, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE last_read_id = GREATEST(last_read_id, VALUES(last_read_id)), updated_at = NOW()",
+           nativeQuery = true)
+    int advance(@Param("userId") Long userId, @Param("role") String role, @Param("lastReadId") Long lastReadId);
+}
@@ -2,7 +2,10 @@ package com.insurai.insurai_backend.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.insurai.insurai_backend.model.Notification;
@@ -29,6 +32,15 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
         Long targetId, String targetRole, String notificationType
     );
 
+    // Unread count for a user's inbox
+    long countByTargetIdAndTargetRoleAndReadStatusFalse(Long targetId, String targetRole);
+
+    // Newest notifications of a user's inbox
+    List<Notification> findByTargetIdAndTargetRoleOrderByIdDesc(Long targetId, String targetRole, Pageable pageable);
+
+    // Unread notifications of a user's inbox, newest first
+    List<Notification> findByTargetIdAndTargetRoleAndReadStatusFalseOrderByIdDesc(Long targetId, String targetRole, Pageable pageable);
+
     // ------------------ By Role ------------------
 
     // All notifications for a role
@@ -44,4 +56,21 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByTargetRoleAndNotificationTypeAndReadStatusFalseOrderByCreatedAtDesc(
         String targetRole, String notificationType
     );
+
+    // ------------------ Role broadcasts (targetId = null) ------------------
+
+    // Broadcasts of a role newer than a user's read watermark, newest first
+    List<Notification> findByTargetIdIsNullAndTargetRoleAndIdGreaterThanOrderByIdDesc(String targetRole, Long afterId, Pageable pageable);
+
+    long countByTargetIdIsNullAndTargetRoleAndIdGreaterThan(String targetRole, Long afterId);
+
+    // ------------------ Push replay ------------------
+
+    // Personal and role-broadcast notifications created after a given id, oldest first
+    @Query("SELECT n FROM Notification n WHERE n.id > :afterId AND n.targetRole = :role " +
+           "AND (n.targetId = :userId OR n.targetId IS NULL) ORDER BY n.id")
+    List<Notification> findForUserAfter(@Param("userId") Long userId,
+                                        @Param("role") String role,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
 }
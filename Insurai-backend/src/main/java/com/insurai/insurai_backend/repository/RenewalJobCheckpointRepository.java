@@ -0,0 +1,25 @@
+package com.insurai.insurai_backend.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.insurai.insurai_backend.model.RenewalJobCheckpoint;
+
+@Repository
+public interface RenewalJobCheckpointRepository extends JpaRepository<RenewalJobCheckpoint, Long> {
+
+    Optional<RenewalJobCheckpoint> findByRunKeyAndAlertDaysAndPolicyId(String runKey, Integer alertDays, Long policyId);
+
+    List<RenewalJobCheckpoint> findByRunKeyAndCompletedFalse(String runKey);
+
+    List<RenewalJobCheckpoint> findByRunDateAndCompletedFalse(LocalDate runDate);
+
+    @Query("SELECT COALESCE(SUM(c.alertsSent), 0) FROM RenewalJobCheckpoint c WHERE c.runKey = :runKey")
+    long sumAlertsSentByRunKey(@Param("runKey") String runKey);
+}
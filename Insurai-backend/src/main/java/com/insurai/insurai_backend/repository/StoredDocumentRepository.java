@@ -0,0 +1,48 @@
+package com.insurai.insurai_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.insurai.insurai_backend.model.StoredDocument;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface StoredDocumentRepository extends JpaRepository<StoredDocument, Long> {
+
+    Optional<StoredDocument> findBySha256(String sha256);
+
+    // Add a reference, creating the row on first upload of the content
+    @Modifying
+    @Query(value = "INSERT INTO stored_documents (sha256, size_bytes, content_type, original_filename, ref_count, created_at, updated_at) " +
+                   "VALUES (:sha256, :size, :contentType, :filename, 1, NOW(), NOW()) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = NOW()",
+           nativeQuery = true)
+    int acquire(@Param("sha256") String sha256,
+                @Param("size") long size,
+                @Param("contentType") String contentType,
+                @Param("filename") String filename);
+
+    @Modifying
+    @Query("UPDATE StoredDocument d SET d.refCount = d.refCount - 1, d.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE d.sha256 = :sha256 AND d.refCount > 0")
+    int release(@Param("sha256") String sha256);
+
+    // Unreferenced since before the cutoff
+    @Query("SELECT d.sha256 FROM StoredDocument d WHERE d.refCount = 0 AND d.updatedAt < :cutoff ORDER BY d.updatedAt")
+    List<String> findUnreferencedSince(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Row lock held while the blob is deleted, so a concurrent upload of the same content waits for it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM StoredDocument d WHERE d.sha256 = :sha256 AND d.refCount = 0")
+    Optional<StoredDocument> lockUnreferenced(@Param("sha256") String sha256);
+}
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
 import com.insurai.insurai_backend.config.JwtUtil;
 import com.insurai.insurai_backend.model.Agent;
 import com.insurai.insurai_backend.model.Hr;
@@ -29,6 +30,12 @@ public class AdminService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private HrWorkloadIndex hrWorkloadIndex;
+
+    @Autowired
+    private AuthenticatedUserResolver userResolver;
+
     // -------------------- Admin login --------------------
     public boolean validateAdmin(String email, String password) {
         return ADMIN_EMAIL.equals(email) && ADMIN_PASSWORD.equals(password);
@@ -70,7 +77,9 @@ public class AdminService {
         agent.setName(request.getName());
         agent.setEmail(request.getEmail());
         agent.setPassword(passwordEncoder.encode(request.getPassword()));
-        agentRepository.save(agent);
+        Agent savedAgent = agentRepository.save(agent);
+        // Identities cached under this email must not outlive the account they were loaded from
+        userResolver.invalidate(savedAgent.getEmail());
     }
 
     // -------------------- Register HR --------------------
@@ -81,6 +90,8 @@ public class AdminService {
         hr.setPhoneNumber(request.getPhoneNumber());
         hr.setHrId(request.getHrId());
         hr.setPassword(passwordEncoder.encode(request.getPassword()));
-        hrRepository.save(hr);
+        Hr savedHr = hrRepository.save(hr);
+        hrWorkloadIndex.registerHr(savedHr);
+        userResolver.invalidate(savedHr.getEmail());
     }
 }
@@ -0,0 +1,92 @@
+package com.insurai.insurai_backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurai.insurai_backend.dto.AuditLogFilter;
+
+/**
+ * Streams audit logs as NDJSON (one JSON object per line), newest first.
+ *
+ * Rows are read through a MySQL streaming result set (fetch size Integer.MIN_VALUE)
+ * and written to the response as they arrive, so memory use does not depend on
+ * how many rows match.
+ */
+@Component
+public class AuditLogExporter {
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogExporter(DataSource dataSource, ObjectMapper objectMapper) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE); // row-by-row streaming in Connector/J
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(AuditLogFilter filter, OutputStream out) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, user_id, user_name, role, action, details, timestamp FROM audit_logs WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (filter.getRole() != null) {
+            sql.append(" AND role = ?");
+            params.add(filter.getRole());
+        }
+        if (filter.getAction() != null) {
+            sql.append(" AND action = ?");
+            params.add(filter.getAction());
+        }
+        if (filter.getUserId() != null) {
+            sql.append(" AND user_id = ?");
+            params.add(filter.getUserId());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND timestamp >= ?");
+            params.add(Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND timestamp < ?");
+            params.add(Timestamp.valueOf(filter.getTo()));
+        }
+        sql.append(" ORDER BY id DESC");
+
+        streamingJdbcTemplate.query(sql.toString(), rs -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", rs.getLong("id"));
+            row.put("userId", rs.getString("user_id"));
+            row.put("userName", rs.getString("user_name"));
+            row.put("role", rs.getString("role"));
+            row.put("action", rs.getString("action"));
+            row.put("details", rs.getString("details"));
+            Timestamp timestamp = rs.getTimestamp("timestamp");
+            row.put("timestamp", timestamp != null ? timestamp.toLocalDateTime() : null);
+
+            try {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write('\n');
+            } catch (IOException e) {
+                // Client went away; abort the query instead of reading the rest of the table
+                throw new UncheckedIOException(e);
+            }
+        }, params.toArray());
+
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.insurai.insurai_backend.service;
 
+import com.insurai.insurai_backend.dto.AuditLogFilter;
+import com.insurai.insurai_backend.dto.CursorPage;
 import com.insurai.insurai_backend.model.AuditLog;
 import com.insurai.insurai_backend.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -13,9 +17,11 @@ import java.util.List;
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
 
     /**
      * Log an action performed by any user.
+     * The entry is buffered and written asynchronously in batches by AuditLogWriter.
      * @param userId ID of the user performing the action
      * @param userName Name of the user
      * @param role Role of the user
@@ -31,14 +37,36 @@ public class AuditLogService {
         log.setDetails(details);
         log.setTimestamp(LocalDateTime.now());
 
-        auditLogRepository.save(log);
+        auditLogWriter.append(log);
     }
 
     /**
      * Fetch all audit logs, most recent first.
-     * Used for Admin dashboard.
+     * Loads the whole table; prefer getRecentLogs or getLogsPage for the dashboard.
      */
     public List<AuditLog> getAllLogs() {
         return auditLogRepository.findAllByOrderByTimestampDesc();
     }
+
+    /**
+     * Latest {@code limit} audit logs, most recent first.
+     */
+    public List<AuditLog> getRecentLogs(int limit) {
+        return auditLogRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit));
+    }
+
+    /**
+     * One page of filtered audit logs, most recent first.
+     * Pass the previous page's nextCursor as {@code cursor}.
+     */
+    public CursorPage<AuditLog> getLogsPage(AuditLogFilter filter, Long cursor, int size) {
+        List<AuditLog> rows = auditLogRepository.findPage(
+                filter.getRole(), filter.getAction(), filter.getUserId(),
+                filter.getFrom(), filter.getTo(), cursor, PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<AuditLog> items = hasMore ? new ArrayList<>(rows.subList(0, size)) : rows;
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
 }
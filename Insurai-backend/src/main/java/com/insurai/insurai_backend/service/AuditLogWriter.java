@@ -0,0 +1,177 @@
+package com.insurai.insurai_backend.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.insurai.insurai_backend.model.AuditLog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background writer for audit log entries.
+ *
+ * append() puts the entry in a bounded buffer and returns immediately. A single
+ * writer thread drains the buffer and inserts entries with JDBC batches (rewritten
+ * into multi-row INSERTs by the MySQL driver). A batch is written when it is full
+ * or when the flush interval has passed since its first entry.
+ *
+ * When the buffer is full the overflow policy applies: CALLER_RUNS writes the
+ * entry synchronously on the calling thread (nothing is lost), DROP discards it
+ * and counts the loss. Entries still buffered at shutdown are written before the
+ * datasource closes; entries appended after that are written synchronously.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    public enum OverflowPolicy { CALLER_RUNS, DROP }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (user_id, user_name, role, action, details, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile boolean closed; // flush() has started; append() no longer relies on the writer thread
+    private Thread writerThread;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          @Value("${audit.writer.buffer-capacity:10000}") int bufferCapacity,
+                          @Value("${audit.writer.batch-size:500}") int batchSize,
+                          @Value("${audit.writer.flush-interval-ms:1000}") long flushIntervalMs,
+                          @Value("${audit.writer.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @PostConstruct
+    public void start() {
+        writerThread = new Thread(this::drainLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // -------------------- Producer side --------------------
+
+    public void append(AuditLog entry) {
+        if (closed) {
+            write(List.of(entry));
+            return;
+        }
+        if (buffer.offer(entry)) {
+            // Closed since the check above: flush()'s final drain may already have run
+            if (closed) drainRemaining();
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            write(List.of(entry));
+        } else {
+            long total = dropped.incrementAndGet();
+            if (total == 1 || total % 1000 == 0) {
+                log.warn("Audit log buffer full, {} entries dropped so far", total);
+            }
+        }
+    }
+
+    // -------------------- Writer thread --------------------
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditLog first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+                    AuditLog next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: write what we have, flush() takes care of the rest
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Stop the writer thread and write everything still buffered.
+     */
+    @PreDestroy
+    public void flush() throws InterruptedException {
+        closed = true;
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        drainRemaining();
+    }
+
+    private void drainRemaining() {
+        List<AuditLog> remaining = new ArrayList<>(batchSize);
+        while (buffer.drainTo(remaining, batchSize) > 0) {
+            write(remaining);
+            remaining.clear();
+        }
+    }
+
+    // -------------------- JDBC --------------------
+
+    private void write(List<AuditLog> entries) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), this::bind);
+        } catch (Exception e) {
+            if (entries.size() == 1) {
+                log.error("Failed to write audit log entry {}: {}", entries.get(0).getAction(), e.getMessage());
+                return;
+            }
+            // One bad row fails the whole batch; retry row by row so the others are kept
+            log.warn("Audit log batch of {} failed ({}), retrying row by row", entries.size(), e.getMessage());
+            for (AuditLog entry : entries) {
+                write(List.of(entry));
+            }
+        }
+    }
+
+    private void bind(PreparedStatement ps, AuditLog entry) throws SQLException {
+        ps.setString(1, entry.getUserId());
+        ps.setString(2, entry.getUserName());
+        ps.setString(3, entry.getRole());
+        ps.setString(4, entry.getAction());
+        ps.setString(5, entry.getDetails());
+        ps.setTimestamp(6, entry.getTimestamp() != null ? Timestamp.valueOf(entry.getTimestamp()) : null);
+    }
+}
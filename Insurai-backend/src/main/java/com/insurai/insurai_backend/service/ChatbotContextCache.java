@@ -0,0 +1,105 @@
+package com.insurai.insurai_backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.model.Claim;
+import com.insurai.insurai_backend.model.EmployeeQuery;
+import com.insurai.insurai_backend.model.Policy;
+
+/**
+ * Per-employee chatbot conversation context. Each part (claims, queries) is loaded only
+ * when an answer needs it and then reused for the TTL, so follow-up questions in a
+ * session do not hit the database again. Policies come from the shared PolicyCatalogCache.
+ *
+ * The employee's own claim and query submissions invalidate their context; changes made
+ * by others (HR decisions, agent replies) show up once the TTL has passed. The number of
+ * contexts is bounded with LRU eviction.
+ */
+@Component
+public class ChatbotContextCache {
+
+    private final ClaimService claimService;
+    private final EmployeeQueryService queryService;
+    private final PolicyCatalogCache policyCatalogCache;
+    private final long ttlMs;
+    private final Map<Long, Context> contexts;
+
+    public ChatbotContextCache(ClaimService claimService,
+                               EmployeeQueryService queryService,
+                               PolicyCatalogCache policyCatalogCache,
+                               @Value("${chatbot.context.ttl-ms:60000}") long ttlMs,
+                               @Value("${chatbot.context.max-sessions:10000}") int maxSessions) {
+        this.claimService = claimService;
+        this.queryService = queryService;
+        this.policyCatalogCache = policyCatalogCache;
+        this.ttlMs = ttlMs;
+        this.contexts = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Context> eldest) {
+                return size() > maxSessions;
+            }
+        };
+    }
+
+    public Context forEmployee(AuthenticatedUser employee) {
+        synchronized (contexts) {
+            return contexts.computeIfAbsent(employee.getId(), id -> new Context(id, employee.getEmployeeCode()));
+        }
+    }
+
+    /**
+     * The employee's claims or queries changed; reload them on the next chatbot question.
+     */
+    public void invalidate(Long employeeId) {
+        synchronized (contexts) {
+            contexts.remove(employeeId);
+        }
+    }
+
+    /**
+     * Lazily loaded data of one employee. Lists are shared between requests: treat them as read-only.
+     */
+    public final class Context {
+
+        private final Long employeeId;
+        private final String employeeCode;
+
+        private List<Claim> claims;
+        private long claimsLoadedAt;
+        private List<EmployeeQuery> queries;
+        private long queriesLoadedAt;
+
+        private Context(Long employeeId, String employeeCode) {
+            this.employeeId = employeeId;
+            this.employeeCode = employeeCode;
+        }
+
+        public synchronized List<Claim> claims() {
+            long now = System.currentTimeMillis();
+            if (claims == null || now - claimsLoadedAt >= ttlMs) {
+                claims = List.copyOf(claimService.getClaimsByEmployeeId(employeeCode));
+                claimsLoadedAt = now;
+            }
+            return claims;
+        }
+
+        public synchronized List<EmployeeQuery> queries() {
+            long now = System.currentTimeMillis();
+            if (queries == null || now - queriesLoadedAt >= ttlMs) {
+                queries = List.copyOf(queryService.getQueriesForEmployee(employeeId));
+                queriesLoadedAt = now;
+            }
+            return queries;
+        }
+
+        public List<Policy> policies() {
+            return policyCatalogCache.getAll();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.insurai.insurai_backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chatbot intent detection in a single pass over the message.
+ *
+ * Rules are read from chatbot.intents.location, one intent per line in priority order:
+ *
+ * <pre>
+ * CLAIM_TRACK = track | status &amp; claim
+ * </pre>
+ *
+ * An intent matches when every &amp;-separated group has at least one of its |-separated
+ * phrases in the message. Phrases match whole words; a trailing * also matches longer
+ * words ("expire*" matches "expired"). All phrases are compiled into one Aho-Corasick
+ * automaton over the normalised text (lowercase, words separated by single spaces), so a
+ * message is scanned once, without allocating, to find every group present; the first
+ * intent whose groups are all present wins, otherwise GENERAL.
+ */
+@Component
+public class ChatbotIntentClassifier {
+
+    public static final String GENERAL = "GENERAL";
+
+    // Input symbols: 0 word separator, 1-26 a-z, 27-36 0-9, 37 any other letter or digit
+    private static final int ALPHABET = 38;
+    private static final int SEPARATOR = 0;
+    private static final int MAX_GROUPS = Long.SIZE;
+
+    private final int[] transitions; // state * ALPHABET + symbol -> next state
+    private final long[] matches;    // state -> groups matched on reaching it (failure links folded in)
+    private final String[] intents;
+    private final long[] requiredGroups;
+
+    @Autowired
+    public ChatbotIntentClassifier(
+            @Value("${chatbot.intents.location:classpath:chatbot-intents.txt}") Resource rules) throws IOException {
+        this(read(rules));
+    }
+
+    public ChatbotIntentClassifier(String rules) {
+        // group (normalised alternatives) -> bit, shared by intents that use the same group
+        Map<List<String>, Integer> groups = new LinkedHashMap<>();
+        List<String> names = new ArrayList<>();
+        List<Long> required = new ArrayList<>();
+
+        for (String rawLine : rules.split("\\R")) {
+            String line = rawLine.replaceFirst("#.*", "").trim();
+            if (line.isEmpty()) continue;
+
+            int equals = line.indexOf('=');
+            if (equals <= 0) throw new IllegalArgumentException("Invalid intent rule: " + rawLine);
+            String name = line.substring(0, equals).trim();
+
+            long mask = 0;
+            for (String group : line.substring(equals + 1).split("&")) {
+                List<String> phrases = new ArrayList<>();
+                for (String phrase : group.split("\\|")) {
+                    String pattern = pattern(phrase);
+                    if (pattern == null) throw new IllegalArgumentException("Empty phrase in intent rule: " + rawLine);
+                    phrases.add(pattern);
+                }
+                Integer bit = groups.computeIfAbsent(phrases, p -> groups.size());
+                if (bit >= MAX_GROUPS) throw new IllegalArgumentException("More than " + MAX_GROUPS + " keyword groups");
+                mask |= 1L << bit;
+            }
+            names.add(name);
+            required.add(mask);
+        }
+
+        this.intents = names.toArray(new String[0]);
+        this.requiredGroups = required.stream().mapToLong(Long::longValue).toArray();
+
+        // -------------------- Build the automaton --------------------
+        List<int[]> next = new ArrayList<>();
+        List<Long> output = new ArrayList<>();
+        next.add(emptyRow());
+        output.add(0L);
+
+        groups.forEach((phrases, bit) -> {
+            for (String pattern : phrases) {
+                int state = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    int symbol = symbol(pattern.charAt(i));
+                    if (next.get(state)[symbol] < 0) {
+                        next.get(state)[symbol] = next.size();
+                        next.add(emptyRow());
+                        output.add(0L);
+                    }
+                    state = next.get(state)[symbol];
+                }
+                output.set(state, output.get(state) | (1L << bit));
+            }
+        });
+
+        // Breadth-first: turn failure links into direct transitions and inherit their matches
+        int[] fail = new int[next.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int child = next.get(0)[symbol];
+            if (child < 0) {
+                next.get(0)[symbol] = 0;
+            } else {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            output.set(state, output.get(state) | output.get(fail[state]));
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int child = next.get(state)[symbol];
+                int fallback = next.get(fail[state])[symbol];
+                if (child < 0) {
+                    next.get(state)[symbol] = fallback;
+                } else {
+                    fail[child] = fallback;
+                    queue.add(child);
+                }
+            }
+        }
+
+        this.transitions = new int[next.size() * ALPHABET];
+        this.matches = new long[next.size()];
+        for (int state = 0; state < next.size(); state++) {
+            System.arraycopy(next.get(state), 0, transitions, state * ALPHABET, ALPHABET);
+            matches[state] = output.get(state);
+        }
+    }
+
+    // -------------------- Classification --------------------
+
+    public String classify(String message) {
+        if (message == null) return GENERAL;
+
+        // The message is read as " word word ... word ": runs of separators collapse to one
+        int state = transitions[SEPARATOR];
+        long found = matches[state];
+        boolean afterSeparator = true;
+
+        for (int i = 0; i < message.length(); i++) {
+            int symbol = symbol(message.charAt(i));
+            if (symbol == SEPARATOR) {
+                if (afterSeparator) continue;
+                afterSeparator = true;
+            } else {
+                afterSeparator = false;
+            }
+            state = transitions[state * ALPHABET + symbol];
+            found |= matches[state];
+        }
+        if (!afterSeparator) {
+            found |= matches[transitions[state * ALPHABET + SEPARATOR]];
+        }
+
+        for (int i = 0; i < intents.length; i++) {
+            if ((found & requiredGroups[i]) == requiredGroups[i]) return intents[i];
+        }
+        return GENERAL;
+    }
+
+    // -------------------- Helpers --------------------
+
+    // " my claims " for whole words; " expire" (no closing separator) for "expire*"
+    private static String pattern(String phrase) {
+        String trimmed = phrase.trim();
+        boolean prefix = trimmed.endsWith("*");
+        if (prefix) trimmed = trimmed.substring(0, trimmed.length() - 1);
+
+        StringBuilder pattern = new StringBuilder(" ");
+        boolean afterSeparator = true;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (symbol(c) == SEPARATOR) {
+                if (afterSeparator) continue;
+                pattern.append(' ');
+                afterSeparator = true;
+            } else {
+                pattern.append(Character.toLowerCase(c));
+                afterSeparator = false;
+            }
+        }
+        if (pattern.length() == 1) return null;
+        if (afterSeparator) pattern.setLength(pattern.length() - 1);
+        if (!prefix) pattern.append(' ');
+        return pattern.toString();
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a' + 1;
+        if (c >= 'A' && c <= 'Z') return c - 'A' + 1;
+        if (c >= '0' && c <= '9') return c - '0' + 27;
+        if (c < 128) return SEPARATOR;
+        return Character.isLetterOrDigit(c) ? 37 : SEPARATOR;
+    }
+
+    private static int[] emptyRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static String read(Resource rules) throws IOException {
+        try (InputStream in = rules.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.insurai.insurai_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.insurai.insurai_backend.model.Policy;
+
+/**
+ * Cache of chatbot answers to generic questions ("what is a deductible"), shared by all employees.
+ *
+ * The key is the normalised question (lowercase words, filler words dropped) plus a hash of
+ * the non-personal context the answer was generated from (the policy list). Questions that
+ * refer to the asker's own data (I, me, my, our, claim numbers...) are never cached; they are
+ * answered from a prompt that includes the employee's claims and queries. Entries expire
+ * after the TTL and the number of entries is bounded with LRU eviction.
+ */
+@Component
+public class ChatbotResponseCache {
+
+    private static final Set<String> FILLER_WORDS = Set.of(
+            "please", "pls", "kindly", "hi", "hey", "hello", "the", "a", "an",
+            "can", "could", "would", "you", "tell");
+
+    // First person words; a question using any of them is about the asker
+    static final String DEFAULT_PERSONAL_WORDS = "my,mine,myself,i,me,im,ive,our,ours,ourselves,we,us";
+
+    private final boolean enabled;
+    private final long ttlMs;
+    private final Set<String> personalWords;
+    private final Map<String, Entry> entries;
+
+    // Policy list last hashed, so a cache hit does not rehash an unchanged catalog snapshot
+    private volatile ContextHash lastContext;
+
+    public ChatbotResponseCache(@Value("${chatbot.response-cache.enabled:true}") boolean enabled,
+                                @Value("${chatbot.response-cache.ttl-ms:3600000}") long ttlMs,
+                                @Value("${chatbot.response-cache.max-entries:1000}") int maxEntries,
+                                @Value("${chatbot.response-cache.personal-words:" + DEFAULT_PERSONAL_WORDS + "}") Set<String> personalWords) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.personalWords = personalWords;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Whether the question refers to the asker's own data, so its answer must not be shared.
+     * Words are split at apostrophes, so "I'm" and "I've" are caught by "i".
+     */
+    public boolean isPersonal(String question) {
+        for (String word : words(question)) {
+            if (personalWords.contains(word)) return true;
+            if (word.chars().anyMatch(Character::isDigit)) return true; // claim / query numbers
+        }
+        return false;
+    }
+
+    /**
+     * Cached answer for a generic question, or generate() when there is none. Fallback answers
+     * from CohereChatClient (upstream unavailable) are returned but not cached.
+     */
+    public String getOrGenerate(String question, List<Policy> policies, Supplier<String> generate) {
+        Optional<String> cached = get(question, policies);
+        if (cached.isPresent()) return cached.get();
+
+        String answer = generate.get();
+        put(question, policies, answer);
+        return answer;
+    }
+
+    /**
+     * Cached answer for a generic question, if there is a live one.
+     */
+    public Optional<String> get(String question, List<Policy> policies) {
+        if (!enabled) return Optional.empty();
+
+        String key = key(question, policies);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry cached = entries.get(key);
+            if (cached == null) return Optional.empty();
+            if (now < cached.expiresAt()) return Optional.of(cached.answer());
+            entries.remove(key);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Cache an answer generated for a generic question; fallback answers are ignored.
+     */
+    public void put(String question, List<Policy> policies, String answer) {
+        if (!enabled || answer == null) return;
+        if (CohereChatClient.FALLBACK_ANSWER.equals(answer) || CohereChatClient.NO_ANSWER.equals(answer)) return;
+
+        String key = key(question, policies);
+        synchronized (entries) {
+            entries.put(key, new Entry(answer, System.currentTimeMillis() + ttlMs));
+        }
+    }
+
+    // -------------------- Keys --------------------
+
+    private String key(String question, List<Policy> policies) {
+        return contextHash(policies) + ":" + normalise(question);
+    }
+
+    private static String normalise(String question) {
+        StringJoiner key = new StringJoiner(" ");
+        for (String word : words(question)) {
+            if (!FILLER_WORDS.contains(word)) key.add(word);
+        }
+        return key.toString();
+    }
+
+    private static String[] words(String text) {
+        String cleaned = text.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        return cleaned.isEmpty() ? new String[0] : cleaned.split(" ");
+    }
+
+    private String contextHash(List<Policy> policies) {
+        ContextHash last = lastContext;
+        if (last != null && last.policies() == policies) return last.hash();
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Policy policy : policies) {
+                // The fields the generic prompt shows
+                digest.update((policy.getPolicyName() + "|" + policy.getRenewalDate() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            String hash = HexFormat.of().formatHex(digest.digest(), 0, 8);
+            lastContext = new ContextHash(policies, hash);
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(String answer, long expiresAt) {
+    }
+
+    private record ContextHash(List<Policy> policies, String hash) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.insurai.insurai_backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.insurai.insurai_backend.model.StoredDocument;
+import com.insurai.insurai_backend.repository.StoredDocumentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed, deduplicating store for claim documents.
+ *
+ * A document is identified by the hex SHA-256 of its bytes, which is what
+ * Claim.documents holds (older claims still hold /uploads/ paths). Identical
+ * uploads share one blob; stored_documents counts the references to it.
+ * Blobs whose count dropped to zero are deleted after a grace period.
+ */
+@Service
+@Slf4j
+public class ClaimDocumentStore {
+
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int SWEEP_BATCH = 100;
+
+    private final DocumentBackend backend;
+    private final StoredDocumentRepository storedDocumentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path tmpDir;
+    private final long gcGraceMs;
+
+    public ClaimDocumentStore(DocumentBackend backend,
+                              StoredDocumentRepository storedDocumentRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${documents.store.tmp-dir:./data/document-store/tmp}") String tmpDir,
+                              @Value("${documents.store.gc-grace-ms:86400000}") long gcGraceMs) {
+        this.backend = backend;
+        this.storedDocumentRepository = storedDocumentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tmpDir = Paths.get(tmpDir).toAbsolutePath().normalize();
+        this.gcGraceMs = gcGraceMs;
+    }
+
+    public static boolean isContentHash(String reference) {
+        return reference != null && CONTENT_HASH.matcher(reference).matches();
+    }
+
+    // -------------------- Write --------------------
+
+    /**
+     * Store an upload and take a reference on it.
+     *
+     * @return hex SHA-256 of the content, to be kept in Claim.documents
+     */
+    public String store(MultipartFile file) {
+        Path temp = null;
+        try {
+            Files.createDirectories(tmpDir);
+            temp = Files.createTempFile(tmpDir, "upload-", ".part");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+
+            // Reference first: the sweeper only deletes unreferenced blobs, under the row lock
+            transactionTemplate.executeWithoutResult(status -> storedDocumentRepository.acquire(
+                    sha256, size, file.getContentType(), file.getOriginalFilename()));
+
+            if (!backend.exists(sha256)) {
+                backend.put(sha256, temp, file.getContentType());
+            }
+            return sha256;
+
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file " + file.getOriginalFilename(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Drop references taken by store(), e.g. when the claim they were for was not saved.
+     */
+    public void release(List<String> sha256s) {
+        if (sha256s == null || sha256s.isEmpty()) return;
+        transactionTemplate.executeWithoutResult(status -> sha256s.stream()
+                .filter(ClaimDocumentStore::isContentHash)
+                .forEach(storedDocumentRepository::release));
+    }
+
+    // -------------------- Read --------------------
+
+    public Optional<StoredDocument> find(String sha256) {
+        return isContentHash(sha256) ? storedDocumentRepository.findBySha256(sha256) : Optional.empty();
+    }
+
+    public void transferTo(String sha256, long position, long count, WritableByteChannel target) throws IOException {
+        backend.transferTo(sha256, position, count, target);
+    }
+
+    /**
+     * Local file holding the document, if the backend keeps one (for sendfile).
+     */
+    public Optional<Path> localPath(String sha256) {
+        return isContentHash(sha256) ? backend.localPath(sha256) : Optional.empty();
+    }
+
+    // -------------------- Garbage collection --------------------
+
+    @Scheduled(fixedDelayString = "${documents.store.gc-interval-ms:3600000}")
+    public void sweepUnreferenced() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(gcGraceMs));
+        List<String> candidates = storedDocumentRepository.findUnreferencedSince(cutoff, PageRequest.of(0, SWEEP_BATCH));
+
+        for (String sha256 : candidates) {
+            try {
+                // Lock, delete blob, delete row in one transaction; a concurrent store() of the same
+                // content waits on the row lock and then writes the blob again
+                transactionTemplate.executeWithoutResult(status ->
+                        storedDocumentRepository.lockUnreferenced(sha256).ifPresent(document -> {
+                            try {
+                                backend.delete(sha256);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                            storedDocumentRepository.delete(document);
+                        }));
+            } catch (Exception e) {
+                log.warn("Could not remove unreferenced document {}: {}", sha256, e.getMessage());
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temp file {}: {}", path, e.getMessage());
+        }
+    }
+}
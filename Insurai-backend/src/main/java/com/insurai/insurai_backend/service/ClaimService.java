@@ -1,12 +1,19 @@
 package com.insurai.insurai_backend.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.insurai.insurai_backend.dto.ClaimSummary;
+import com.insurai.insurai_backend.dto.CursorPage;
 import com.insurai.insurai_backend.model.Claim;
 import com.insurai.insurai_backend.model.Employee;
 import com.insurai.insurai_backend.model.Hr;
@@ -15,6 +22,12 @@ import com.insurai.insurai_backend.repository.ClaimRepository;
 @Service
 public class ClaimService {
 
+    // Max claim ids per IN (...) when batch-loading documents
+    private static final int DOCUMENT_BATCH_SIZE = 1000;
+
+    // Largest page any claim listing returns
+    private static final int MAX_SUMMARY_PAGE_SIZE = 200;
+
     @Autowired
     private ClaimRepository claimRepository;
 
@@ -27,9 +40,21 @@ public class ClaimService {
     @Autowired
     private FraudService fraudService;
 
+    @Autowired
+    private FraudFeatureStore fraudFeatureStore;
+
+    @Autowired
+    private DocumentFingerprintService documentFingerprintService;
+
     @Autowired
     private InAppNotificationService inAppNotificationService; // ✅ Added InAppNotificationService
 
+    @Autowired
+    private HrAssignmentStrategy hrAssignmentStrategy;
+
+    @Autowired
+    private HrWorkloadIndex hrWorkloadIndex;
+
     /**
      * Submit a new claim with automatic HR assignment
      */
@@ -49,8 +74,7 @@ public class ClaimService {
         // Fraud detection
         try {
             if (claim.getEmployee() != null && claim.getPolicy() != null) {
-                List<Claim> employeeClaims = claimRepository.findByEmployee(claim.getEmployee());
-                fraudService.runFraudDetection(claim, employeeClaims);
+                fraudService.runFraudDetection(claim, fraudFeatureStore.featuresFor(claim.getEmployee()));
             } else {
                 claim.setFraudFlag(false);
                 claim.setFraudReason(null);
@@ -62,17 +86,16 @@ public class ClaimService {
         }
 
         // Automatic HR assignment
-        List<Hr> activeHrs = hrService.getAllActiveHrs();
-        Hr selectedHr = null;
-        if (!activeHrs.isEmpty()) {
-            selectedHr = activeHrs.stream()
-                    .min(Comparator.comparingInt(this::getPendingClaimCount))
-                    .orElse(null);
-            claim.setAssignedHr(selectedHr);
-        }
+        Hr selectedHr = selectHr(claim);
+        claim.setAssignedHr(selectedHr);
 
         // Save claim
         Claim savedClaim = claimRepository.save(claim);
+        fraudFeatureStore.record(savedClaim);
+        registerDocumentFingerprints(claim, savedClaim);
+        if (selectedHr != null) {
+            hrWorkloadIndex.claimAssigned(selectedHr.getId());
+        }
 
         // Send email notification to employee
         try {
@@ -113,8 +136,44 @@ public class ClaimService {
         return savedClaim;
     }
 
-    private int getPendingClaimCount(Hr hr) {
-        return claimRepository.countByAssignedHrAndStatus(hr, "Pending");
+    /**
+     * Pick the HR for a new claim via the assignment strategy. Indexed HRs come from the
+     * workload index; an id the index does not know (custom strategy) is looked up once and indexed.
+     */
+    private Hr selectHr(Claim claim) {
+        Optional<Long> hrId = hrAssignmentStrategy.selectHrId(claim);
+        if (hrId.isEmpty()) return null;
+
+        Optional<Hr> hr = hrWorkloadIndex.hr(hrId.get());
+        if (hr.isEmpty()) {
+            hr = hrService.findById(hrId.get());
+            hr.ifPresent(hrWorkloadIndex::registerHr);
+        }
+        return hr.orElse(null);
+    }
+
+    /**
+     * Index the content hashes of newly uploaded documents for reuse detection.
+     */
+    private void registerDocumentFingerprints(Claim claim, Claim savedClaim) {
+        if (claim.getDocumentHashes() == null || claim.getDocumentHashes().isEmpty()) return;
+        try {
+            savedClaim.setDocumentHashes(claim.getDocumentHashes());
+            documentFingerprintService.register(savedClaim);
+        } catch (Exception e) {
+            System.err.println("⚠️ Failed to register document fingerprints: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Keep the HR workload index in step when a claim leaves the Pending state.
+     */
+    private void releaseHrWorkload(Claim claim, String previousStatus) {
+        if ("Pending".equalsIgnoreCase(previousStatus)
+                && !"Pending".equalsIgnoreCase(claim.getStatus())
+                && claim.getAssignedHr() != null) {
+            hrWorkloadIndex.claimResolved(claim.getAssignedHr().getId());
+        }
     }
 
     public List<Claim> getClaimsByEmployee(Employee employee) {
@@ -136,10 +195,12 @@ public class ClaimService {
         Claim claim = claimRepository.findByIdWithEmployee(claimId)
                 .orElseThrow(() -> new Exception("Claim not found"));
 
+        String previousStatus = claim.getStatus();
         claim.setStatus("Approved");
         claim.setRemarks(remarks);
         claim.setUpdatedAt(LocalDateTime.now());
         Claim updatedClaim = claimRepository.save(claim);
+        releaseHrWorkload(updatedClaim, previousStatus);
 
         // Email notification
         if (updatedClaim.getEmployee() != null && updatedClaim.getEmployee().getEmail() != null) {
@@ -163,10 +224,12 @@ public class ClaimService {
         Claim claim = claimRepository.findByIdWithEmployee(claimId)
                 .orElseThrow(() -> new Exception("Claim not found"));
 
+        String previousStatus = claim.getStatus();
         claim.setStatus("Rejected");
         claim.setRemarks(remarks);
         claim.setUpdatedAt(LocalDateTime.now());
         Claim updatedClaim = claimRepository.save(claim);
+        releaseHrWorkload(updatedClaim, previousStatus);
 
         // Email notification
         if (updatedClaim.getEmployee() != null && updatedClaim.getEmployee().getEmail() != null) {
@@ -209,7 +272,14 @@ public class ClaimService {
         }
 
         claim.setUpdatedAt(LocalDateTime.now());
-        return claimRepository.save(claim);
+        Claim updatedClaim = claimRepository.save(claim);
+        registerDocumentFingerprints(claim, updatedClaim);
+
+        // Edited amount/title/date/documents invalidate the aggregated fraud features
+        if (updatedClaim.getEmployee() != null) {
+            fraudFeatureStore.invalidate(updatedClaim.getEmployee().getId());
+        }
+        return updatedClaim;
     }
 
     public List<Claim> getAllClaimsForAdmin() {
@@ -219,4 +289,43 @@ public class ClaimService {
     public List<Claim> getFraudClaimsByAssignedHr(Long hrId) {
         return claimRepository.findByAssignedHrIdAndFraudFlag(hrId, true);
     }
+
+    // -------------------- Listings (DTO projections) --------------------
+
+    /**
+     * One page of claims, newest first, with filters applied in the database.
+     * Null filters are ignored; {@code to} is inclusive. Pass the previous page's nextCursor as {@code cursor}.
+     * The size is clamped to 1..MAX_SUMMARY_PAGE_SIZE.
+     */
+    public CursorPage<ClaimSummary> findClaimSummaries(String status, Boolean fraudFlag, Long hrId,
+                                                       LocalDate from, LocalDate to, Long cursor, int size) {
+        size = Math.max(1, Math.min(size, MAX_SUMMARY_PAGE_SIZE));
+        List<ClaimSummary> rows = claimRepository.findSummaries(
+                status, fraudFlag, hrId,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                cursor, PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<ClaimSummary> items = hasMore ? new ArrayList<>(rows.subList(0, size)) : rows;
+        attachDocuments(items);
+
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    // Fill in document paths with one query per DOCUMENT_BATCH_SIZE claims instead of one per claim
+    private void attachDocuments(List<ClaimSummary> claims) {
+        Map<Long, List<String>> documents = new HashMap<>();
+        for (int from = 0; from < claims.size(); from += DOCUMENT_BATCH_SIZE) {
+            List<Long> ids = claims.subList(from, Math.min(from + DOCUMENT_BATCH_SIZE, claims.size()))
+                    .stream().map(ClaimSummary::getId).toList();
+            for (Object[] row : claimRepository.findDocumentPathsByClaimIds(ids)) {
+                documents.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+        for (ClaimSummary claim : claims) {
+            claim.setDocuments(documents.getOrDefault(claim.getId(), List.of()));
+        }
+    }
 }
@@ -0,0 +1,451 @@
+package com.insurai.insurai_backend.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cohere chat API client for the chatbot's general questions.
+ *
+ * Connections come from a pool and are kept alive between calls. Connect, pool-wait and
+ * read timeouts bound every call. A bulkhead caps concurrent upstream calls so a slow
+ * upstream cannot take every request thread. After consecutive failures a circuit breaker
+ * answers locally for a cool-down period, then lets one trial call through.
+ *
+ * chat() never throws: anything that is not an answer from the API becomes FALLBACK_ANSWER.
+ * streamChat() relays the answer as it is generated, over the JDK HttpClient's non-blocking
+ * I/O: no thread waits on the upstream while tokens are produced.
+ *
+ * Metrics: chatbot.llm.requests and chatbot.llm.streams (timers, tag outcome),
+ * chatbot.llm.stream.first-token, chatbot.llm.fallbacks (tag reason),
+ * chatbot.llm.in-flight and chatbot.llm.circuit.open.
+ */
+@Component
+@Slf4j
+public class CohereChatClient {
+
+    public static final String FALLBACK_ANSWER =
+            "I’m having trouble connecting to InsurAI’s knowledge base right now. Please try again later.";
+    public static final String NO_ANSWER = "I couldn’t find a clear answer at the moment.";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String apiUrl;
+    private final String apiKey;
+    private final String model;
+    private final long bulkheadWaitMs;
+    private final long readTimeoutMs;
+    private final long streamMaxDurationMs;
+
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final HttpClient streamingHttpClient;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public CohereChatClient(@Value("${cohere.api.url:https://api.cohere.ai/v1/chat}") String apiUrl,
+                            @Value("${cohere.api.key:}") String apiKey,
+                            @Value("${cohere.model:command-a-03-2025}") String model,
+                            @Value("${cohere.http.max-connections:20}") int maxConnections,
+                            @Value("${cohere.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                            @Value("${cohere.http.read-timeout-ms:15000}") long readTimeoutMs,
+                            @Value("${cohere.http.pool-timeout-ms:500}") long poolTimeoutMs,
+                            @Value("${cohere.bulkhead.max-concurrent:10}") int maxConcurrent,
+                            @Value("${cohere.bulkhead.max-wait-ms:200}") long bulkheadWaitMs,
+                            @Value("${cohere.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                            @Value("${cohere.circuit-breaker.open-ms:30000}") long openMs,
+                            @Value("${cohere.stream.max-duration-ms:120000}") long streamMaxDurationMs,
+                            MeterRegistry meterRegistry) {
+        this.apiUrl = apiUrl;
+        this.apiKey = apiKey;
+        this.model = model;
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.readTimeoutMs = readTimeoutMs;
+        this.streamMaxDurationMs = streamMaxDurationMs;
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections) // a single upstream host
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .disableAutomaticRetries() // a retry would double the wait; the breaker handles a failing upstream
+                .build();
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+        // Streaming goes over the JDK client: asynchronous NIO, its own keep-alive pool
+        this.streamingHttpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("chatbot.llm.in-flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("chatbot.llm.circuit.open", circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0)
+                .register(meterRegistry);
+
+        if (apiKey.isEmpty()) {
+            log.warn("⚠️ Cohere API key not set! Cohere responses will not work.");
+        } else {
+            log.info("✅ Cohere API key loaded successfully.");
+        }
+    }
+
+    public boolean isConfigured() {
+        return !apiKey.isEmpty();
+    }
+
+    /**
+     * Ask the chat API. Returns the answer text, or a local fallback answer when the
+     * upstream is failing, saturated or slow. conversationId may be null for a stateless call.
+     */
+    public String chat(String message, String conversationId) {
+        if (!circuitBreaker.tryAcquire()) {
+            return fallback("circuit_open");
+        }
+
+        boolean permitted;
+        try {
+            permitted = bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            circuitBreaker.release(); // not a verdict on the upstream
+            return fallback("bulkhead_full");
+        }
+
+        inFlight.incrementAndGet();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            String text = call(message, conversationId);
+            circuitBreaker.onSuccess();
+            outcome = "success";
+            return text != null && !text.isBlank() ? text.trim() : NO_ANSWER;
+
+        } catch (HttpStatusCodeException e) {
+            // 4xx other than 429 is our request (key, payload), not the upstream's health
+            if (e.getStatusCode().is5xxServerError() || e.getStatusCode().value() == 429) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.release();
+            }
+            log.warn("Cohere chat returned {}", e.getStatusCode());
+            return fallback("error");
+
+        } catch (RestClientException e) {
+            // I/O errors and timeouts
+            circuitBreaker.onFailure();
+            log.warn("Cohere chat failed: {}", e.getMessage());
+            return fallback("error");
+
+        } catch (RuntimeException e) {
+            circuitBreaker.release();
+            log.warn("Unexpected Cohere chat response: {}", e.getMessage());
+            return fallback("error");
+
+        } finally {
+            sample.stop(meterRegistry.timer("chatbot.llm.requests", "outcome", outcome));
+            inFlight.decrementAndGet();
+            bulkhead.release();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private String call(String message, String conversationId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(apiKey);
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+                apiUrl, new HttpEntity<>(requestBody(message, conversationId, false), headers), Map.class);
+        return response.getBody() != null ? (String) response.getBody().get("text") : null;
+    }
+
+    private Map<String, Object> requestBody(String message, String conversationId, boolean stream) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("message", message);
+        if (conversationId != null) requestBody.put("conversation_id", conversationId);
+        if (stream) requestBody.put("stream", true);
+        return requestBody;
+    }
+
+    // -------------------- Streaming --------------------
+
+    /**
+     * Ask the chat API and pass each piece of the answer to onToken as it arrives (on an
+     * HttpClient thread). The future completes with the whole answer. If the call fails
+     * before any text was relayed it completes with FALLBACK_ANSWER instead; a failure
+     * mid-answer completes it exceptionally. Cancelling the future aborts the upstream call.
+     */
+    public CompletableFuture<String> streamChat(String message, String conversationId, Consumer<String> onToken) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(apiUrl))
+                    .timeout(Duration.ofMillis(readTimeoutMs)) // until the response headers
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            JSON.writeValueAsString(requestBody(message, conversationId, true))))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise Cohere request", e);
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.completedFuture(fallback("circuit_open"));
+        }
+        // No waiting for a permit: the caller's thread must not block
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.release();
+            return CompletableFuture.completedFuture(fallback("bulkhead_full"));
+        }
+        inFlight.incrementAndGet();
+
+        StreamCall call = new StreamCall(onToken);
+        call.exchange = streamingHttpClient.sendAsync(request, response -> response.statusCode() == 200
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(call)
+                : HttpResponse.BodySubscribers.replacing(null));
+        call.exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                call.finish(error, true);
+            } else if (response.statusCode() != 200) {
+                int status = response.statusCode();
+                call.finish(new IOException("Cohere chat returned " + status), status >= 500 || status == 429);
+            }
+            // 200: the line subscriber finishes the call when the body ends
+        });
+
+        // Completed from outside (cancelled by the caller, or past the maximum duration)
+        call.result.orTimeout(streamMaxDurationMs, TimeUnit.MILLISECONDS);
+        call.result.whenComplete((text, error) -> {
+            if (error instanceof CancellationException) call.finish(error, false);
+            else if (error instanceof TimeoutException) call.finish(error, true);
+        });
+        return call.result;
+    }
+
+    /**
+     * One streaming exchange: reads Cohere's newline-delimited JSON events and relays the
+     * text-generation ones. finish() runs exactly once and releases the bulkhead permit.
+     */
+    private final class StreamCall implements Flow.Subscriber<String> {
+
+        private final Consumer<String> onToken;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final StringBuilder text = new StringBuilder();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final long startedAt = System.nanoTime();
+        private volatile CompletableFuture<HttpResponse<Void>> exchange;
+        private volatile Flow.Subscription subscription;
+        private volatile boolean relayed;
+
+        private StreamCall(Consumer<String> onToken) {
+            this.onToken = onToken;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (finished.get()) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.isBlank() || finished.get()) return;
+
+            String token;
+            try {
+                JsonNode event = JSON.readTree(line);
+                if (!"text-generation".equals(event.path("event_type").asText())) return;
+                token = event.path("text").asText("");
+            } catch (JsonProcessingException e) {
+                finish(e, true);
+                return;
+            }
+            if (token.isEmpty()) return;
+
+            if (!relayed) {
+                meterRegistry.timer("chatbot.llm.stream.first-token").record(Duration.ofNanos(System.nanoTime() - startedAt));
+                relayed = true;
+            }
+            text.append(token);
+            try {
+                onToken.accept(token);
+            } catch (RuntimeException e) {
+                finish(e, false); // the receiver went away, not the upstream's fault
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            finish(error, true);
+        }
+
+        @Override
+        public void onComplete() {
+            finish(null, false);
+        }
+
+        private void finish(Throwable error, boolean upstreamFault) {
+            if (!finished.compareAndSet(false, true)) return;
+
+            if (error != null) {
+                Flow.Subscription current = subscription;
+                if (current != null) current.cancel();
+                CompletableFuture<HttpResponse<Void>> pending = exchange;
+                if (pending != null) pending.cancel(true);
+            }
+
+            if (error == null) {
+                circuitBreaker.onSuccess();
+            } else if (upstreamFault) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.release();
+            }
+            meterRegistry.timer("chatbot.llm.streams", "outcome", error == null ? "success" : "failure")
+                    .record(Duration.ofNanos(System.nanoTime() - startedAt));
+            inFlight.decrementAndGet();
+            bulkhead.release();
+
+            if (error == null) {
+                String answer = text.toString().trim();
+                result.complete(answer.isEmpty() ? NO_ANSWER : answer);
+            } else if (!relayed) {
+                log.warn("Cohere chat stream failed: {}", error.toString());
+                result.complete(fallback("error"));
+            } else {
+                log.warn("Cohere chat stream failed mid-answer: {}", error.toString());
+                result.completeExceptionally(error);
+            }
+        }
+    }
+
+    private String fallback(String reason) {
+        Counter.builder("chatbot.llm.fallbacks").tag("reason", reason).register(meterRegistry).increment();
+        return FALLBACK_ANSWER;
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        httpClient.close();
+    }
+
+    // -------------------- Circuit breaker --------------------
+
+    /**
+     * Closed until failureThreshold consecutive failures, then open for openMs; after that
+     * half-open, letting a single trial call through whose result closes or re-opens it.
+     */
+    static final class CircuitBreaker {
+
+        private final int failureThreshold;
+        private final long openMs;
+
+        private int consecutiveFailures;
+        private long openedAt = -1; // -1 while closed
+        private boolean trialInFlight;
+
+        CircuitBreaker(int failureThreshold, long openMs) {
+            this.failureThreshold = failureThreshold;
+            this.openMs = openMs;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (openedAt < 0) return true;
+            if (trialInFlight || System.currentTimeMillis() - openedAt < openMs) return false;
+            trialInFlight = true;
+            return true;
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            openedAt = -1;
+            trialInFlight = false;
+        }
+
+        synchronized void onFailure() {
+            trialInFlight = false;
+            if (openedAt >= 0 || ++consecutiveFailures >= failureThreshold) {
+                openedAt = System.currentTimeMillis();
+            }
+        }
+
+        // Call finished without telling anything about the upstream
+        synchronized void release() {
+            trialInFlight = false;
+        }
+
+        synchronized boolean isOpen() {
+            return openedAt >= 0;
+        }
+    }
+}
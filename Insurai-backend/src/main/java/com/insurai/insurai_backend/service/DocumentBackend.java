@@ -0,0 +1,34 @@
+package com.insurai.insurai_backend.service;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Blob storage behind ClaimDocumentStore. Blobs are immutable and addressed by the
+ * hex SHA-256 of their content. Select the implementation with documents.store.backend.
+ */
+public interface DocumentBackend {
+
+    boolean exists(String sha256) throws IOException;
+
+    /**
+     * Store a finished temp file under its hash. The backend may move or delete the file.
+     */
+    void put(String sha256, Path content, String contentType) throws IOException;
+
+    void delete(String sha256) throws IOException;
+
+    /**
+     * Copy count bytes starting at position to the target (zero-copy where the backend allows).
+     */
+    void transferTo(String sha256, long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * The blob as a local file, when the backend keeps one, so it can be served with sendfile.
+     */
+    default Optional<Path> localPath(String sha256) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,161 @@
+package com.insurai.insurai_backend.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.insurai.insurai_backend.model.Claim;
+import com.insurai.insurai_backend.model.DocumentFingerprint;
+import com.insurai.insurai_backend.repository.DocumentFingerprintRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Organisation-wide index of claim document content hashes.
+ *
+ * Lookups hit the unique sha256 index of document_fingerprints. An optional
+ * in-memory Bloom filter sits in front of it so the common case (a document
+ * never seen before) is answered without a query; it is only consulted once it
+ * has been loaded from the table.
+ */
+@Service
+@Slf4j
+public class DocumentFingerprintService {
+
+    private final DocumentFingerprintRepository fingerprintRepository;
+    private final HashBloomFilter bloomFilter;
+    private volatile boolean bloomFilterReady = false;
+
+    public DocumentFingerprintService(
+            DocumentFingerprintRepository fingerprintRepository,
+            @Value("${fraud.documents.bloom-filter.enabled:true}") boolean bloomFilterEnabled,
+            @Value("${fraud.documents.bloom-filter.expected-documents:1000000}") long expectedDocuments,
+            @Value("${fraud.documents.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.fingerprintRepository = fingerprintRepository;
+        this.bloomFilter = bloomFilterEnabled ? new HashBloomFilter(expectedDocuments, falsePositiveRate) : null;
+    }
+
+    /**
+     * Load all known hashes into the Bloom filter on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadBloomFilter() {
+        if (bloomFilter == null) return;
+        long[] count = {0};
+        try (Stream<String> hashes = fingerprintRepository.streamAllSha256()) {
+            hashes.forEach(hash -> {
+                bloomFilter.add(hash);
+                count[0]++;
+            });
+        }
+        bloomFilterReady = true;
+        log.info("Document fingerprint Bloom filter loaded with {} hashes", count[0]);
+    }
+
+    /**
+     * True if any of the hashes belongs to a document already uploaded with an earlier claim.
+     */
+    public boolean anyKnown(Collection<String> sha256s) {
+        if (sha256s == null || sha256s.isEmpty()) return false;
+
+        List<String> candidates = sha256s.stream()
+                .filter(hash -> hash != null && mightContain(hash))
+                .distinct()
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) return false;
+
+        return !fingerprintRepository.findBySha256In(candidates).isEmpty();
+    }
+
+    /**
+     * Record the hashes of a saved claim's documents. Hashes already known are skipped.
+     * The claim's documents and documentHashes lists are parallel.
+     */
+    public void register(Claim claim) {
+        List<String> hashes = claim.getDocumentHashes();
+        if (hashes == null || hashes.isEmpty()) return;
+
+        Set<String> known = fingerprintRepository.findBySha256In(new HashSet<>(hashes)).stream()
+                .map(DocumentFingerprint::getSha256)
+                .collect(Collectors.toSet());
+
+        List<String> paths = claim.getDocuments();
+        Long employeeId = claim.getEmployee() != null ? claim.getEmployee().getId() : null;
+        int offset = paths != null ? paths.size() - hashes.size() : 0; // new documents are appended last
+
+        for (int i = 0; i < hashes.size(); i++) {
+            String hash = hashes.get(i);
+            if (hash == null || !known.add(hash)) continue;
+
+            String path = paths != null && offset + i >= 0 && offset + i < paths.size() ? paths.get(offset + i) : null;
+            try {
+                fingerprintRepository.save(new DocumentFingerprint(hash, claim.getId(), employeeId, path));
+            } catch (DataIntegrityViolationException e) {
+                // Registered concurrently by another upload of the same file
+            }
+            if (bloomFilter != null) bloomFilter.add(hash);
+        }
+    }
+
+    private boolean mightContain(String sha256) {
+        return bloomFilter == null || !bloomFilterReady || bloomFilter.mightContain(sha256);
+    }
+
+    // -------------------- Bloom filter --------------------
+
+    /**
+     * Bloom filter over hex SHA-256 strings. The input is already a uniform hash,
+     * so bit positions are derived from its first 128 bits by double hashing.
+     */
+    static class HashBloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashFunctions;
+
+        HashBloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * 64;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void add(String sha256) {
+            long h1 = Long.parseUnsignedLong(sha256.substring(0, 16), 16);
+            long h2 = Long.parseUnsignedLong(sha256.substring(16, 32), 16);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << (bit & 63);
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) break;
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String sha256) {
+            long h1 = Long.parseUnsignedLong(sha256.substring(0, 16), 16);
+            long h2 = Long.parseUnsignedLong(sha256.substring(16, 32), 16);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -54,12 +54,8 @@ public class EmployeeQueryService {
         EmployeeQuery savedQuery = queryRepository.saveAndFlush(query);
 
         // Notify agent
-        try {
-            if (agent.getEmail() != null) {
-                notificationService.sendEmployeeQueryNotificationToAgent(agent.getEmail(), savedQuery);
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Failed to send query notification to agent: " + e.getMessage());
+        if (agent.getEmail() != null) {
+            notificationService.sendEmployeeQueryNotificationToAgent(agent.getEmail(), savedQuery);
         }
 
         return savedQuery;
@@ -90,13 +86,9 @@ public class EmployeeQueryService {
         System.out.println("🧾 DB Verification - Query ID=" + reloaded.getId() + ", Status=" + reloaded.getStatus());
 
         // ✅ Send email after confirming DB update
-        try {
-            if (reloaded.getEmployee() != null && reloaded.getEmployee().getEmail() != null) {
-                notificationService.sendAgentResponseNotificationToEmployee(reloaded.getEmployee().getEmail(), reloaded);
-                System.out.println("📧 Email sent successfully to " + reloaded.getEmployee().getEmail());
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Failed to send agent response notification: " + e.getMessage());
+        if (reloaded.getEmployee() != null && reloaded.getEmployee().getEmail() != null) {
+            notificationService.sendAgentResponseNotificationToEmployee(reloaded.getEmployee().getEmail(), reloaded);
+            System.out.println("📧 Email sent successfully to " + reloaded.getEmployee().getEmail());
         }
 
         return reloaded;
@@ -115,13 +107,9 @@ public class EmployeeQueryService {
         System.out.println("✅ Query (no-agent) saved and flushed. ID=" + savedQuery.getId());
 
         // Notify employee
-        try {
-            if (savedQuery.getEmployee() != null && savedQuery.getEmployee().getEmail() != null) {
-                notificationService.sendAgentResponseNotificationToEmployee(savedQuery.getEmployee().getEmail(), savedQuery);
-                System.out.println("📧 Email sent successfully to " + savedQuery.getEmployee().getEmail());
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Failed to send agent response notification: " + e.getMessage());
+        if (savedQuery.getEmployee() != null && savedQuery.getEmployee().getEmail() != null) {
+            notificationService.sendAgentResponseNotificationToEmployee(savedQuery.getEmployee().getEmail(), savedQuery);
+            System.out.println("📧 Email sent successfully to " + savedQuery.getEmployee().getEmail());
         }
 
         return savedQuery;
@@ -155,16 +155,12 @@ public class EnrollmentService {
         );
 
         // Send email notification
-        try {
-            notificationService.sendEnrollmentApprovalEmail(
-                    enrollment.getEmployee().getEmail(),
-                    enrollment.getEmployee().getName(),
-                    enrollment.getPolicy().getPolicyName(),
-                    effectiveDate
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to send enrollment approval email: " + e.getMessage());
-        }
+        notificationService.sendEnrollmentApprovalEmail(
+                enrollment.getEmployee().getEmail(),
+                enrollment.getEmployee().getName(),
+                enrollment.getPolicy().getPolicyName(),
+                effectiveDate
+        );
 
         return savedEnrollment;
     }
@@ -0,0 +1,199 @@
+package com.insurai.insurai_backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.insurai.insurai_backend.model.Claim;
+import com.insurai.insurai_backend.model.Employee;
+import com.insurai.insurai_backend.repository.ClaimRepository;
+
+/**
+ * Per-employee fraud features maintained incrementally as claims are submitted.
+ *
+ * An employee's record is built once from their claim history on first use and
+ * then updated with every new claim, so fraud scoring no longer re-reads and
+ * re-scans the whole history. Records are kept in a bounded LRU map; evicted or
+ * invalidated employees are simply rebuilt on their next claim.
+ */
+@Component
+public class FraudFeatureStore {
+
+    private final ClaimRepository claimRepository;
+    private final Map<Long, EmployeeFraudFeatures> featuresByEmployee;
+
+    // Claims recorded for employees whose features are being loaded, keyed by employee id
+    private final Map<Long, List<Claim>> recordedDuringLoad = new HashMap<>();
+
+    public FraudFeatureStore(ClaimRepository claimRepository,
+                             @Value("${fraud.features.max-employees:10000}") int maxEmployees) {
+        this.claimRepository = claimRepository;
+        this.featuresByEmployee = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EmployeeFraudFeatures> eldest) {
+                return size() > maxEmployees;
+            }
+        };
+    }
+
+    /**
+     * Features of the employee, loaded from the claim history on first access.
+     */
+    public EmployeeFraudFeatures featuresFor(Employee employee) {
+        synchronized (featuresByEmployee) {
+            EmployeeFraudFeatures cached = featuresByEmployee.get(employee.getId());
+            if (cached != null) return cached;
+            recordedDuringLoad.putIfAbsent(employee.getId(), new ArrayList<>());
+        }
+
+        EmployeeFraudFeatures loaded = new EmployeeFraudFeatures();
+        try {
+            List<Claim> history = claimRepository.findByEmployee(employee);
+            history.forEach(loaded::add);
+        } catch (RuntimeException e) {
+            synchronized (featuresByEmployee) {
+                recordedDuringLoad.remove(employee.getId());
+            }
+            throw e;
+        }
+
+        synchronized (featuresByEmployee) {
+            // Claims saved while the history was read may or may not be in it; add() skips duplicates
+            List<Claim> recorded = recordedDuringLoad.remove(employee.getId());
+            if (recorded != null) {
+                recorded.forEach(loaded::add);
+            }
+            EmployeeFraudFeatures raced = featuresByEmployee.putIfAbsent(employee.getId(), loaded);
+            return raced != null ? raced : loaded;
+        }
+    }
+
+    /**
+     * Add a newly saved claim to its employee's features. If the features are being
+     * loaded, the claim is handed to the loader; if they are not loaded, this is a no-op.
+     */
+    public void record(Claim claim) {
+        if (claim.getEmployee() == null) return;
+        EmployeeFraudFeatures features;
+        synchronized (featuresByEmployee) {
+            features = featuresByEmployee.get(claim.getEmployee().getId());
+            if (features == null) {
+                List<Claim> loading = recordedDuringLoad.get(claim.getEmployee().getId());
+                if (loading != null) {
+                    loading.add(claim);
+                }
+            }
+        }
+        if (features != null) {
+            features.add(claim);
+        }
+    }
+
+    /**
+     * Drop the employee's features, e.g. after an existing claim was edited.
+     */
+    public void invalidate(Long employeeId) {
+        synchronized (featuresByEmployee) {
+            featuresByEmployee.remove(employeeId);
+        }
+    }
+
+    // -------------------- Feature record --------------------
+
+    /**
+     * Running aggregates over one employee's claims. Time-based counters only
+     * keep entries inside their window, so their size is bounded by the claim
+     * rate rather than by the length of the history.
+     */
+    public static class EmployeeFraudFeatures {
+
+        public static final int FREQUENCY_WINDOW_DAYS = 7;
+        public static final int PROCEDURE_WINDOW_DAYS = 30;
+
+        private double amountSum;
+        private long amountCount;
+
+        // Ids of the claims already counted, so a claim is never added twice
+        private final Set<Long> claimIds = new HashSet<>();
+
+        // (policyId, amount, claim date) of every claim
+        private final Set<String> claimSignatures = new HashSet<>();
+
+        // createdAt -> number of claims, last FREQUENCY_WINDOW_DAYS only
+        private final TreeMap<LocalDateTime, Integer> createdTimes = new TreeMap<>();
+
+        // lower-cased title -> (claimDate -> number of claims), last PROCEDURE_WINDOW_DAYS only
+        private final Map<String, TreeMap<LocalDateTime, Integer>> titleClaimDates = new HashMap<>();
+
+        synchronized void add(Claim claim) {
+            if (claim.getId() != null && !claimIds.add(claim.getId())) return;
+            LocalDateTime now = LocalDateTime.now();
+
+            if (claim.getAmount() != null) {
+                amountSum += claim.getAmount();
+                amountCount++;
+            }
+
+            if (claim.getPolicy() != null && claim.getClaimDate() != null) {
+                claimSignatures.add(signature(claim.getPolicy().getId(), claim.getAmount(), claim.getClaimDate().toLocalDate()));
+            }
+
+            if (claim.getCreatedAt() != null
+                    && claim.getCreatedAt().isAfter(now.minusDays(FREQUENCY_WINDOW_DAYS))) {
+                createdTimes.merge(claim.getCreatedAt(), 1, Integer::sum);
+            }
+
+            if (claim.getTitle() != null && claim.getClaimDate() != null
+                    && claim.getClaimDate().isAfter(now.minusDays(PROCEDURE_WINDOW_DAYS))) {
+                titleClaimDates.computeIfAbsent(titleKey(claim.getTitle()), k -> new TreeMap<>())
+                        .merge(claim.getClaimDate(), 1, Integer::sum);
+            }
+        }
+
+        public synchronized boolean hasClaimWithSignature(Long policyId, Double amount, LocalDate claimDate) {
+            return claimSignatures.contains(signature(policyId, amount, claimDate));
+        }
+
+        public synchronized long claimsCreatedAfter(LocalDateTime since) {
+            createdTimes.headMap(since, true).clear();
+            return sum(createdTimes);
+        }
+
+        public synchronized long claimsWithTitleDatedAfter(String title, LocalDateTime since) {
+            if (title == null) return 0;
+            TreeMap<LocalDateTime, Integer> dates = titleClaimDates.get(titleKey(title));
+            if (dates == null) return 0;
+            dates.headMap(since, true).clear();
+            return sum(dates);
+        }
+
+        public synchronized double averageAmount() {
+            return amountCount > 0 ? amountSum / amountCount : 0;
+        }
+
+        private static long sum(Map<LocalDateTime, Integer> counts) {
+            long total = 0;
+            for (int count : counts.values()) total += count;
+            return total;
+        }
+
+        private static String signature(Long policyId, Double amount, LocalDate claimDate) {
+            return policyId + "|" + amount + "|" + claimDate;
+        }
+
+        private static String titleKey(String title) {
+            return title.toLowerCase(Locale.ROOT);
+        }
+    }
+}
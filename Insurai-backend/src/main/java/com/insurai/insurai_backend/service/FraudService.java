@@ -2,24 +2,31 @@ package com.insurai.insurai_backend.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 
 import org.springframework.stereotype.Service;
 
 import com.insurai.insurai_backend.model.Claim;
+import com.insurai.insurai_backend.service.FraudFeatureStore.EmployeeFraudFeatures;
 
 @Service
 public class FraudService {
 
+    private final DocumentFingerprintService documentFingerprintService;
+
+    public FraudService(DocumentFingerprintService documentFingerprintService) {
+        this.documentFingerprintService = documentFingerprintService;
+    }
+
     /**
      * Run fraud detection rules for a claim
      *
-     * @param claim          Claim to evaluate
-     * @param employeeClaims List of all previous claims by this employee
+     * @param claim    Claim to evaluate
+     * @param features Aggregated features of the employee's previous claims
      */
-    public void runFraudDetection(Claim claim, List<Claim> employeeClaims) {
+    public void runFraudDetection(Claim claim, EmployeeFraudFeatures features) {
         StringBuilder reasons = new StringBuilder();
         boolean fraud = false;
+        LocalDateTime now = LocalDateTime.now();
 
         // Convert claim date to LocalDate for easier comparison
         LocalDate claimDate = claim.getClaimDate().toLocalDate();
@@ -27,20 +34,13 @@ public class FraudService {
         LocalDate policyEnd = claim.getPolicy().getRenewalDate(); // Replace with getEndDate() if available
 
         // 1. Duplicate claim: same policy, same amount, same date
-        for (Claim c : employeeClaims) {
-            if (c.getPolicy().getId().equals(claim.getPolicy().getId())
-                    && c.getAmount().equals(claim.getAmount())
-                    && c.getClaimDate().toLocalDate().equals(claimDate)) {
-                fraud = true;
-                reasons.append("Duplicate claim; ");
-                break;
-            }
+        if (features.hasClaimWithSignature(claim.getPolicy().getId(), claim.getAmount(), claimDate)) {
+            fraud = true;
+            reasons.append("Duplicate claim; ");
         }
 
         // 2. Frequent claims: more than 3 claims in last 7 days
-        long recentCount = employeeClaims.stream()
-                .filter(c -> c.getCreatedAt().isAfter(LocalDateTime.now().minusDays(7)))
-                .count();
+        long recentCount = features.claimsCreatedAfter(now.minusDays(EmployeeFraudFeatures.FREQUENCY_WINDOW_DAYS));
         if (recentCount >= 3) {
             fraud = true;
             reasons.append("Frequent claims; ");
@@ -53,32 +53,22 @@ public class FraudService {
             reasons.append("Invalid claim date; ");
         }
 
-        // 4. Reused documents
-        if (claim.getDocuments() != null) {
-            boolean reused = employeeClaims.stream()
-                    .filter(c -> c.getDocuments() != null)
-                    .flatMap(c -> c.getDocuments().stream())
-                    .anyMatch(doc -> claim.getDocuments().stream()
-                            .anyMatch(d -> d.trim().equalsIgnoreCase(doc.trim())));
-            if (reused) {
-                fraud = true;
-                reasons.append("Reused document; ");
-            }
+        // 4. Reused documents: same file content already uploaded with any earlier claim
+        if (documentFingerprintService.anyKnown(claim.getDocumentHashes())) {
+            fraud = true;
+            reasons.append("Reused document; ");
         }
 
         // 5. Unusual pattern / sudden spike in claim amount
-        double avgAmount = employeeClaims.stream().mapToDouble(Claim::getAmount).average().orElse(0);
+        double avgAmount = features.averageAmount();
         if (avgAmount > 0 && claim.getAmount() > avgAmount * 3) {
             fraud = true;
             reasons.append("Unusual amount spike; ");
         }
 
         // 6. Same procedure repeatedly (multiple claims for same title in 30 days)
-        long sameProcedureCount = employeeClaims.stream()
-                .filter(c -> c.getTitle() != null 
-                        && c.getTitle().equalsIgnoreCase(claim.getTitle())
-                        && c.getClaimDate().isAfter(LocalDateTime.now().minusDays(30)))
-                .count();
+        long sameProcedureCount = features.claimsWithTitleDatedAfter(
+                claim.getTitle(), now.minusDays(EmployeeFraudFeatures.PROCEDURE_WINDOW_DAYS));
         if (sameProcedureCount >= 2) {
             fraud = true;
             reasons.append("Repeated procedure; ");
@@ -0,0 +1,18 @@
+package com.insurai.insurai_backend.service;
+
+import java.util.Optional;
+
+import com.insurai.insurai_backend.model.Claim;
+
+/**
+ * Decides which HR reviews a newly submitted claim.
+ * Register another bean of this type (marked @Primary) to change the policy.
+ */
+public interface HrAssignmentStrategy {
+
+    /**
+     * @param claim claim being submitted (not yet saved)
+     * @return id of the HR to assign, or empty when no HR is available
+     */
+    Optional<Long> selectHrId(Claim claim);
+}
@@ -6,6 +6,7 @@ import java.util.Optional;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
 import com.insurai.insurai_backend.model.Employee;
 import com.insurai.insurai_backend.model.Hr;
 import com.insurai.insurai_backend.model.RegisterRequest;
@@ -21,6 +22,8 @@ public class HrService {
     private final HrRepository hrRepository;
     private final EmployeeRepository employeeRepository; // added for fetching employee name
     private final PasswordEncoder passwordEncoder;
+    private final HrWorkloadIndex hrWorkloadIndex;
+    private final AuthenticatedUserResolver userResolver;
 
     // -------------------- Register HR --------------------
     public Hr registerHR(RegisterRequest request) {
@@ -31,7 +34,11 @@ public class HrService {
         hr.setHrId(request.getHrId());
         hr.setPassword(passwordEncoder.encode(request.getPassword()));
 
-        return hrRepository.save(hr);
+        Hr savedHr = hrRepository.save(hr);
+        hrWorkloadIndex.registerHr(savedHr);
+        // Identities cached under this email must not outlive the account they were loaded from
+        userResolver.invalidate(savedHr.getEmail());
+        return savedHr;
     }
 
     // -------------------- Find HR by email --------------------
@@ -39,6 +46,11 @@ public class HrService {
         return hrRepository.findByEmail(email);
     }
 
+    // -------------------- Find HR by ID --------------------
+    public Optional<Hr> findById(Long id) {
+        return hrRepository.findById(id);
+    }
+
     // -------------------- Validate HR credentials --------------------
     public boolean validateCredentials(String email, String rawPassword) {
         Optional<Hr> optionalHr = hrRepository.findByEmail(email);
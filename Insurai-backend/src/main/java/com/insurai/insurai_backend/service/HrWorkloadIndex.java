@@ -0,0 +1,208 @@
+package com.insurai.insurai_backend.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.insurai.insurai_backend.model.Hr;
+import com.insurai.insurai_backend.repository.ClaimRepository;
+import com.insurai.insurai_backend.repository.HrRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of pending claims per HR.
+ *
+ * HRs are kept ordered by (pending count, id) so the least loaded HR can be
+ * found and updated in O(log n) without querying the database. Each entry keeps
+ * the HR entity, so assigning a claim needs no HR lookup either. The index is
+ * rebuilt from the database on startup and periodically re-synced to absorb
+ * drift (e.g. HR rows inserted directly in the database).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HrWorkloadIndex {
+
+    private static final String PENDING = "Pending";
+
+    private final ClaimRepository claimRepository;
+    private final HrRepository hrRepository;
+
+    private Map<Long, Workload> workloadByHr = new HashMap<>();
+    private TreeSet<Workload> ordered = new TreeSet<>();
+
+    // One rebuild at a time; the index itself stays available while it reads the database
+    private final Object rebuildLock = new Object();
+
+    // Changes made while a rebuild reads the database (null otherwise), applied on top of its snapshot
+    private Map<Long, Integer> deltasDuringRebuild;
+    private Map<Long, Hr> registeredDuringRebuild;
+
+    // -------------------- Rebuild --------------------
+
+    /**
+     * Rebuild the index from the database on startup and on a fixed schedule.
+     *
+     * The queries run outside the index lock. Assignments, resolutions and new HRs
+     * recorded meanwhile are folded into the fresh snapshot before it is swapped in,
+     * so they are not lost to it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${claims.assignment.resync-interval-ms:600000}",
+               fixedDelayString = "${claims.assignment.resync-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                deltasDuringRebuild = new HashMap<>();
+                registeredDuringRebuild = new HashMap<>();
+            }
+
+            Map<Long, Workload> newByHr = new HashMap<>();
+            TreeSet<Workload> newOrdered = new TreeSet<>();
+            try {
+                List<Hr> hrs = hrRepository.findAll();
+                Map<Long, Integer> counts = new HashMap<>();
+                for (Object[] row : claimRepository.countByStatusGroupedByAssignedHr(PENDING)) {
+                    counts.put((Long) row[0], ((Number) row[1]).intValue());
+                }
+                for (Hr hr : hrs) {
+                    put(newByHr, newOrdered, hr, counts.getOrDefault(hr.getId(), 0));
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    deltasDuringRebuild = null;
+                    registeredDuringRebuild = null;
+                }
+                throw e;
+            }
+
+            int size;
+            synchronized (this) {
+                for (Hr hr : registeredDuringRebuild.values()) {
+                    Workload workload = newByHr.get(hr.getId());
+                    put(newByHr, newOrdered, hr, workload != null ? workload.pending : 0);
+                }
+                deltasDuringRebuild.forEach((hrId, delta) -> {
+                    Workload workload = newByHr.get(hrId);
+                    if (workload != null) {
+                        put(newByHr, newOrdered, workload.hr, Math.max(0, workload.pending + delta));
+                    }
+                });
+                deltasDuringRebuild = null;
+                registeredDuringRebuild = null;
+
+                workloadByHr = newByHr;
+                ordered = newOrdered;
+                size = newByHr.size();
+            }
+            log.info("HR workload index rebuilt for {} HRs", size);
+        }
+    }
+
+    // -------------------- Lookups --------------------
+
+    /**
+     * HR with the fewest pending claims (ties broken by lowest id).
+     */
+    public synchronized Optional<Long> leastLoadedHrId() {
+        return ordered.isEmpty() ? Optional.empty() : Optional.of(ordered.first().hr.getId());
+    }
+
+    /**
+     * The indexed HR entity (detached; refreshed on every rebuild).
+     */
+    public synchronized Optional<Hr> hr(Long hrId) {
+        Workload workload = hrId != null ? workloadByHr.get(hrId) : null;
+        return workload != null ? Optional.of(workload.hr) : Optional.empty();
+    }
+
+    public synchronized int pendingCount(Long hrId) {
+        Workload workload = workloadByHr.get(hrId);
+        return workload != null ? workload.pending : 0;
+    }
+
+    // -------------------- Updates --------------------
+
+    public synchronized void registerHr(Hr hr) {
+        if (hr == null || hr.getId() == null) return;
+        Workload workload = workloadByHr.get(hr.getId());
+        put(hr, workload != null ? workload.pending : 0);
+        if (registeredDuringRebuild != null) {
+            registeredDuringRebuild.put(hr.getId(), hr);
+        }
+    }
+
+    /**
+     * A pending claim was assigned to the HR.
+     */
+    public synchronized void claimAssigned(Long hrId) {
+        if (hrId == null) return;
+        Workload workload = workloadByHr.get(hrId);
+        if (workload != null) {
+            put(workload.hr, workload.pending + 1);
+        }
+        recordDelta(hrId, 1);
+    }
+
+    /**
+     * A pending claim of the HR left the Pending state (approved/rejected).
+     */
+    public synchronized void claimResolved(Long hrId) {
+        Workload workload = hrId != null ? workloadByHr.get(hrId) : null;
+        if (workload != null) {
+            put(workload.hr, Math.max(0, workload.pending - 1));
+        }
+        if (hrId != null) {
+            recordDelta(hrId, -1);
+        }
+    }
+
+    private void recordDelta(Long hrId, int delta) {
+        if (deltasDuringRebuild != null) {
+            deltasDuringRebuild.merge(hrId, delta, Integer::sum);
+        }
+    }
+
+    private void put(Hr hr, int pending) {
+        put(workloadByHr, ordered, hr, pending);
+    }
+
+    private static void put(Map<Long, Workload> byHr, TreeSet<Workload> ordered, Hr hr, int pending) {
+        Workload previous = byHr.get(hr.getId());
+        if (previous != null) {
+            ordered.remove(previous);
+        }
+        Workload workload = new Workload(hr, pending);
+        byHr.put(hr.getId(), workload);
+        ordered.add(workload);
+    }
+
+    // -------------------- Entry --------------------
+
+    private static final class Workload implements Comparable<Workload> {
+        private final Hr hr;
+        private final long hrId;
+        private final int pending;
+
+        private Workload(Hr hr, int pending) {
+            this.hr = hr;
+            this.hrId = hr.getId();
+            this.pending = pending;
+        }
+
+        @Override
+        public int compareTo(Workload other) {
+            int byPending = Integer.compare(pending, other.pending);
+            return byPending != 0 ? byPending : Long.compare(hrId, other.hrId);
+        }
+    }
+}
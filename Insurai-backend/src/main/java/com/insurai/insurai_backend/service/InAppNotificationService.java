@@ -1,11 +1,24 @@
 package com.insurai.insurai_backend.service;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.insurai.insurai_backend.model.Claim;
 import com.insurai.insurai_backend.model.Hr;
@@ -18,6 +31,25 @@ public class InAppNotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationPushService notificationPushService;
+
+    @Autowired
+    private NotificationInboxCache inboxCache;
+
+    @Autowired
+    private NotificationFeedService feedService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.bulk-insert.batch-size:1000}")
+    private int bulkInsertBatchSize;
+
+    private static final String BULK_INSERT_SQL =
+            "INSERT INTO notifications (title, message, target_role, target_id, notification_type, read_status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, false, ?, ?)";
+
     // ------------------ Create Notifications ------------------
 
     public Notification createNotification(String title, String message, Long targetId, String targetRole, String notificationType) {
@@ -33,7 +65,85 @@ public class InAppNotificationService {
         notification.setCreatedAt(LocalDateTime.now());
         notification.setUpdatedAt(LocalDateTime.now());
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        inboxCache.created(saved);
+        notificationPushService.publish(saved);
+        return saved;
+    }
+
+    /**
+     * Create the same notification for many users of one role (renewal and expiry fan-out).
+     * Rows are written with JDBC batches of notifications.bulk-insert.batch-size, which the
+     * MySQL driver rewrites into multi-row INSERTs, all in one transaction (the caller's, if any).
+     *
+     * @return number of notifications created
+     */
+    @Transactional
+    public int createNotifications(String title, String message, Collection<Long> targetIds, String targetRole, String notificationType) {
+        if (targetIds == null || targetRole == null) return 0; // safety check
+
+        List<Long> recipients = targetIds.stream().filter(Objects::nonNull).toList();
+        String type = notificationType != null ? notificationType : "GENERAL";
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int from = 0; from < recipients.size(); from += bulkInsertBatchSize) {
+            List<Long> chunk = recipients.subList(from, Math.min(from + bulkInsertBatchSize, recipients.size()));
+            List<Long> ids = insertBatch(title, message, chunk, targetRole, type, now);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                Notification notification = new Notification();
+                notification.setId(i < ids.size() ? ids.get(i) : null);
+                notification.setTitle(title);
+                notification.setMessage(message);
+                notification.setTargetId(chunk.get(i));
+                notification.setTargetRole(targetRole);
+                notification.setNotificationType(type);
+                notification.setReadStatus(false);
+                notification.setCreatedAt(now);
+                notification.setUpdatedAt(now);
+
+                if (notification.getId() != null) {
+                    inboxCache.created(notification);
+                    notificationPushService.publish(notification);
+                } else {
+                    inboxCache.invalidate(notification.getTargetId(), targetRole);
+                }
+            }
+        }
+        return recipients.size();
+    }
+
+    // One JDBC batch; returns the generated ids in row order
+    private List<Long> insertBatch(String title, String message, List<Long> targetIds, String targetRole,
+                                   String type, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(BULK_INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, title);
+                        ps.setString(2, message);
+                        ps.setString(3, targetRole);
+                        ps.setLong(4, targetIds.get(i));
+                        ps.setString(5, type);
+                        ps.setTimestamp(6, timestamp);
+                        ps.setTimestamp(7, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return targetIds.size();
+                    }
+                },
+                keyHolder);
+
+        return keyHolder.getKeyList().stream()
+                .map(Map::values)
+                .map(values -> ((Number) values.iterator().next()).longValue())
+                .toList();
     }
 
     public Notification createClaimApprovedNotification(Claim claim) {
@@ -82,12 +192,22 @@ public class InAppNotificationService {
         return notificationRepository.findByTargetIdAndReadStatusFalseOrderByCreatedAtDesc(userId);
     }
 
+    // Personal notifications merged with the role's broadcasts, read state per user
     public List<Notification> getNotificationsByUserIdAndRole(Long userId, String role) {
-        return notificationRepository.findByTargetIdAndTargetRoleOrderByCreatedAtDesc(userId, role);
+        return feedService.feed(userId, role, false, 0);
     }
 
     public List<Notification> getUnreadNotificationsByUserIdAndRole(Long userId, String role) {
-        return notificationRepository.findByTargetIdAndTargetRoleAndReadStatusFalseOrderByCreatedAtDesc(userId, role);
+        return feedService.feed(userId, role, true, 0);
+    }
+
+    // Badge and dropdown reads, answered from the inbox cache
+    public long getUnreadCount(Long userId, String role) {
+        return inboxCache.unreadCount(userId, role);
+    }
+
+    public List<Notification> getLatestNotifications(Long userId, String role) {
+        return inboxCache.latest(userId, role);
     }
 
     public List<Notification> getNotificationsByRole(String role) {
@@ -105,14 +225,37 @@ public class InAppNotificationService {
      * Ensures numeric ID compatibility and logs if notification not found
      */
     public Notification markAsRead(Long notificationId) {
+        return markAsRead(notificationId, null, null);
+    }
+
+    /**
+     * Mark notification as read for a user.
+     * Role broadcasts are shared rows, so for them only the user's read watermark moves.
+     *
+     * @throws AccessDeniedException for a broadcast when the caller is not a user of its role
+     */
+    public Notification markAsRead(Long notificationId, Long userId, String role) {
         if (notificationId == null) return null;
 
         Optional<Notification> optional = notificationRepository.findById(notificationId);
         if (optional.isPresent()) {
             Notification notification = optional.get();
+            if (notification.getTargetId() == null) {
+                if (userId == null || role == null || !role.equalsIgnoreCase(notification.getTargetRole())) {
+                    throw new AccessDeniedException(
+                            "Broadcast notification " + notificationId + " can only be marked read by a user of its role");
+                }
+                Notification read = feedService.markBroadcastRead(notification, userId, role);
+                inboxCache.broadcastsRead(userId, role);
+                return read;
+            }
+
+            boolean wasUnread = !notification.isReadStatus();
             notification.setReadStatus(true);
             notification.setUpdatedAt(LocalDateTime.now());
-            return notificationRepository.save(notification);
+            Notification saved = notificationRepository.save(notification);
+            inboxCache.markedRead(saved, wasUnread);
+            return saved;
         } else {
             System.out.println("Notification ID not found: " + notificationId);
             return null;
@@ -123,9 +266,12 @@ public class InAppNotificationService {
      * Delete a notification
      */
     public void deleteNotification(Long notificationId) {
-        if (notificationId != null && notificationRepository.existsById(notificationId)) {
-            notificationRepository.deleteById(notificationId);
-        }
+        if (notificationId == null) return;
+
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            inboxCache.deleted(notification);
+        });
     }
 
     /**
@@ -145,6 +291,9 @@ public class InAppNotificationService {
         notification.setCreatedAt(LocalDateTime.now());
         notification.setUpdatedAt(LocalDateTime.now());
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        inboxCache.created(saved);
+        notificationPushService.publish(saved);
+        return saved;
     }
 }
@@ -0,0 +1,24 @@
+package com.insurai.insurai_backend.service;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.insurai.insurai_backend.model.Claim;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Default strategy: assign the claim to the HR with the fewest pending claims.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeastPendingClaimsAssignmentStrategy implements HrAssignmentStrategy {
+
+    private final HrWorkloadIndex hrWorkloadIndex;
+
+    @Override
+    public Optional<Long> selectHrId(Claim claim) {
+        return hrWorkloadIndex.leastLoadedHrId();
+    }
+}
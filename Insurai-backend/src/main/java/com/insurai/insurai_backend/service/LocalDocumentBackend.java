@@ -0,0 +1,78 @@
+package com.insurai.insurai_backend.service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Document blobs on the local filesystem, sharded by hash prefix (ab/cd/abcd...)
+ * so no directory grows beyond a few thousand entries. The root must not be served
+ * statically; documents are only readable through the ownership-checked download endpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "documents.store.backend", havingValue = "local", matchIfMissing = true)
+public class LocalDocumentBackend implements DocumentBackend {
+
+    private final Path root;
+
+    public LocalDocumentBackend(@Value("${documents.store.local.root:./data/document-store}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    Path pathOf(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    @Override
+    public boolean exists(String sha256) {
+        return Files.exists(pathOf(sha256));
+    }
+
+    @Override
+    public void put(String sha256, Path content, String contentType) throws IOException {
+        Path target = pathOf(sha256);
+        Files.createDirectories(target.getParent());
+        try {
+            // Readers never see a partial file; a concurrent put of the same content writes identical bytes
+            Files.move(content, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(content, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void delete(String sha256) throws IOException {
+        Files.deleteIfExists(pathOf(sha256));
+    }
+
+    @Override
+    public Optional<Path> localPath(String sha256) {
+        Path path = pathOf(sha256);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    @Override
+    public void transferTo(String sha256, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathOf(sha256), StandardOpenOption.READ)) {
+            long offset = position;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(offset, remaining, target);
+                if (sent <= 0) break;
+                offset += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
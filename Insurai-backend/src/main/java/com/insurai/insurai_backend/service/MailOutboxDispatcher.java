@@ -0,0 +1,170 @@
+package com.insurai.insurai_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.insurai.insurai_backend.model.MailOutboxMessage;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the mail outbox in the background.
+ *
+ * Each poll claims at most (free workers x batch size) due messages and hands
+ * them to a bounded worker pool in batches. A batch is sent with a single
+ * JavaMailSender.send(MimeMessage...) call, which reuses one SMTP connection for
+ * all of its messages. Failed messages are retried with exponential backoff by
+ * MailOutboxService.
+ */
+@Component
+@Slf4j
+public class MailOutboxDispatcher {
+
+    private final MailOutboxService mailOutboxService;
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final long staleAfterMs;
+    private final Semaphore freeWorkers;
+    private final ThreadPoolExecutor executor;
+
+    public MailOutboxDispatcher(MailOutboxService mailOutboxService,
+                                JavaMailSender mailSender,
+                                @Value("${mail.outbox.workers:2}") int workers,
+                                @Value("${mail.outbox.batch-size:20}") int batchSize,
+                                @Value("${mail.outbox.stale-after-ms:300000}") long staleAfterMs) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.staleAfterMs = staleAfterMs;
+        this.freeWorkers = new Semaphore(workers);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(workers), runnable -> {
+                    Thread thread = new Thread(runnable, "mail-outbox-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // -------------------- Polling --------------------
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        int permits = freeWorkers.drainPermits();
+        if (permits == 0) return;
+
+        List<MailOutboxMessage> claimed;
+        try {
+            claimed = mailOutboxService.claimDueMessages(permits * batchSize);
+        } catch (Exception e) {
+            freeWorkers.release(permits);
+            log.error("Failed to claim mail outbox messages: {}", e.getMessage());
+            return;
+        }
+
+        int used = 0;
+        for (int from = 0; from < claimed.size(); from += batchSize) {
+            List<MailOutboxMessage> batch = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+            used++;
+            executor.execute(() -> {
+                try {
+                    deliver(batch);
+                } catch (Exception e) {
+                    log.error("Mail outbox batch failed: {}", e.getMessage());
+                } finally {
+                    freeWorkers.release();
+                }
+            });
+        }
+        freeWorkers.release(permits - used);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.stale-check-interval-ms:60000}")
+    public void releaseStaleMessages() {
+        int released = mailOutboxService.releaseStaleMessages(LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000));
+        if (released > 0) {
+            log.warn("Returned {} stale mail outbox messages to the queue", released);
+        }
+    }
+
+    // -------------------- Delivery --------------------
+
+    private void deliver(List<MailOutboxMessage> batch) {
+        Map<MimeMessage, Long> idsByMessage = new IdentityHashMap<>();
+        Map<Long, String> errors = new HashMap<>();
+        List<Long> sent = new ArrayList<>();
+
+        for (MailOutboxMessage message : batch) {
+            try {
+                idsByMessage.put(toMimeMessage(message), message.getId());
+            } catch (MessagingException e) {
+                errors.put(message.getId(), e.getMessage());
+            }
+        }
+
+        if (!idsByMessage.isEmpty()) {
+            try {
+                mailSender.send(idsByMessage.keySet().toArray(new MimeMessage[0]));
+                sent.addAll(idsByMessage.values());
+            } catch (MailSendException e) {
+                Map<Object, Exception> failed = e.getFailedMessages();
+                idsByMessage.forEach((mimeMessage, id) -> {
+                    if (failed.containsKey(mimeMessage)) {
+                        errors.put(id, failed.get(mimeMessage).getMessage());
+                    } else {
+                        sent.add(id);
+                    }
+                });
+            } catch (MailException e) {
+                idsByMessage.values().forEach(id -> errors.put(id, e.getMessage()));
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            mailOutboxService.markSent(sent);
+            log.info("✅ Mail outbox delivered {} message(s)", sent.size());
+        }
+        if (!errors.isEmpty()) {
+            mailOutboxService.markFailed(errors);
+            log.warn("❌ Mail outbox failed to deliver {} message(s), will retry", errors.size());
+        }
+    }
+
+    private MimeMessage toMimeMessage(MailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getHtmlBody(), true);
+        return mimeMessage;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.insurai.insurai_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes delivered emails from mail_outbox once they are older than the retention.
+ *
+ * Only SENT rows go; PENDING, SENDING and FAILED rows stay for the dispatcher and for
+ * inspection. Rows are deleted by primary key in small batches, each in its own short
+ * transaction, so the dispatcher's claim queries are never blocked for long.
+ */
+@Component
+@Slf4j
+public class MailOutboxRetentionJob {
+
+    private static final String SELECT_BATCH_SQL =
+            "SELECT id FROM mail_outbox WHERE status = 'SENT' AND sent_at < :cutoff ORDER BY id LIMIT :limit";
+
+    private static final String DELETE_SQL = "DELETE FROM mail_outbox WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long pauseMs;
+
+    public MailOutboxRetentionJob(NamedParameterJdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${mail.outbox.retention.days:30}") int retentionDays,
+                                  @Value("${mail.outbox.retention.batch-size:1000}") int batchSize,
+                                  @Value("${mail.outbox.retention.pause-ms:100}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    // -------------------- Scheduled run --------------------
+
+    @Scheduled(cron = "${mail.outbox.retention.cron:0 45 2 * * *}")
+    public void deleteSentMessages() {
+        if (retentionDays <= 0) return; // kept forever
+        int deleted = deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Deleted {} sent mail outbox messages", deleted);
+        }
+    }
+
+    /**
+     * Delete SENT messages sent before the cutoff, batch by batch.
+     */
+    public int deleteSentBefore(LocalDateTime cutoff) {
+        MapSqlParameterSource selectParams = new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize);
+
+        int deleted = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, selectParams, Long.class);
+            if (ids.isEmpty()) break;
+
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids)));
+            deleted += ids.size();
+
+            if (ids.size() < batchSize) break;
+            pause();
+        }
+        return deleted;
+    }
+
+    // Gives the outbox table room between batches
+    private void pause() {
+        if (pauseMs <= 0) return;
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.insurai.insurai_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.insurai.insurai_backend.model.MailOutboxMessage;
+import com.insurai.insurai_backend.repository.MailOutboxRepository;
+
+/**
+ * Transactional outbox for outgoing email.
+ *
+ * enqueue() only inserts a row, joining the caller's transaction when there is
+ * one, so the email is committed (or rolled back) together with the change that
+ * triggered it. MailOutboxDispatcher delivers the rows in the background.
+ */
+@Service
+public class MailOutboxService {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+
+    public MailOutboxService(MailOutboxRepository mailOutboxRepository,
+                             @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+                             @Value("${mail.outbox.backoff-base-ms:30000}") long backoffBaseMs,
+                             @Value("${mail.outbox.backoff-max-ms:3600000}") long backoffMaxMs) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+    }
+
+    // -------------------- Producer side --------------------
+
+    public MailOutboxMessage enqueue(String to, String subject, String htmlBody) {
+        return mailOutboxRepository.save(new MailOutboxMessage(to, subject, htmlBody));
+    }
+
+    // -------------------- Dispatcher side --------------------
+
+    /**
+     * Claim up to {@code limit} due messages by moving them to SENDING.
+     */
+    @Transactional
+    public List<MailOutboxMessage> claimDueMessages(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxMessage> due = mailOutboxRepository.findDueForUpdate(now, PageRequest.of(0, limit));
+        for (MailOutboxMessage message : due) {
+            message.setStatus(MailOutboxMessage.SENDING);
+            message.setLockedAt(now);
+        }
+        return mailOutboxRepository.saveAll(due);
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxMessage> messages = mailOutboxRepository.findAllById(ids);
+        for (MailOutboxMessage message : messages) {
+            message.setStatus(MailOutboxMessage.SENT);
+            message.setAttempts(message.getAttempts() + 1);
+            message.setSentAt(now);
+            message.setLockedAt(null);
+            message.setLastError(null);
+        }
+        mailOutboxRepository.saveAll(messages);
+    }
+
+    /**
+     * Schedule a retry with exponential backoff, or give up after max attempts.
+     *
+     * @param errors message id -> error description
+     */
+    @Transactional
+    public void markFailed(Map<Long, String> errors) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxMessage> messages = mailOutboxRepository.findAllById(errors.keySet());
+        for (MailOutboxMessage message : messages) {
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setLockedAt(null);
+            message.setLastError(truncate(errors.get(message.getId())));
+            if (attempts >= maxAttempts) {
+                message.setStatus(MailOutboxMessage.FAILED);
+            } else {
+                long delay = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempts - 1, 20));
+                message.setStatus(MailOutboxMessage.PENDING);
+                message.setNextAttemptAt(now.plusNanos(delay * 1_000_000));
+            }
+        }
+        mailOutboxRepository.saveAll(messages);
+    }
+
+    @Transactional
+    public int releaseStaleMessages(LocalDateTime lockedBefore) {
+        return mailOutboxRepository.releaseStale(lockedBefore);
+    }
+
+    private String truncate(String error) {
+        if (error == null) return null;
+        return error.length() > 2000 ? error.substring(0, 2000) : error;
+    }
+}
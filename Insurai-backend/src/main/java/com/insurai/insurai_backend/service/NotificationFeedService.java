@@ -0,0 +1,133 @@
+package com.insurai.insurai_backend.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.insurai.insurai_backend.model.Notification;
+import com.insurai.insurai_backend.model.NotificationReadWatermark;
+import com.insurai.insurai_backend.repository.NotificationReadWatermarkRepository;
+import com.insurai.insurai_backend.repository.NotificationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A user's inbox as seen at read time: personal notifications merged with the
+ * role's broadcasts.
+ *
+ * A broadcast is stored once (targetId = null) and fanned out on read. Its read
+ * state is per user, from the user's NotificationReadWatermark, and is applied
+ * to copies so the shared row is never modified.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationFeedService {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationReadWatermarkRepository watermarkRepository;
+
+    // -------------------- Reads --------------------
+
+    /**
+     * Personal notifications and role broadcasts for a user, newest first.
+     *
+     * @param limit maximum number of entries, or 0 for all
+     */
+    public List<Notification> feed(Long userId, String role, boolean unreadOnly, int limit) {
+        Pageable page = limit > 0 ? PageRequest.of(0, limit) : Pageable.unpaged();
+        long watermark = watermark(userId, role);
+
+        List<Notification> personal = unreadOnly
+                ? notificationRepository.findByTargetIdAndTargetRoleAndReadStatusFalseOrderByIdDesc(userId, role, page)
+                : notificationRepository.findByTargetIdAndTargetRoleOrderByIdDesc(userId, role, page);
+
+        List<Notification> broadcasts = notificationRepository
+                .findByTargetIdIsNullAndTargetRoleAndIdGreaterThanOrderByIdDesc(role, unreadOnly ? watermark : 0L, page)
+                .stream()
+                .map(b -> withReadStatus(b, b.getId() <= watermark))
+                .toList();
+
+        return mergeNewestFirst(List.of(personal, broadcasts), limit);
+    }
+
+    public long unreadCount(Long userId, String role) {
+        return notificationRepository.countByTargetIdAndTargetRoleAndReadStatusFalse(userId, role)
+                + notificationRepository.countByTargetIdIsNullAndTargetRoleAndIdGreaterThan(role, watermark(userId, role));
+    }
+
+    private long watermark(Long userId, String role) {
+        return watermarkRepository.findByUserIdAndRole(userId, role.toUpperCase())
+                .map(NotificationReadWatermark::getLastReadId)
+                .orElse(0L);
+    }
+
+    // -------------------- Read state --------------------
+
+    /**
+     * Mark a broadcast read for one user. The watermark moves up to the broadcast,
+     * so older broadcasts of the role count as read too.
+     */
+    public Notification markBroadcastRead(Notification broadcast, Long userId, String role) {
+        watermarkRepository.advance(userId, role.toUpperCase(), broadcast.getId());
+        return withReadStatus(broadcast, true);
+    }
+
+    /**
+     * Detached copy of a notification with a per-user read status.
+     */
+    public static Notification withReadStatus(Notification source, boolean read) {
+        Notification copy = new Notification();
+        copy.setId(source.getId());
+        copy.setTitle(source.getTitle());
+        copy.setMessage(source.getMessage());
+        copy.setTargetRole(source.getTargetRole());
+        copy.setTargetId(source.getTargetId());
+        copy.setNotificationType(source.getNotificationType());
+        copy.setReadStatus(read);
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+
+    // -------------------- Merge --------------------
+
+    /**
+     * k-way merge of lists that are each sorted newest first (id descending).
+     */
+    static List<Notification> mergeNewestFirst(List<List<Notification>> sources, int limit) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>((a, b) -> Long.compare(b.head.getId(), a.head.getId()));
+        int total = 0;
+        for (List<Notification> source : sources) {
+            total += source.size();
+            Iterator<Notification> it = source.iterator();
+            if (it.hasNext()) heap.add(new Cursor(it.next(), it));
+        }
+
+        int max = limit > 0 ? Math.min(limit, total) : total;
+        List<Notification> merged = new ArrayList<>(max);
+        while (merged.size() < max) {
+            Cursor cursor = heap.poll();
+            merged.add(cursor.head);
+            if (cursor.rest.hasNext()) {
+                cursor.head = cursor.rest.next();
+                heap.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static class Cursor {
+        private Notification head;
+        private final Iterator<Notification> rest;
+
+        private Cursor(Notification head, Iterator<Notification> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.insurai.insurai_backend.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.insurai.insurai_backend.model.Notification;
+
+/**
+ * Per-(targetId, role) inbox summary: unread count plus the newest N notifications,
+ * role broadcasts included (see NotificationFeedService).
+ *
+ * An inbox is loaded from the database on first access and then kept in step by
+ * InAppNotificationService (create, mark as read, delete), so badge and dropdown
+ * requests are answered from memory. Changes made inside a transaction are applied
+ * after it commits. The number of cached inboxes is bounded with LRU eviction.
+ */
+@Component
+public class NotificationInboxCache {
+
+    private final NotificationFeedService feedService;
+    private final int headSize;
+    private final Map<String, Inbox> inboxes;
+    private long modifications; // guarded by inboxes
+
+    public NotificationInboxCache(NotificationFeedService feedService,
+                                  @Value("${notifications.inbox-cache.head-size:10}") int headSize,
+                                  @Value("${notifications.inbox-cache.max-inboxes:10000}") int maxInboxes) {
+        this.feedService = feedService;
+        this.headSize = headSize;
+        this.inboxes = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Inbox> eldest) {
+                return size() > maxInboxes;
+            }
+        };
+    }
+
+    // -------------------- Reads --------------------
+
+    public long unreadCount(Long targetId, String role) {
+        return inbox(targetId, role).unreadCount;
+    }
+
+    /**
+     * Newest notifications of the inbox (read and unread), newest first.
+     */
+    public List<Notification> latest(Long targetId, String role) {
+        Inbox inbox = inbox(targetId, role);
+        synchronized (inboxes) {
+            return new ArrayList<>(inbox.head);
+        }
+    }
+
+    private Inbox inbox(Long targetId, String role) {
+        String key = key(targetId, role);
+        long seen;
+        synchronized (inboxes) {
+            Inbox cached = inboxes.get(key);
+            if (cached != null) return cached;
+            seen = modifications;
+        }
+
+        Inbox loaded = new Inbox(
+                feedService.unreadCount(targetId, role),
+                feedService.feed(targetId, role, false, headSize));
+
+        synchronized (inboxes) {
+            Inbox cached = inboxes.get(key);
+            if (cached != null) return cached;
+            // A change committed while loading may be missing from the snapshot; serve it without caching
+            if (modifications == seen) inboxes.put(key, loaded);
+            return loaded;
+        }
+    }
+
+    // -------------------- Updates from InAppNotificationService --------------------
+
+    public void created(Notification notification) {
+        if (notification.getTargetId() == null) {
+            // Broadcast: lands unread in every cached inbox of the role
+            Notification unread = NotificationFeedService.withReadStatus(notification, false);
+            afterCommit(() -> updateRole(notification.getTargetRole(), inbox -> prepend(inbox, unread)));
+            return;
+        }
+        afterCommit(() -> update(notification, inbox -> prepend(inbox, notification)));
+    }
+
+    public void markedRead(Notification notification, boolean wasUnread) {
+        if (notification.getTargetId() == null) return;
+        afterCommit(() -> update(notification, inbox -> {
+            if (wasUnread && inbox.unreadCount > 0) inbox.unreadCount--;
+            inbox.head.replaceAll(n -> n.getId().equals(notification.getId()) ? notification : n);
+        }));
+    }
+
+    /**
+     * A user's broadcast watermark moved; their broadcast read states are recomputed on next read.
+     */
+    public void broadcastsRead(Long userId, String role) {
+        invalidate(userId, role);
+    }
+
+    /**
+     * Drop an inbox after a change the cache cannot apply incrementally; it reloads on next read.
+     */
+    public void invalidate(Long targetId, String role) {
+        afterCommit(() -> evict(key(targetId, role)::equals));
+    }
+
+    public void deleted(Notification notification) {
+        // The head would need refilling from the database; drop the inbox(es) and reload on next read
+        if (notification.getTargetId() == null) {
+            String prefix = notification.getTargetRole().toUpperCase() + ":";
+            afterCommit(() -> evict(key -> key.startsWith(prefix)));
+        } else {
+            afterCommit(() -> evict(key(notification.getTargetId(), notification.getTargetRole())::equals));
+        }
+    }
+
+    /**
+     * Drop every cached inbox (e.g. after notifications were archived in bulk).
+     */
+    public void clear() {
+        evict(key -> true);
+    }
+
+    private void prepend(Inbox inbox, Notification notification) {
+        if (!notification.isReadStatus()) inbox.unreadCount++;
+        inbox.head.addFirst(notification);
+        if (inbox.head.size() > headSize) inbox.head.removeLast();
+    }
+
+    private void updateRole(String role, Consumer<Inbox> change) {
+        String prefix = role.toUpperCase() + ":";
+        synchronized (inboxes) {
+            modifications++;
+            inboxes.forEach((key, inbox) -> {
+                if (key.startsWith(prefix)) change.accept(inbox);
+            });
+        }
+    }
+
+    private void evict(Predicate<String> keys) {
+        synchronized (inboxes) {
+            modifications++;
+            inboxes.keySet().removeIf(keys);
+        }
+    }
+
+    private void update(Notification notification, Consumer<Inbox> change) {
+        synchronized (inboxes) {
+            modifications++;
+            // Only inboxes already in memory are updated; others load fresh on first read
+            Inbox inbox = inboxes.get(key(notification.getTargetId(), notification.getTargetRole()));
+            if (inbox != null) change.accept(inbox);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String key(Long targetId, String role) {
+        return role.toUpperCase() + ":" + targetId;
+    }
+
+    private static class Inbox {
+        private long unreadCount;
+        private final LinkedList<Notification> head;
+
+        private Inbox(long unreadCount, List<Notification> head) {
+            this.unreadCount = unreadCount;
+            this.head = new LinkedList<>(head);
+        }
+    }
+}
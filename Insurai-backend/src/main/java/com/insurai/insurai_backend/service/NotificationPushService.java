@@ -0,0 +1,231 @@
+package com.insurai.insurai_backend.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.insurai.insurai_backend.model.Notification;
+import com.insurai.insurai_backend.repository.NotificationRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes new in-app notifications to connected clients over Server-Sent Events.
+ *
+ * Connections are async servlet requests, so an idle subscriber holds no thread.
+ * A single dispatcher thread writes events; notifications created inside a
+ * transaction are pushed only after it commits. The event id is the notification
+ * id, so a reconnecting client sends Last-Event-ID and gets what it missed.
+ *
+ * A resuming subscriber is registered before its missed notifications are read, and live
+ * notifications for it are held back until the replay has been written; held-back ones the
+ * replay already covered are dropped. So nothing is lost between the read and the
+ * registration, and a client never sees a live notification before or twice with the replay.
+ *
+ * A replay is capped at max-replay notifications. When the cap is hit, live notifications past
+ * the gap must not be sent, or the client's Last-Event-ID would skip what is still missing. The
+ * stream then sends a replay-truncated event and closes, and the client reconnects from the last
+ * replayed id to get the next page.
+ */
+@Service
+@Slf4j
+public class NotificationPushService {
+
+    private static final String EVENT_NAME = "notification";
+    private static final String REPLAY_TRUNCATED_EVENT = "replay-truncated";
+
+    private final NotificationRepository notificationRepository;
+    private final long emitterTimeoutMs;
+    private final int maxReplay;
+
+    // "ROLE:userId" -> emitters of that user; "ROLE" -> all emitters of that role (for broadcasts)
+    private final Map<String, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byRole = new ConcurrentHashMap<>();
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationPushService(NotificationRepository notificationRepository,
+                                   @Value("${notifications.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+                                   @Value("${notifications.stream.max-replay:200}") int maxReplay) {
+        this.notificationRepository = notificationRepository;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxReplay = maxReplay;
+    }
+
+    // -------------------- Subscriptions --------------------
+
+    /**
+     * Open a stream for a user. If lastEventId is given, notifications created after it are replayed first.
+     */
+    public SseEmitter subscribe(Long userId, String role, Long lastEventId) {
+        String roleKey = role.toUpperCase();
+        String userKey = roleKey + ":" + userId;
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, lastEventId != null);
+
+        Runnable remove = () -> {
+            removeFrom(byUser, userKey, subscriber);
+            removeFrom(byRole, roleKey, subscriber);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // Registered before the replay is read, so nothing committed in between is missed
+        addTo(byUser, userKey, subscriber);
+        addTo(byRole, roleKey, subscriber);
+        log.debug("Notification stream opened for {} (last event {})", userKey, lastEventId);
+
+        if (lastEventId != null) {
+            List<Notification> missed = notificationRepository.findForUserAfter(
+                    userId, roleKey, lastEventId, PageRequest.of(0, maxReplay));
+            long replayedUpTo = missed.isEmpty() ? lastEventId : missed.get(missed.size() - 1).getId();
+            boolean truncated = missed.size() >= maxReplay;
+            dispatcher.execute(() -> subscriber.replay(missed, replayedUpTo, truncated));
+        }
+        return emitter;
+    }
+
+    // -------------------- Publishing --------------------
+
+    /**
+     * Push a saved notification to its target user, or to every subscriber of the role when targetId is null.
+     */
+    public void publish(Notification notification) {
+        if (notification == null || notification.getId() == null) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(notification);
+                }
+            });
+        } else {
+            dispatch(notification);
+        }
+    }
+
+    private void dispatch(Notification notification) {
+        String roleKey = notification.getTargetRole().toUpperCase();
+        String key = notification.getTargetId() == null ? roleKey : roleKey + ":" + notification.getTargetId();
+        Map<String, Set<Subscriber>> index = notification.getTargetId() == null ? byRole : byUser;
+
+        // Targets are looked up on the dispatcher thread, in the same order as replays
+        dispatcher.execute(() -> {
+            Set<Subscriber> targets = index.get(key);
+            if (targets != null) targets.forEach(subscriber -> subscriber.deliver(notification));
+        });
+    }
+
+    // Keeps idle connections open through proxies and drops clients that went away
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        dispatcher.execute(() -> byRole.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                subscriber.emitter.completeWithError(e);
+            }
+        })));
+    }
+
+    // -------------------- Subscriber --------------------
+
+    /**
+     * One open stream. Only touched on the dispatcher thread.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private List<Notification> heldBack; // live notifications that arrived during the replay; null once live
+        private long replayedUpTo;
+        private boolean closed; // replay was truncated and the stream closed
+
+        private Subscriber(SseEmitter emitter, boolean resuming) {
+            this.emitter = emitter;
+            this.heldBack = resuming ? new ArrayList<>() : null;
+        }
+
+        void deliver(Notification notification) {
+            if (closed) return;
+            if (heldBack != null) {
+                heldBack.add(notification);
+            } else if (notification.getId() > replayedUpTo) {
+                send(notification);
+            }
+        }
+
+        void replay(List<Notification> missed, long upTo, boolean truncated) {
+            missed.forEach(this::send);
+            if (truncated) {
+                // Held-back notifications lie past the gap; the client fetches the next page instead
+                closed = true;
+                heldBack = null;
+                try {
+                    emitter.send(SseEmitter.event().name(REPLAY_TRUNCATED_EVENT).data(upTo));
+                    emitter.complete();
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                }
+                return;
+            }
+            replayedUpTo = upTo;
+            List<Notification> held = heldBack;
+            heldBack = null;
+            held.forEach(this::deliver);
+        }
+
+        private void send(Notification notification) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(notification.getId()))
+                        .name(EVENT_NAME)
+                        .data(notification, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    // Add/remove inside compute so a concurrent remove cannot drop a set that is being added to
+    private static void addTo(Map<String, Set<Subscriber>> index, String key, Subscriber subscriber) {
+        index.compute(key, (k, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+    }
+
+    private static void removeFrom(Map<String, Set<Subscriber>> index, String key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        byRole.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+}
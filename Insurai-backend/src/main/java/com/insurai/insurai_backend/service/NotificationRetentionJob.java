@@ -0,0 +1,139 @@
+package com.insurai.insurai_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves aged notifications from the hot notifications table into notifications_archive.
+ *
+ * Eligible are read personal notifications and role broadcasts (whose read state is
+ * per user, see NotificationReadWatermark) older than the retention of their type.
+ * Rows move in small batches, each copied and deleted by primary key in its own short
+ * transaction, so user-facing queries on the hot table are never blocked for long.
+ * The copy is INSERT IGNORE, so a batch interrupted after its copy is safe to redo.
+ */
+@Component
+@Slf4j
+public class NotificationRetentionJob {
+
+    private static final String SELECT_BATCH_SQL =
+            "SELECT id FROM notifications WHERE notification_type = :type AND created_at < :cutoff " +
+            "AND (read_status = true OR target_id IS NULL) ORDER BY id LIMIT :limit";
+
+    private static final String COPY_SQL =
+            "INSERT IGNORE INTO notifications_archive " +
+            "(id, title, message, target_role, target_id, notification_type, read_status, created_at, updated_at, archived_at) " +
+            "SELECT id, title, message, target_role, target_id, notification_type, read_status, created_at, updated_at, :now " +
+            "FROM notifications WHERE id IN (:ids)";
+
+    private static final String DELETE_SQL = "DELETE FROM notifications WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationInboxCache inboxCache;
+    private final int defaultRetentionDays;
+    private final Map<String, Integer> retentionDaysByType;
+    private final int batchSize;
+    private final long pauseMs;
+
+    public NotificationRetentionJob(NamedParameterJdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    NotificationInboxCache inboxCache,
+                                    @Value("${notifications.retention.default-days:90}") int defaultRetentionDays,
+                                    @Value("${notifications.retention.days-by-type:}") String retentionDaysByType,
+                                    @Value("${notifications.retention.batch-size:1000}") int batchSize,
+                                    @Value("${notifications.retention.pause-ms:100}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.inboxCache = inboxCache;
+        this.defaultRetentionDays = defaultRetentionDays;
+        this.retentionDaysByType = parseRetention(retentionDaysByType);
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    // -------------------- Scheduled run --------------------
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 2 * * *}")
+    public void archiveExpiredNotifications() {
+        List<String> types = jdbcTemplate.getJdbcTemplate()
+                .queryForList("SELECT DISTINCT notification_type FROM notifications", String.class);
+
+        int total = 0;
+        for (String type : types) {
+            int days = retentionDaysByType.getOrDefault(type.toUpperCase(), defaultRetentionDays);
+            if (days <= 0) continue; // kept forever
+            total += archiveType(type, LocalDateTime.now().minusDays(days));
+        }
+
+        if (total > 0) {
+            // Archived rows may sit in cached inbox heads; let them reload from the hot table
+            inboxCache.clear();
+            log.info("Archived {} notifications", total);
+        }
+    }
+
+    /**
+     * Archive one type's notifications created before the cutoff, batch by batch.
+     */
+    public int archiveType(String type, LocalDateTime cutoff) {
+        MapSqlParameterSource selectParams = new MapSqlParameterSource()
+                .addValue("type", type)
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize);
+
+        int archived = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, selectParams, Long.class);
+            if (ids.isEmpty()) break;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("now", LocalDateTime.now());
+                jdbcTemplate.update(COPY_SQL, params);
+                jdbcTemplate.update(DELETE_SQL, params);
+            });
+            archived += ids.size();
+
+            if (ids.size() < batchSize) break;
+            pause();
+        }
+        return archived;
+    }
+
+    // Gives the hot table room between batches
+    private void pause() {
+        if (pauseMs <= 0) return;
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // "CLAIM=180,RENEWAL=60" -> {CLAIM=180, RENEWAL=60}
+    private static Map<String, Integer> parseRetention(String spec) {
+        Map<String, Integer> days = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) continue;
+            days.put(parts[0].trim().toUpperCase(), Integer.parseInt(parts[1].trim()));
+        }
+        return days;
+    }
+}
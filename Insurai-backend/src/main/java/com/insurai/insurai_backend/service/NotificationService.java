@@ -2,24 +2,25 @@ package com.insurai.insurai_backend.service;
 
 import java.time.format.DateTimeFormatter;
 
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import com.insurai.insurai_backend.model.Claim;
 import com.insurai.insurai_backend.model.EmployeeQuery;
 import com.insurai.insurai_backend.model.Hr;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-
+/**
+ * Builds notification emails and queues them in the mail outbox.
+ * Delivery happens asynchronously in MailOutboxDispatcher, so callers never wait on SMTP.
+ * A failed enqueue is not caught: it joins the caller's transaction, which then rolls back
+ * with its own exception instead of committing without the email.
+ */
 @Service
 public class NotificationService {
 
-    private final JavaMailSender mailSender;
+    private final MailOutboxService mailOutboxService;
 
-    public NotificationService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public NotificationService(MailOutboxService mailOutboxService) {
+        this.mailOutboxService = mailOutboxService;
     }
 
     // 🔹 Common Date Format (12-hour format with AM/PM)
@@ -29,318 +30,246 @@ public class NotificationService {
     // ========================= Claim Notifications =========================
 
     public void sendClaimStatusEmail(String to, Claim claim) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject("InsurAi: Claim #" + claim.getId() + " " + claim.getStatus());
-
-            String statusColor = "Approved".equalsIgnoreCase(claim.getStatus()) ? "#28a745" : "#dc3545";
-            String claimDateStr = claim.getClaimDate() != null ? claim.getClaimDate().format(FORMATTER) : "N/A";
-            String hrName = (claim.getAssignedHr() != null && claim.getAssignedHr().getName() != null)
-                    ? claim.getAssignedHr().getName() : "Not yet assigned";
-
-            String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
-                    "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                    ".header { background-color: #0d6efd; color: white; padding: 15px; text-align: center; }" +
-                    ".content { margin: 20px; }" +
-                    ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
-                    ".claim-details { border-collapse: collapse; width: 100%; margin-top: 15px; }" +
-                    ".claim-details td, .claim-details th { border: 1px solid #ddd; padding: 8px; }" +
-                    ".claim-details th { background-color: #f2f2f2; text-align: left; }" +
-                    ".status { font-weight: bold; color: " + statusColor + "; }" +
-                    "</style></head><body>" +
-                    "<div class='header'><h2>InsurAi Notification</h2></div>" +
-                    "<div class='content'>" +
-                    "<p>Dear " + (claim.getEmployee() != null ? claim.getEmployee().getName() : "Employee") + ",</p>" +
-                    "<p>Your claim has been <span class='status'>" + claim.getStatus() + "</span>.</p>" +
-                    "<table class='claim-details'>" +
-                    "<tr><th>Claim ID</th><td>" + claim.getId() + "</td></tr>" +
-                    "<tr><th>Type</th><td>" + claim.getTitle() + "</td></tr>" +
-                    "<tr><th>Policy</th><td>" + (claim.getPolicy() != null ? claim.getPolicy().getPolicyName() : "N/A") + "</td></tr>" +
-                    "<tr><th>Amount</th><td>₹" + claim.getAmount() + "</td></tr>" +
-                    "<tr><th>Claim Date</th><td>" + claimDateStr + "</td></tr>" +
-                    "<tr><th>Assigned HR</th><td>" + hrName + "</td></tr>";
-
-            if (claim.getRemarks() != null && !claim.getRemarks().isEmpty()) {
-                content += "<tr><th>Remarks</th><td>" + claim.getRemarks() + "</td></tr>";
-            }
-
-            content += "</table><p>Thank you for using <strong>InsurAi</strong>.</p>" +
-                    "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
-                    "</body></html>";
-
-            helper.setText(content, true);
-            mailSender.send(mimeMessage);
-            System.out.println("✅ Claim status email sent to Employee: " + to + " (Claim #" + claim.getId() + ")");
-        } catch (MessagingException e) {
-            System.err.println("❌ Failed to send claim status email (Claim #" + claim.getId() + "): " + e.getMessage());
+        String subject = "InsurAi: Claim #" + claim.getId() + " " + claim.getStatus();
+
+        String statusColor = "Approved".equalsIgnoreCase(claim.getStatus()) ? "#28a745" : "#dc3545";
+        String claimDateStr = claim.getClaimDate() != null ? claim.getClaimDate().format(FORMATTER) : "N/A";
+        String hrName = (claim.getAssignedHr() != null && claim.getAssignedHr().getName() != null)
+                ? claim.getAssignedHr().getName() : "Not yet assigned";
+
+        String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
+                "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+                ".header { background-color: #0d6efd; color: white; padding: 15px; text-align: center; }" +
+                ".content { margin: 20px; }" +
+                ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
+                ".claim-details { border-collapse: collapse; width: 100%; margin-top: 15px; }" +
+                ".claim-details td, .claim-details th { border: 1px solid #ddd; padding: 8px; }" +
+                ".claim-details th { background-color: #f2f2f2; text-align: left; }" +
+                ".status { font-weight: bold; color: " + statusColor + "; }" +
+                "</style></head><body>" +
+                "<div class='header'><h2>InsurAi Notification</h2></div>" +
+                "<div class='content'>" +
+                "<p>Dear " + (claim.getEmployee() != null ? claim.getEmployee().getName() : "Employee") + ",</p>" +
+                "<p>Your claim has been <span class='status'>" + claim.getStatus() + "</span>.</p>" +
+                "<table class='claim-details'>" +
+                "<tr><th>Claim ID</th><td>" + claim.getId() + "</td></tr>" +
+                "<tr><th>Type</th><td>" + claim.getTitle() + "</td></tr>" +
+                "<tr><th>Policy</th><td>" + (claim.getPolicy() != null ? claim.getPolicy().getPolicyName() : "N/A") + "</td></tr>" +
+                "<tr><th>Amount</th><td>₹" + claim.getAmount() + "</td></tr>" +
+                "<tr><th>Claim Date</th><td>" + claimDateStr + "</td></tr>" +
+                "<tr><th>Assigned HR</th><td>" + hrName + "</td></tr>";
+
+        if (claim.getRemarks() != null && !claim.getRemarks().isEmpty()) {
+            content += "<tr><th>Remarks</th><td>" + claim.getRemarks() + "</td></tr>";
         }
+
+        content += "</table><p>Thank you for using <strong>InsurAi</strong>.</p>" +
+                "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
+                "</body></html>";
+
+        mailOutboxService.enqueue(to, subject, content);
+        System.out.println("✅ Claim status email queued for Employee: " + to + " (Claim #" + claim.getId() + ")");
     }
 
     public void sendNewClaimAssignedToHr(String to, Hr hr, Claim claim) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject("InsurAi: New Claim Assigned - #" + claim.getId());
-
-            String claimDateStr = claim.getClaimDate() != null ? claim.getClaimDate().format(FORMATTER) : "N/A";
-
-            String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
-                    "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                    ".header { background-color: #198754; color: white; padding: 15px; text-align: center; }" +
-                    ".content { margin: 20px; }" +
-                    ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
-                    ".claim-details { border-collapse: collapse; width: 100%; margin-top: 15px; }" +
-                    ".claim-details td, .claim-details th { border: 1px solid #ddd; padding: 8px; }" +
-                    ".claim-details th { background-color: #f2f2f2; text-align: left; }" +
-                    "</style></head><body>" +
-                    "<div class='header'><h2>New Claim Assigned</h2></div>" +
-                    "<div class='content'>" +
-                    "<p>Dear " + (hr != null ? hr.getName() : "HR") + ",</p>" +
-                    "<p>A new claim has been assigned to you for review:</p>" +
-                    "<table class='claim-details'>" +
-                    "<tr><th>Claim ID</th><td>" + claim.getId() + "</td></tr>" +
-                    "<tr><th>Employee</th><td>" + (claim.getEmployee() != null ? claim.getEmployee().getName() : "N/A") + "</td></tr>" +
-                    "<tr><th>Type</th><td>" + claim.getTitle() + "</td></tr>" +
-                    "<tr><th>Amount</th><td>₹" + claim.getAmount() + "</td></tr>" +
-                    "<tr><th>Claim Date</th><td>" + claimDateStr + "</td></tr>" +
-                    "</table>" +
-                    "<p>Please login to <strong>InsurAi HR Dashboard</strong> to take action.</p>" +
-                    "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
-                    "</body></html>";
-
-            helper.setText(content, true);
-            mailSender.send(mimeMessage);
-            System.out.println("✅ New claim assignment email sent to HR: " + to + " (Claim #" + claim.getId() + ")");
-        } catch (MessagingException e) {
-            System.err.println("❌ Failed to send HR new claim notification (Claim #" + claim.getId() + "): " + e.getMessage());
-        }
+        String subject = "InsurAi: New Claim Assigned - #" + claim.getId();
+
+        String claimDateStr = claim.getClaimDate() != null ? claim.getClaimDate().format(FORMATTER) : "N/A";
+
+        String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
+                "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+                ".header { background-color: #198754; color: white; padding: 15px; text-align: center; }" +
+                ".content { margin: 20px; }" +
+                ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
+                ".claim-details { border-collapse: collapse; width: 100%; margin-top: 15px; }" +
+                ".claim-details td, .claim-details th { border: 1px solid #ddd; padding: 8px; }" +
+                ".claim-details th { background-color: #f2f2f2; text-align: left; }" +
+                "</style></head><body>" +
+                "<div class='header'><h2>New Claim Assigned</h2></div>" +
+                "<div class='content'>" +
+                "<p>Dear " + (hr != null ? hr.getName() : "HR") + ",</p>" +
+                "<p>A new claim has been assigned to you for review:</p>" +
+                "<table class='claim-details'>" +
+                "<tr><th>Claim ID</th><td>" + claim.getId() + "</td></tr>" +
+                "<tr><th>Employee</th><td>" + (claim.getEmployee() != null ? claim.getEmployee().getName() : "N/A") + "</td></tr>" +
+                "<tr><th>Type</th><td>" + claim.getTitle() + "</td></tr>" +
+                "<tr><th>Amount</th><td>₹" + claim.getAmount() + "</td></tr>" +
+                "<tr><th>Claim Date</th><td>" + claimDateStr + "</td></tr>" +
+                "</table>" +
+                "<p>Please login to <strong>InsurAi HR Dashboard</strong> to take action.</p>" +
+                "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
+                "</body></html>";
+
+        mailOutboxService.enqueue(to, subject, content);
+        System.out.println("✅ New claim assignment email queued for HR: " + to + " (Claim #" + claim.getId() + ")");
     }
 
     // ========================= Employee-Agent Query Notifications =========================
 
     public void sendEmployeeQueryNotificationToAgent(String to, EmployeeQuery query) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject("InsurAi: New Query from Employee #" + (query.getEmployee() != null ? query.getEmployee().getId() : ""));
-
-            String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
-                    "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                    ".header { background-color: #ff8800; color: white; padding: 15px; text-align: center; }" +
-                    ".content { margin: 20px; }" +
-                    ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
-                    ".query-details { border-collapse: collapse; width: 100%; margin-top: 15px; }" +
-                    ".query-details td, .query-details th { border: 1px solid #ddd; padding: 8px; }" +
-                    ".query-details th { background-color: #f2f2f2; text-align: left; }" +
-                    "</style></head><body>" +
-                    "<div class='header'><h2>New Employee Query</h2></div>" +
-                    "<div class='content'>" +
-                    "<p>Dear Agent,</p>" +
-                    "<p>A new query has been submitted by " + (query.getEmployee() != null ? query.getEmployee().getName() : "Employee") + ".</p>" +
-                    "<table class='query-details'>" +
-                    "<tr><th>Query ID</th><td>" + query.getId() + "</td></tr>" +
-                    "<tr><th>Query Text</th><td>" + query.getQueryText() + "</td></tr>" +
-                    "<tr><th>Policy</th><td>" + query.getPolicyName() + "</td></tr>" +
-                    "<tr><th>Claim Type</th><td>" + query.getClaimType() + "</td></tr>" +
-                    "</table>" +
-                    "<p>Please login to <strong>InsurAi Agent Dashboard</strong> to respond.</p>" +
-                    "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
-                    "</body></html>";
-
-            helper.setText(content, true);
-            mailSender.send(mimeMessage);
-
-            System.out.println("✅ New query notification sent to Agent: " + to + " (Query #" + query.getId() + ")");
-        } catch (MessagingException e) {
-            System.err.println("❌ Failed to send new query notification to agent (Query #" + query.getId() + "): " + e.getMessage());
-        }
+        String subject = "InsurAi: New Query from Employee #" + (query.getEmployee() != null ? query.getEmployee().getId() : "");
+
+        String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
+                "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+                ".header { background-color: #ff8800; color: white; padding: 15px; text-align: center; }" +
+                ".content { margin: 20px; }" +
+                ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
+                ".query-details { border-collapse: collapse; width: 100%; margin-top: 15px; }" +
+                ".query-details td, .query-details th { border: 1px solid #ddd; padding: 8px; }" +
+                ".query-details th { background-color: #f2f2f2; text-align: left; }" +
+                "</style></head><body>" +
+                "<div class='header'><h2>New Employee Query</h2></div>" +
+                "<div class='content'>" +
+                "<p>Dear Agent,</p>" +
+                "<p>A new query has been submitted by " + (query.getEmployee() != null ? query.getEmployee().getName() : "Employee") + ".</p>" +
+                "<table class='query-details'>" +
+                "<tr><th>Query ID</th><td>" + query.getId() + "</td></tr>" +
+                "<tr><th>Query Text</th><td>" + query.getQueryText() + "</td></tr>" +
+                "<tr><th>Policy</th><td>" + query.getPolicyName() + "</td></tr>" +
+                "<tr><th>Claim Type</th><td>" + query.getClaimType() + "</td></tr>" +
+                "</table>" +
+                "<p>Please login to <strong>InsurAi Agent Dashboard</strong> to respond.</p>" +
+                "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
+                "</body></html>";
+
+        mailOutboxService.enqueue(to, subject, content);
+
+        System.out.println("✅ New query notification queued for Agent: " + to + " (Query #" + query.getId() + ")");
     }
 
     // 🔹 NEW: Agent response notification to Employee
     public void sendAgentResponseNotificationToEmployee(String to, EmployeeQuery query) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject("InsurAi: Response to Your Query #" + query.getId());
-
-            String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
-                    "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                    ".header { background-color: #007bff; color: white; padding: 15px; text-align: center; }" +
-                    ".content { margin: 20px; }" +
-                    ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
-                    ".query-details { border-collapse: collapse; width: 100%; margin-top: 15px; }" +
-                    ".query-details td, .query-details th { border: 1px solid #ddd; padding: 8px; }" +
-                    ".query-details th { background-color: #f2f2f2; text-align: left; }" +
-                    "</style></head><body>" +
-                    "<div class='header'><h2>Query Response</h2></div>" +
-                    "<div class='content'>" +
-                    "<p>Dear Employee,</p>" +
-                    "<p>Your query has been responded by the assigned agent.</p>" +
-                    "<table class='query-details'>" +
-                    "<tr><th>Query ID</th><td>" + query.getId() + "</td></tr>" +
-                    "<tr><th>Query Text</th><td>" + query.getQueryText() + "</td></tr>" +
-                    "<tr><th>Response</th><td>" + query.getResponse() + "</td></tr>" +
-                    "<tr><th>Policy</th><td>" + query.getPolicyName() + "</td></tr>" +
-                    "<tr><th>Claim Type</th><td>" + query.getClaimType() + "</td></tr>" +
-                    "</table>" +
-                    "<p>Please login to <strong>InsurAi Employee Dashboard</strong> to view details.</p>" +
-                    "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
-                    "</body></html>";
-
-            helper.setText(content, true);
-            mailSender.send(mimeMessage);
-
-            System.out.println("✅ Agent response notification sent to Employee: " + to + " (Query #" + query.getId() + ")");
-        } catch (MessagingException e) {
-            System.err.println("❌ Failed to send agent response notification to employee (Query #" + query.getId() + "): " + e.getMessage());
-        }
+        String subject = "InsurAi: Response to Your Query #" + query.getId();
+
+        String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
+                "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+                ".header { background-color: #007bff; color: white; padding: 15px; text-align: center; }" +
+                ".content { margin: 20px; }" +
+                ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
+                ".query-details { border-collapse: collapse; width: 100%; margin-top: 15px; }" +
+                ".query-details td, .query-details th { border: 1px solid #ddd; padding: 8px; }" +
+                ".query-details th { background-color: #f2f2f2; text-align: left; }" +
+                "</style></head><body>" +
+                "<div class='header'><h2>Query Response</h2></div>" +
+                "<div class='content'>" +
+                "<p>Dear Employee,</p>" +
+                "<p>Your query has been responded by the assigned agent.</p>" +
+                "<table class='query-details'>" +
+                "<tr><th>Query ID</th><td>" + query.getId() + "</td></tr>" +
+                "<tr><th>Query Text</th><td>" + query.getQueryText() + "</td></tr>" +
+                "<tr><th>Response</th><td>" + query.getResponse() + "</td></tr>" +
+                "<tr><th>Policy</th><td>" + query.getPolicyName() + "</td></tr>" +
+                "<tr><th>Claim Type</th><td>" + query.getClaimType() + "</td></tr>" +
+                "</table>" +
+                "<p>Please login to <strong>InsurAi Employee Dashboard</strong> to view details.</p>" +
+                "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
+                "</body></html>";
+
+        mailOutboxService.enqueue(to, subject, content);
+
+        System.out.println("✅ Agent response notification queued for Employee: " + to + " (Query #" + query.getId() + ")");
     }
 
     // ========================= Enrollment Notifications =========================
 
     public void sendEnrollmentApprovalEmail(String to, String employeeName, String policyName, java.time.LocalDate effectiveDate) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject("InsurAi: Enrollment Approved - " + policyName);
-
-            String effectiveDateStr = effectiveDate != null ? effectiveDate.toString() : "Immediate";
-
-            String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
-                    "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                    ".header { background-color: #28a745; color: white; padding: 15px; text-align: center; }" +
-                    ".content { margin: 20px; }" +
-                    ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
-                    "</style></head><body>" +
-                    "<div class='header'><h2>Enrollment Approved</h2></div>" +
-                    "<div class='content'>" +
-                    "<p>Dear " + employeeName + ",</p>" +
-                    "<p>Your enrollment for <strong>" + policyName + "</strong> has been approved!</p>" +
-                    "<p><strong>Effective Date:</strong> " + effectiveDateStr + "</p>" +
-                    "<p>Please login to your <strong>InsurAi Dashboard</strong> to view details.</p>" +
-                    "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
-                    "</body></html>";
-
-            helper.setText(content, true);
-            mailSender.send(mimeMessage);
-            System.out.println("✅ Enrollment approval email sent to: " + to);
-        } catch (MessagingException e) {
-            System.err.println("❌ Failed to send enrollment approval email: " + e.getMessage());
-        }
+        String subject = "InsurAi: Enrollment Approved - " + policyName;
+
+        String effectiveDateStr = effectiveDate != null ? effectiveDate.toString() : "Immediate";
+
+        String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
+                "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+                ".header { background-color: #28a745; color: white; padding: 15px; text-align: center; }" +
+                ".content { margin: 20px; }" +
+                ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
+                "</style></head><body>" +
+                "<div class='header'><h2>Enrollment Approved</h2></div>" +
+                "<div class='content'>" +
+                "<p>Dear " + employeeName + ",</p>" +
+                "<p>Your enrollment for <strong>" + policyName + "</strong> has been approved!</p>" +
+                "<p><strong>Effective Date:</strong> " + effectiveDateStr + "</p>" +
+                "<p>Please login to your <strong>InsurAi Dashboard</strong> to view details.</p>" +
+                "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
+                "</body></html>";
+
+        mailOutboxService.enqueue(to, subject, content);
+        System.out.println("✅ Enrollment approval email queued for: " + to);
     }
 
     // ========================= Reimbursement Notifications =========================
 
     public void sendReimbursementStatusEmail(String to, String employeeName, Long claimId, String status, Double amount) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject("InsurAi: Reimbursement " + status + " - Claim #" + claimId);
-
-            String statusColor = "Completed".equalsIgnoreCase(status) ? "#28a745" : "#007bff";
-
-            String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
-                    "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                    ".header { background-color: " + statusColor + "; color: white; padding: 15px; text-align: center; }" +
-                    ".content { margin: 20px; }" +
-                    ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
-                    "</style></head><body>" +
-                    "<div class='header'><h2>Reimbursement " + status + "</h2></div>" +
-                    "<div class='content'>" +
-                    "<p>Dear " + employeeName + ",</p>" +
-                    "<p>Your reimbursement for Claim #" + claimId + " has been <strong>" + status.toLowerCase() + "</strong>.</p>" +
-                    "<p><strong>Amount:</strong> ₹" + String.format("%.2f", amount) + "</p>" +
-                    "<p>Please login to your <strong>InsurAi Dashboard</strong> to view details.</p>" +
-                    "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
-                    "</body></html>";
-
-            helper.setText(content, true);
-            mailSender.send(mimeMessage);
-            System.out.println("✅ Reimbursement status email sent to: " + to + " (Claim #" + claimId + ")");
-        } catch (MessagingException e) {
-            System.err.println("❌ Failed to send reimbursement status email: " + e.getMessage());
-        }
+        String subject = "InsurAi: Reimbursement " + status + " - Claim #" + claimId;
+
+        String statusColor = "Completed".equalsIgnoreCase(status) ? "#28a745" : "#007bff";
+
+        String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
+                "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+                ".header { background-color: " + statusColor + "; color: white; padding: 15px; text-align: center; }" +
+                ".content { margin: 20px; }" +
+                ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
+                "</style></head><body>" +
+                "<div class='header'><h2>Reimbursement " + status + "</h2></div>" +
+                "<div class='content'>" +
+                "<p>Dear " + employeeName + ",</p>" +
+                "<p>Your reimbursement for Claim #" + claimId + " has been <strong>" + status.toLowerCase() + "</strong>.</p>" +
+                "<p><strong>Amount:</strong> ₹" + String.format("%.2f", amount) + "</p>" +
+                "<p>Please login to your <strong>InsurAi Dashboard</strong> to view details.</p>" +
+                "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
+                "</body></html>";
+
+        mailOutboxService.enqueue(to, subject, content);
+        System.out.println("✅ Reimbursement status email queued for: " + to + " (Claim #" + claimId + ")");
     }
 
     // ========================= Renewal Notifications =========================
 
     public void sendRenewalAlertEmail(String to, String employeeName, String policyName, java.time.LocalDate renewalDate, int daysRemaining) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject("InsurAi: Policy Renewal Alert - " + policyName);
-
-            String urgencyColor = daysRemaining <= 7 ? "#dc3545" : (daysRemaining <= 15 ? "#ffc107" : "#17a2b8");
-
-            String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
-                    "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                    ".header { background-color: " + urgencyColor + "; color: white; padding: 15px; text-align: center; }" +
-                    ".content { margin: 20px; }" +
-                    ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
-                    "</style></head><body>" +
-                    "<div class='header'><h2>Policy Renewal Reminder</h2></div>" +
-                    "<div class='content'>" +
-                    "<p>Dear " + employeeName + ",</p>" +
-                    "<p>Your policy <strong>" + policyName + "</strong> is due for renewal.</p>" +
-                    "<p><strong>Renewal Date:</strong> " + renewalDate + "</p>" +
-                    "<p><strong>Days Remaining:</strong> " + daysRemaining + " days</p>" +
-                    "<p>Please contact HR or login to your <strong>InsurAi Dashboard</strong> for renewal options.</p>" +
-                    "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
-                    "</body></html>";
-
-            helper.setText(content, true);
-            mailSender.send(mimeMessage);
-            System.out.println("✅ Renewal alert email sent to: " + to + " (" + policyName + ")");
-        } catch (MessagingException e) {
-            System.err.println("❌ Failed to send renewal alert email: " + e.getMessage());
-        }
+        String subject = "InsurAi: Policy Renewal Alert - " + policyName;
+
+        String urgencyColor = daysRemaining <= 7 ? "#dc3545" : (daysRemaining <= 15 ? "#ffc107" : "#17a2b8");
+
+        String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
+                "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+                ".header { background-color: " + urgencyColor + "; color: white; padding: 15px; text-align: center; }" +
+                ".content { margin: 20px; }" +
+                ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
+                "</style></head><body>" +
+                "<div class='header'><h2>Policy Renewal Reminder</h2></div>" +
+                "<div class='content'>" +
+                "<p>Dear " + employeeName + ",</p>" +
+                "<p>Your policy <strong>" + policyName + "</strong> is due for renewal.</p>" +
+                "<p><strong>Renewal Date:</strong> " + renewalDate + "</p>" +
+                "<p><strong>Days Remaining:</strong> " + daysRemaining + " days</p>" +
+                "<p>Please contact HR or login to your <strong>InsurAi Dashboard</strong> for renewal options.</p>" +
+                "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
+                "</body></html>";
+
+        mailOutboxService.enqueue(to, subject, content);
+        System.out.println("✅ Renewal alert email queued for: " + to + " (" + policyName + ")");
     }
 
     public void sendPolicyStatusEmail(String to, String employeeName, String policyName, String status) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject("InsurAi: Policy " + status + " - " + policyName);
-
-            String statusColor = "Active".equalsIgnoreCase(status) ? "#28a745" : "#dc3545";
-
-            String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
-                    "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                    ".header { background-color: " + statusColor + "; color: white; padding: 15px; text-align: center; }" +
-                    ".content { margin: 20px; }" +
-                    ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
-                    "</style></head><body>" +
-                    "<div class='header'><h2>Policy Status Update</h2></div>" +
-                    "<div class='content'>" +
-                    "<p>Dear " + employeeName + ",</p>" +
-                    "<p>Your policy <strong>" + policyName + "</strong> status has been updated to <strong>" + status + "</strong>.</p>" +
-                    "<p>Please login to your <strong>InsurAi Dashboard</strong> for more details.</p>" +
-                    "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
-                    "</body></html>";
-
-            helper.setText(content, true);
-            mailSender.send(mimeMessage);
-            System.out.println("✅ Policy status email sent to: " + to + " (" + policyName + ")");
-        } catch (MessagingException e) {
-            System.err.println("❌ Failed to send policy status email: " + e.getMessage());
-        }
+        String subject = "InsurAi: Policy " + status + " - " + policyName;
+
+        String statusColor = "Active".equalsIgnoreCase(status) ? "#28a745" : "#dc3545";
+
+        String content = "<!DOCTYPE html><html><head><meta charset='UTF-8'>" +
+                "<style>body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+                ".header { background-color: " + statusColor + "; color: white; padding: 15px; text-align: center; }" +
+                ".content { margin: 20px; }" +
+                ".footer { margin: 20px; font-size: 0.85em; color: gray; }" +
+                "</style></head><body>" +
+                "<div class='header'><h2>Policy Status Update</h2></div>" +
+                "<div class='content'>" +
+                "<p>Dear " + employeeName + ",</p>" +
+                "<p>Your policy <strong>" + policyName + "</strong> status has been updated to <strong>" + status + "</strong>.</p>" +
+                "<p>Please login to your <strong>InsurAi Dashboard</strong> for more details.</p>" +
+                "</div><div class='footer'>This is an automated message. Please do not reply.</div>" +
+                "</body></html>";
+
+        mailOutboxService.enqueue(to, subject, content);
+        System.out.println("✅ Policy status email queued for: " + to + " (" + policyName + ")");
     }
 
     // 🔹 Future Expansion
@@ -0,0 +1,78 @@
+package com.insurai.insurai_backend.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.insurai.insurai_backend.model.Policy;
+import com.insurai.insurai_backend.repository.PolicyRepository;
+
+/**
+ * Shared, read-mostly snapshot of the policies table for read paths that need every
+ * policy on each request (the chatbot). Loaded on first use and dropped whenever
+ * PolicyService or RenewalService changes a policy (after the commit); the TTL
+ * bounds staleness for writes that bypass those services.
+ *
+ * The snapshot holds detached entities shared between requests: treat them as read-only.
+ */
+@Component
+public class PolicyCatalogCache {
+
+    private final PolicyRepository policyRepository;
+    private final long ttlMs;
+
+    private volatile Snapshot snapshot;
+    private long generation; // guarded by this
+
+    public PolicyCatalogCache(PolicyRepository policyRepository,
+                              @Value("${policy.catalog-cache.ttl-ms:600000}") long ttlMs) {
+        this.policyRepository = policyRepository;
+        this.ttlMs = ttlMs;
+    }
+
+    public List<Policy> getAll() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.loadedAt() < ttlMs) {
+            return current.policies();
+        }
+
+        long seen;
+        synchronized (this) {
+            seen = generation;
+        }
+        List<Policy> loaded = List.copyOf(policyRepository.findAll());
+
+        synchronized (this) {
+            // A change committed while loading may be missing from this list; serve it without caching
+            if (generation == seen) snapshot = new Snapshot(loaded, System.currentTimeMillis());
+        }
+        return loaded;
+    }
+
+    /**
+     * A policy was created, changed or deleted; reload on next read (after the current transaction commits).
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    private synchronized void evict() {
+        generation++;
+        snapshot = null;
+    }
+
+    private record Snapshot(List<Policy> policies, long loadedAt) {
+    }
+}
@@ -1,32 +1,61 @@
 package com.insurai.insurai_backend.service;
 
-import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.insurai.insurai_backend.model.Policy;
 import com.insurai.insurai_backend.repository.PolicyRepository;
 
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
 @Service
+@Slf4j
 public class PolicyService {
 
     private final PolicyRepository policyRepository;
     private final SupabaseStorageService supabaseStorageService;
+    private final PolicyCatalogCache policyCatalogCache;
+    private final ExecutorService uploadExecutor;
 
     @Autowired
     public PolicyService(PolicyRepository policyRepository,
-                         SupabaseStorageService supabaseStorageService) {
+                         SupabaseStorageService supabaseStorageService,
+                         PolicyCatalogCache policyCatalogCache,
+                         @Value("${policy.documents.upload-threads:8}") int uploadThreads) {
         this.policyRepository = policyRepository;
         this.supabaseStorageService = supabaseStorageService;
+        this.policyCatalogCache = policyCatalogCache;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.uploadExecutor = Executors.newFixedThreadPool(uploadThreads, runnable -> {
+            Thread thread = new Thread(runnable, "policy-document-upload-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdownNow();
     }
 
     // -------------------- Create a new policy --------------------
     public Policy createPolicy(Policy policy) {
-        return policyRepository.save(policy);
+        Policy saved = policyRepository.save(policy);
+        policyCatalogCache.invalidate();
+        return saved;
     }
 
     // -------------------- Get all policies --------------------
@@ -57,7 +86,9 @@ public Policy updatePolicy(Long id, Policy updatedPolicy) {
         policy.setRenewalDate(updatedPolicy.getRenewalDate());
         policy.setPolicyStatus(updatedPolicy.getPolicyStatus());
         policy.setPolicyDescription(updatedPolicy.getPolicyDescription());
-        return policyRepository.save(policy);
+        Policy saved = policyRepository.save(policy);
+        policyCatalogCache.invalidate();
+        return saved;
     }).orElseThrow(() -> new RuntimeException("Policy not found with id " + id));
 }
 
@@ -65,9 +96,12 @@ public Policy updatePolicy(Long id, Policy updatedPolicy) {
     // -------------------- Delete a policy --------------------
     public void deletePolicy(Long id) {
         policyRepository.deleteById(id);
+        policyCatalogCache.invalidate();
     }
 
     // -------------------- Upload Documents --------------------
+    // The documents are uploaded concurrently. All or nothing: if one upload fails, the ones
+    // that succeeded are deleted again and the policy is left unchanged.
     public Policy uploadDocuments(Long id,
                                   MultipartFile contract,
                                   MultipartFile terms,
@@ -76,46 +110,66 @@ public Policy updatePolicy(Long id, Policy updatedPolicy) {
         Policy policy = policyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Policy not found with id " + id));
 
-        try {
-            // Contract
-            if (contract != null && !contract.isEmpty()) {
-                String contractUrl = uploadFileToStorage(contract, "contract", id);
-                policy.setContractUrl(contractUrl);
-            }
-
-            // Terms
-            if (terms != null && !terms.isEmpty()) {
-                String termsUrl = uploadFileToStorage(terms, "terms", id);
-                policy.setTermsUrl(termsUrl);
-            }
+        Map<String, MultipartFile> documents = new LinkedHashMap<>();
+        documents.put("contract", contract);
+        documents.put("terms", terms);
+        documents.put("claim_form", claimForm);
+        documents.put("annexure", annexure);
+        documents.values().removeIf(file -> file == null || file.isEmpty());
+
+        // type -> storage path, and type -> upload in progress
+        Map<String, String> paths = new LinkedHashMap<>();
+        Map<String, CompletableFuture<String>> uploads = new LinkedHashMap<>();
+        documents.forEach((type, file) -> {
+            String path = storagePath(file, type, id);
+            paths.put(type, path);
+            uploads.put(type, CompletableFuture.supplyAsync(
+                    () -> supabaseStorageService.uploadFile(file, path), uploadExecutor));
+        });
 
-            // Claim Form
-            if (claimForm != null && !claimForm.isEmpty()) {
-                String claimFormUrl = uploadFileToStorage(claimForm, "claim_form", id);
-                policy.setClaimFormUrl(claimFormUrl);
-            }
-
-            // Annexure
-            if (annexure != null && !annexure.isEmpty()) {
-                String annexureUrl = uploadFileToStorage(annexure, "annexure", id);
-                policy.setAnnexureUrl(annexureUrl);
-            }
-
-            return policyRepository.save(policy);
+        try {
+            // Completes once every upload has finished, failed or not
+            CompletableFuture.allOf(uploads.values().toArray(new CompletableFuture[0])).join();
+
+            uploads.forEach((type, upload) -> {
+                String url = upload.join();
+                switch (type) {
+                    case "contract" -> policy.setContractUrl(url);
+                    case "terms" -> policy.setTermsUrl(url);
+                    case "claim_form" -> policy.setClaimFormUrl(url);
+                    case "annexure" -> policy.setAnnexureUrl(url);
+                    default -> throw new IllegalStateException("Unknown document type " + type);
+                }
+            });
+
+            Policy saved = policyRepository.save(policy);
+            policyCatalogCache.invalidate();
+            return saved;
 
-        } catch (IOException e) {
-            throw new RuntimeException("I/O error while uploading policy documents: " + e.getMessage(), e);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to upload policy documents: " + e.getMessage(), e);
+            deleteUploaded(uploads, paths);
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("Failed to upload policy documents: " + cause.getMessage(), cause);
         }
     }
 
-    // -------------------- Helper: Upload file to Supabase and return URL --------------------
-    private String uploadFileToStorage(MultipartFile file, String type, Long policyId) throws IOException {
+    // -------------------- Helper: Remove the documents of a failed upload --------------------
+    private void deleteUploaded(Map<String, CompletableFuture<String>> uploads, Map<String, String> paths) {
+        uploads.forEach((type, upload) -> {
+            if (!upload.isDone() || upload.isCompletedExceptionally()) return;
+            try {
+                supabaseStorageService.deleteFile(paths.get(type));
+            } catch (Exception e) {
+                log.warn("Could not remove uploaded {} document {}", type, paths.get(type), e);
+            }
+        });
+    }
+
+    // -------------------- Helper: Storage path for a policy document --------------------
+    private String storagePath(MultipartFile file, String type, Long policyId) {
         String originalFileName = file.getOriginalFilename();
         String extension = getExtension(originalFileName);
-        String fileName = "policies/" + policyId + "/" + type + "_" + System.currentTimeMillis() + extension;
-        return supabaseStorageService.uploadFile(file, fileName);
+        return "policies/" + policyId + "/" + type + "_" + System.currentTimeMillis() + extension;
     }
 
     // -------------------- Helper: Get file extension --------------------
@@ -84,17 +84,13 @@ public class ReimbursementService {
         );
 
         // Send email notification
-        try {
-            notificationService.sendReimbursementStatusEmail(
-                    claim.getEmployee().getEmail(),
-                    claim.getEmployee().getName(),
-                    claimId,
-                    "Initiated",
-                    settlementAmount
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to send reimbursement initiation email: " + e.getMessage());
-        }
+        notificationService.sendReimbursementStatusEmail(
+                claim.getEmployee().getEmail(),
+                claim.getEmployee().getName(),
+                claimId,
+                "Initiated",
+                settlementAmount
+        );
 
         return savedReimbursement;
     }
@@ -182,17 +178,13 @@ public class ReimbursementService {
         );
 
         // Send email notification
-        try {
-            notificationService.sendReimbursementStatusEmail(
-                    reimbursement.getEmployee().getEmail(),
-                    reimbursement.getEmployee().getName(),
-                    reimbursement.getClaim().getId(),
-                    "Completed",
-                    reimbursement.getSettlementAmount()
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to send reimbursement completion email: " + e.getMessage());
-        }
+        notificationService.sendReimbursementStatusEmail(
+                reimbursement.getEmployee().getEmail(),
+                reimbursement.getEmployee().getName(),
+                reimbursement.getClaim().getId(),
+                "Completed",
+                reimbursement.getSettlementAmount()
+        );
 
         return savedReimbursement;
     }
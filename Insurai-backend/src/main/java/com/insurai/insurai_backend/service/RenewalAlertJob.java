@@ -0,0 +1,250 @@
+package com.insurai.insurai_backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurai.insurai_backend.model.Enrollment;
+import com.insurai.insurai_backend.model.Policy;
+import com.insurai.insurai_backend.model.RenewalJobCheckpoint;
+import com.insurai.insurai_backend.repository.EnrollmentRepository;
+import com.insurai.insurai_backend.repository.PolicyRepository;
+import com.insurai.insurai_backend.repository.RenewalJobCheckpointRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chunked, resumable engine behind the renewal alert jobs.
+ *
+ * A run is split into one checkpoint per (alert stage, expiring policy). Each
+ * checkpoint walks the policy's active enrollments by id in chunks; a chunk's
+ * notifications, outbox emails and checkpoint update commit together, so a run
+ * interrupted by a crash continues after the last committed chunk when it is
+ * started again with the same run key. Checkpoints are processed in parallel.
+ */
+@Component
+@Slf4j
+public class RenewalAlertJob {
+
+    private final PolicyRepository policyRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final RenewalJobCheckpointRepository checkpointRepository;
+    private final InAppNotificationService inAppNotificationService;
+    private final NotificationService notificationService;
+    private final AuditLogService auditLogService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public RenewalAlertJob(PolicyRepository policyRepository,
+                           EnrollmentRepository enrollmentRepository,
+                           RenewalJobCheckpointRepository checkpointRepository,
+                           InAppNotificationService inAppNotificationService,
+                           NotificationService notificationService,
+                           AuditLogService auditLogService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${renewal.job.chunk-size:500}") int chunkSize,
+                           @Value("${renewal.job.parallelism:4}") int parallelism) {
+        this.policyRepository = policyRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.inAppNotificationService = inAppNotificationService;
+        this.notificationService = notificationService;
+        this.auditLogService = auditLogService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    // -------------------- Entry points --------------------
+
+    /**
+     * Run (or resume) the alert stages for a run key.
+     *
+     * @param stages alert days -> message shown to the employee, in send order
+     * @return total alerts sent by the run, including chunks committed before a restart
+     */
+    public synchronized int run(String runKey, Map<Integer, String> stages) {
+        LocalDate today = LocalDate.now();
+        transactionTemplate.executeWithoutResult(status ->
+                stages.forEach((days, message) -> planStage(runKey, today, days, message)));
+
+        processAll(checkpointRepository.findByRunKeyAndCompletedFalse(runKey));
+        return (int) checkpointRepository.sumAlertsSentByRunKey(runKey);
+    }
+
+    /**
+     * Pick up today's runs that were interrupted by a shutdown or crash.
+     * Older runs are not resumed: their "expires in N days" alerts would be stale.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        List<RenewalJobCheckpoint> pending = checkpointRepository.findByRunDateAndCompletedFalse(LocalDate.now());
+        if (pending.isEmpty()) return;
+
+        Map<String, List<RenewalJobCheckpoint>> byRun = pending.stream()
+                .collect(Collectors.groupingBy(RenewalJobCheckpoint::getRunKey));
+
+        Thread resumer = new Thread(() -> byRun.forEach((runKey, checkpoints) -> {
+            log.info("Resuming renewal alert run {} ({} unfinished checkpoints)", runKey, checkpoints.size());
+            int total;
+            synchronized (this) {
+                processAll(checkpoints);
+                total = (int) checkpointRepository.sumAlertsSentByRunKey(runKey);
+            }
+            auditLogService.logAction(
+                    "SYSTEM",
+                    "Scheduled Job",
+                    "SYSTEM",
+                    "RENEWAL_ALERTS_RESUMED",
+                    "Resumed renewal run " + runKey + ". Total alerts sent: " + total
+            );
+        }), "renewal-job-resume");
+        resumer.start();
+    }
+
+    // -------------------- Planning --------------------
+
+    private void planStage(String runKey, LocalDate today, int days, String message) {
+        LocalDate targetDate = today.plusDays(days);
+
+        for (Policy policy : policyRepository.findByRenewalDateBetween(targetDate, targetDate)) {
+            Optional<RenewalJobCheckpoint> existing =
+                    checkpointRepository.findByRunKeyAndAlertDaysAndPolicyId(runKey, days, policy.getId());
+            if (existing.isPresent()) continue;
+
+            checkpointRepository.save(new RenewalJobCheckpoint(runKey, today, days, policy.getId(), message));
+
+            // HR and Admin are notified once per policy, together with the checkpoint
+            inAppNotificationService.createNotificationForRole(
+                    "Policy Expiring Soon",
+                    policy.getPolicyName() + " expires in " + days + " days",
+                    "HR",
+                    "RENEWAL"
+            );
+
+            inAppNotificationService.createNotificationForRole(
+                    "Policy Expiring Soon",
+                    policy.getPolicyName() + " expires in " + days + " days",
+                    "ADMIN",
+                    "RENEWAL"
+            );
+        }
+    }
+
+    // -------------------- Processing --------------------
+
+    private void processAll(List<RenewalJobCheckpoint> checkpoints) {
+        if (checkpoints.isEmpty()) return;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, checkpoints.size()),
+                runnable -> new Thread(runnable, "renewal-job-" + threadNumber.incrementAndGet()));
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (RenewalJobCheckpoint checkpoint : checkpoints) {
+                Callable<Integer> task = () -> process(checkpoint.getId());
+                futures.add(executor.submit(task));
+            }
+            for (Future<Integer> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // Checkpoint stays incomplete and is retried by the next run with this key
+                    log.error("Renewal alert checkpoint failed: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int process(Long checkpointId) {
+        int sent = 0;
+        boolean completed = false;
+        while (!completed && !Thread.currentThread().isInterrupted()) {
+            ChunkResult result = transactionTemplate.execute(status -> processChunk(checkpointId));
+            sent += result.sent;
+            completed = result.completed;
+        }
+        return sent;
+    }
+
+    /**
+     * Send alerts for the next chunk of enrollments and advance the checkpoint, in one transaction.
+     */
+    private ChunkResult processChunk(Long checkpointId) {
+        RenewalJobCheckpoint checkpoint = checkpointRepository.findById(checkpointId).orElse(null);
+        if (checkpoint == null || checkpoint.getCompleted()) return new ChunkResult(0, true);
+
+        Policy policy = policyRepository.findById(checkpoint.getPolicyId()).orElse(null);
+        List<Enrollment> chunk = policy == null ? List.of()
+                : enrollmentRepository.findActiveEnrollmentsByPolicyIdAfter(
+                        policy.getId(), checkpoint.getLastEnrollmentId(), PageRequest.of(0, chunkSize));
+
+        if (!chunk.isEmpty()) {
+            // In-app notifications, one batched insert for the whole chunk
+            inAppNotificationService.createNotifications(
+                    "Policy Renewal Alert",
+                    checkpoint.getAlertMessage() + " - " + policy.getPolicyName(),
+                    chunk.stream().map(e -> e.getEmployee().getId()).toList(),
+                    "EMPLOYEE",
+                    "RENEWAL"
+            );
+        }
+
+        for (Enrollment enrollment : chunk) {
+            // Email notification (queued in the outbox within this transaction)
+            notificationService.sendRenewalAlertEmail(
+                    enrollment.getEmployee().getEmail(),
+                    enrollment.getEmployee().getName(),
+                    policy.getPolicyName(),
+                    policy.getRenewalDate(),
+                    checkpoint.getAlertDays()
+            );
+        }
+
+        boolean completed = chunk.size() < chunkSize;
+        if (!chunk.isEmpty()) {
+            checkpoint.setLastEnrollmentId(chunk.get(chunk.size() - 1).getId());
+        }
+        checkpoint.setAlertsSent(checkpoint.getAlertsSent() + chunk.size());
+        checkpoint.setCompleted(completed);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        return new ChunkResult(chunk.size(), completed);
+    }
+
+    private static class ChunkResult {
+        private final int sent;
+        private final boolean completed;
+
+        private ChunkResult(int sent, boolean completed) {
+            this.sent = sent;
+            this.completed = completed;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.insurai.insurai_backend.service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -10,6 +11,7 @@ import java.util.Optional;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.insurai.insurai_backend.model.Enrollment;
 import com.insurai.insurai_backend.model.Policy;
@@ -33,8 +35,11 @@ public class RenewalService {
     private final RenewalHistoryRepository renewalHistoryRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final AuditLogService auditLogService;
+    private final PolicyCatalogCache policyCatalogCache;
     private final InAppNotificationService inAppNotificationService;
     private final NotificationService notificationService;
+    private final RenewalAlertJob renewalAlertJob;
+    private final TransactionTemplate transactionTemplate;
 
     // -------------------- Configuration Methods --------------------
 
@@ -81,10 +86,10 @@ public class RenewalService {
     // -------------------- Renewal Alert Methods --------------------
 
     /**
-     * Daily scheduled job for renewal alerts (runs at 2:00 AM)
+     * Daily scheduled job for renewal alerts (runs at 2:00 AM).
+     * Runs through RenewalAlertJob in chunks; a restarted run resumes under the same run key.
      */
     @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
     public void dailyRenewalCheck() {
         log.info("Starting daily renewal check job...");
 
@@ -95,26 +100,22 @@ public class RenewalService {
             return;
         }
 
-        int totalAlertsSent = 0;
         LocalDate today = LocalDate.now();
+        Map<Integer, String> stages = new LinkedHashMap<>();
 
         // First alert (e.g., 30 days before)
-        totalAlertsSent += sendRenewalAlerts(
-                config.getFirstAlertDays(),
-                "First reminder: Your policy will expire in " + config.getFirstAlertDays() + " days"
-        );
+        stages.putIfAbsent(config.getFirstAlertDays(),
+                "First reminder: Your policy will expire in " + config.getFirstAlertDays() + " days");
 
         // Second alert (e.g., 15 days before)
-        totalAlertsSent += sendRenewalAlerts(
-                config.getSecondAlertDays(),
-                "Second reminder: Your policy will expire in " + config.getSecondAlertDays() + " days"
-        );
+        stages.putIfAbsent(config.getSecondAlertDays(),
+                "Second reminder: Your policy will expire in " + config.getSecondAlertDays() + " days");
 
         // Final alert (e.g., 7 days before)
-        totalAlertsSent += sendRenewalAlerts(
-                config.getFinalAlertDays(),
-                "URGENT: Your policy will expire in " + config.getFinalAlertDays() + " days!"
-        );
+        stages.putIfAbsent(config.getFinalAlertDays(),
+                "URGENT: Your policy will expire in " + config.getFinalAlertDays() + " days!");
+
+        int totalAlertsSent = renewalAlertJob.run("DAILY-" + today, stages);
 
         // Audit log
         auditLogService.logAction(
@@ -167,7 +168,6 @@ public class RenewalService {
     /**
      * Manual trigger for renewal check (Admin only)
      */
-    @Transactional
     public Map<String, Object> executeRenewalJobManually(String adminEmail) {
         Map<String, Object> result = new HashMap<>();
 
@@ -175,21 +175,23 @@ public class RenewalService {
         int totalAlertsSent = 0;
 
         if (config.getAlertsEnabled()) {
-            totalAlertsSent += sendRenewalAlerts(config.getFirstAlertDays(),
+            Map<Integer, String> stages = new LinkedHashMap<>();
+            stages.putIfAbsent(config.getFirstAlertDays(),
                     "Reminder: Your policy will expire in " + config.getFirstAlertDays() + " days");
-            totalAlertsSent += sendRenewalAlerts(config.getSecondAlertDays(),
+            stages.putIfAbsent(config.getSecondAlertDays(),
                     "Reminder: Your policy will expire in " + config.getSecondAlertDays() + " days");
-            totalAlertsSent += sendRenewalAlerts(config.getFinalAlertDays(),
+            stages.putIfAbsent(config.getFinalAlertDays(),
                     "URGENT: Your policy will expire in " + config.getFinalAlertDays() + " days!");
+            totalAlertsSent = renewalAlertJob.run("MANUAL-" + System.currentTimeMillis(), stages);
         }
 
         int expiredCount = 0;
         if (config.getAutoExpireEnabled()) {
-            List<Policy> expiredPolicies = policyRepository.findExpiredActivePolicies(LocalDate.now());
-            for (Policy policy : expiredPolicies) {
-                expirePolicy(policy);
-                expiredCount++;
-            }
+            expiredCount = transactionTemplate.execute(status -> {
+                List<Policy> expiredPolicies = policyRepository.findExpiredActivePolicies(LocalDate.now());
+                expiredPolicies.forEach(this::expirePolicy);
+                return expiredPolicies.size();
+            });
         }
 
         result.put("alertsSent", totalAlertsSent);
@@ -235,6 +237,7 @@ public class RenewalService {
         policy.setRenewalDate(newRenewalDate);
         policy.setPolicyStatus("Active");
         Policy savedPolicy = policyRepository.save(policy);
+        policyCatalogCache.invalidate();
 
         // Audit log
         auditLogService.logAction(
@@ -336,63 +339,6 @@ public class RenewalService {
         return renewalConfigRepository.save(config);
     }
 
-    private int sendRenewalAlerts(int daysBeforeExpiry, String alertMessage) {
-        LocalDate today = LocalDate.now();
-        LocalDate targetDate = today.plusDays(daysBeforeExpiry);
-
-        // Find policies expiring on this exact date
-        List<Policy> policies = policyRepository.findByRenewalDateBetween(targetDate, targetDate);
-
-        int alertCount = 0;
-        for (Policy policy : policies) {
-            // Notify enrolled employees
-            List<Enrollment> enrollments = enrollmentRepository.findActiveEnrollmentsByPolicyId(policy.getId());
-
-            for (Enrollment enrollment : enrollments) {
-                // In-app notification
-                inAppNotificationService.createNotification(
-                        "Policy Renewal Alert",
-                        alertMessage + " - " + policy.getPolicyName(),
-                        enrollment.getEmployee().getId(),
-                        "EMPLOYEE",
-                        "RENEWAL"
-                );
-
-                // Email notification
-                try {
-                    notificationService.sendRenewalAlertEmail(
-                            enrollment.getEmployee().getEmail(),
-                            enrollment.getEmployee().getName(),
-                            policy.getPolicyName(),
-                            policy.getRenewalDate(),
-                            daysBeforeExpiry
-                    );
-                } catch (Exception e) {
-                    log.error("Failed to send renewal alert email: {}", e.getMessage());
-                }
-
-                alertCount++;
-            }
-
-            // Also notify HR and Admin
-            inAppNotificationService.createNotificationForRole(
-                    "Policy Expiring Soon",
-                    policy.getPolicyName() + " expires in " + daysBeforeExpiry + " days",
-                    "HR",
-                    "RENEWAL"
-            );
-
-            inAppNotificationService.createNotificationForRole(
-                    "Policy Expiring Soon",
-                    policy.getPolicyName() + " expires in " + daysBeforeExpiry + " days",
-                    "ADMIN",
-                    "RENEWAL"
-            );
-        }
-
-        return alertCount;
-    }
-
     private void expirePolicy(Policy policy) {
         LocalDate oldRenewalDate = policy.getRenewalDate();
 
@@ -409,36 +355,39 @@ public class RenewalService {
         // Update policy status
         policy.setPolicyStatus("Expired");
         policyRepository.save(policy);
+        policyCatalogCache.invalidate();
 
         // Notify enrolled employees
         notifyEnrolledEmployees(policy, "Policy Expired",
                 "Your policy " + policy.getPolicyName() + " has expired. Please contact HR for renewal options.");
 
+        // One broadcast row per role; each HR/Admin gets their own read state via the read watermark
+        inAppNotificationService.createNotificationForRole("Policy Expired",
+                policy.getPolicyName() + " has expired", "HR", "RENEWAL");
+        inAppNotificationService.createNotificationForRole("Policy Expired",
+                policy.getPolicyName() + " has expired", "ADMIN", "RENEWAL");
+
         log.info("Policy expired: {} (ID: {})", policy.getPolicyName(), policy.getId());
     }
 
     private void notifyEnrolledEmployees(Policy policy, String title, String message) {
         List<Enrollment> enrollments = enrollmentRepository.findActiveEnrollmentsByPolicyId(policy.getId());
 
+        inAppNotificationService.createNotifications(
+                title,
+                message,
+                enrollments.stream().map(e -> e.getEmployee().getId()).toList(),
+                "EMPLOYEE",
+                "RENEWAL"
+        );
+
         for (Enrollment enrollment : enrollments) {
-            inAppNotificationService.createNotification(
-                    title,
-                    message,
-                    enrollment.getEmployee().getId(),
-                    "EMPLOYEE",
-                    "RENEWAL"
+            notificationService.sendPolicyStatusEmail(
+                    enrollment.getEmployee().getEmail(),
+                    enrollment.getEmployee().getName(),
+                    policy.getPolicyName(),
+                    policy.getPolicyStatus()
             );
-
-            try {
-                notificationService.sendPolicyStatusEmail(
-                        enrollment.getEmployee().getEmail(),
-                        enrollment.getEmployee().getName(),
-                        policy.getPolicyName(),
-                        policy.getPolicyStatus()
-                );
-            } catch (Exception e) {
-                log.error("Failed to send policy status email: {}", e.getMessage());
-            }
         }
     }
 }
@@ -0,0 +1,55 @@
+package com.insurai.insurai_backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Document blobs in the Supabase bucket (private objects), with the same sharded key layout
+ * as the local backend under claim-documents/.
+ */
+@Component
+@ConditionalOnProperty(name = "documents.store.backend", havingValue = "s3")
+@RequiredArgsConstructor
+public class S3DocumentBackend implements DocumentBackend {
+
+    private static final String PREFIX = "claim-documents/";
+
+    private final SupabaseStorageService storageService;
+
+    private static String keyOf(String sha256) {
+        return PREFIX + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+
+    @Override
+    public boolean exists(String sha256) {
+        return storageService.exists(keyOf(sha256));
+    }
+
+    @Override
+    public void put(String sha256, Path content, String contentType) throws IOException {
+        storageService.uploadFile(content, keyOf(sha256), contentType);
+        Files.deleteIfExists(content);
+    }
+
+    @Override
+    public void delete(String sha256) {
+        storageService.deleteFile(keyOf(sha256));
+    }
+
+    @Override
+    public void transferTo(String sha256, long position, long count, WritableByteChannel target) throws IOException {
+        if (count <= 0) return;
+        try (InputStream in = storageService.openRange(keyOf(sha256), position, position + count - 1)) {
+            in.transferTo(Channels.newOutputStream(target));
+        }
+    }
+}
@@ -1,21 +1,57 @@
 package com.insurai.insurai_backend.service;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
+/**
+ * Uploads files to Supabase Storage through its S3-compatible API.
+ *
+ * Files are streamed from the multipart InputStream, never read fully into memory.
+ * Files below the multipart threshold go up in a single PUT with a known content
+ * length. Larger files use an S3 multipart upload: parts are read into buffers from
+ * a fixed pool shared by all uploads and sent in parallel, so upload memory is
+ * bounded by buffer-count x part-size regardless of file size or concurrency.
+ */
 @Service
 public class SupabaseStorageService {
 
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024; // S3 minimum for all but the last part
+
     @Value("${supabase.url}")
     private String supabaseUrl; //
 
@@ -31,9 +67,35 @@ public class SupabaseStorageService {
     @Value("${supabase.region:ap-south-1}")
     private String region;
 
+    @Value("${supabase.upload.multipart-threshold-bytes:8388608}")
+    private long multipartThreshold;
+
+    @Value("${supabase.upload.part-size-bytes:5242880}")
+    private int partSize;
+
+    @Value("${supabase.upload.buffer-count:4}")
+    private int bufferCount;
+
     private S3Client s3Client;
 
-    private void initS3Client() {
+    // Part buffers, allocated on first use and reused; at most bufferCount exist
+    private BlockingQueue<byte[]> buffers;
+    private final AtomicInteger allocatedBuffers = new AtomicInteger();
+    private ExecutorService partUploader;
+
+    @PostConstruct
+    public void init() {
+        partSize = Math.max(partSize, MIN_PART_SIZE);
+        buffers = new ArrayBlockingQueue<>(bufferCount);
+        AtomicInteger threadNumber = new AtomicInteger();
+        partUploader = Executors.newFixedThreadPool(bufferCount, runnable -> {
+            Thread thread = new Thread(runnable, "storage-part-upload-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private synchronized void initS3Client() {
         if (s3Client == null) {
             s3Client = S3Client.builder()
                     .endpointOverride(java.net.URI.create(supabaseUrl))
@@ -43,6 +105,7 @@ public class SupabaseStorageService {
                             )
                     )
                     .region(Region.of(region))
+                    .forcePathStyle(true) // Supabase (and other S3-compatible stores) use path-style URLs
                     .build();
         }
     }
@@ -54,14 +117,8 @@ public class SupabaseStorageService {
             throw new RuntimeException("File is empty or null");
         }
 
-        try {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(path)
-                    .acl("public-read") // optional: make file public
-                    .build();
-
-            s3Client.putObject(request, RequestBody.fromBytes(file.getBytes()));
+        try (InputStream in = file.getInputStream()) {
+            upload(in, file.getSize(), path, file.getContentType());
 
             // Construct public URL
             return String.format("%s/%s/%s", supabaseUrl, bucketName, path);
@@ -72,4 +129,174 @@ public class SupabaseStorageService {
             throw new RuntimeException("Failed to upload file: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Upload a local file (private object, no public-read ACL).
+     */
+    public void uploadFile(Path file, String path, String contentType) {
+        initS3Client();
+
+        try (InputStream in = Files.newInputStream(file)) {
+            upload(in, Files.size(file), path, contentType, null);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading file: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to upload file: " + e.getMessage(), e);
+        }
+    }
+
+    private void upload(InputStream in, long size, String path, String contentType) throws Exception {
+        upload(in, size, path, contentType, "public-read"); // optional: make file public
+    }
+
+    private void upload(InputStream in, long size, String path, String contentType, String acl) throws Exception {
+        if (size < multipartThreshold) {
+            PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(path)
+                    .contentType(contentType)
+                    .acl(acl)
+                    .build();
+
+            s3Client.putObject(request, RequestBody.fromInputStream(in, size));
+        } else {
+            uploadMultipart(in, path, contentType, acl);
+        }
+    }
+
+    public boolean exists(String path) {
+        initS3Client();
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(path).build());
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return false;
+            throw e;
+        }
+    }
+
+    /**
+     * Stream bytes [start, endInclusive] of an object.
+     */
+    public InputStream openRange(String path, long start, long endInclusive) {
+        initS3Client();
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(path)
+                .range("bytes=" + start + "-" + endInclusive)
+                .build());
+    }
+
+    public void deleteFile(String path) {
+        initS3Client();
+        s3Client.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(path)
+                .build());
+    }
+
+    // -------------------- Multipart upload --------------------
+
+    private void uploadMultipart(InputStream in, String path, String contentType, String acl) throws Exception {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(path)
+                .contentType(contentType)
+                .acl(acl)
+                .build()).uploadId();
+
+        List<Future<CompletedPart>> parts = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            boolean lastPart = false;
+            while (!lastPart) {
+                byte[] buffer = acquireBuffer();
+                int length;
+                try {
+                    length = in.readNBytes(buffer, 0, partSize);
+                } catch (IOException e) {
+                    buffers.offer(buffer);
+                    throw e;
+                }
+                if (length == 0) {
+                    buffers.offer(buffer);
+                    break;
+                }
+                lastPart = length < partSize;
+
+                int number = partNumber++;
+                parts.add(partUploader.submit(() -> uploadPart(path, uploadId, number, buffer, length)));
+            }
+
+            List<CompletedPart> completed = new ArrayList<>(parts.size());
+            for (Future<CompletedPart> part : parts) {
+                completed.add(part.get());
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(path)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build());
+
+        } catch (Exception e) {
+            // Let in-flight parts finish (they return their buffers), then drop the stored parts.
+            // When interrupted, stop waiting and keep the interrupt for the caller.
+            boolean interrupted = e instanceof InterruptedException;
+            for (Future<CompletedPart> part : parts) {
+                if (interrupted) break;
+                try {
+                    part.get();
+                } catch (ExecutionException ignored) {
+                    // already failing
+                } catch (InterruptedException ie) {
+                    interrupted = true;
+                }
+            }
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(path)
+                    .uploadId(uploadId)
+                    .build());
+            if (interrupted) Thread.currentThread().interrupt();
+            throw e instanceof ExecutionException && e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private CompletedPart uploadPart(String path, String uploadId, int partNumber, byte[] buffer, int length) {
+        try {
+            UploadPartRequest request = UploadPartRequest.builder()
+                    .bucket(bucketName)
+                    .key(path)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength((long) length)
+                    .build();
+
+            // Content provider re-reads the buffer on retries without copying it
+            String eTag = s3Client.uploadPart(request, RequestBody.fromContentProvider(
+                    () -> new ByteArrayInputStream(buffer, 0, length), length, "application/octet-stream")).eTag();
+
+            return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+        } finally {
+            buffers.offer(buffer);
+        }
+    }
+
+    private byte[] acquireBuffer() throws InterruptedException {
+        byte[] buffer = buffers.poll();
+        if (buffer != null) return buffer;
+
+        if (allocatedBuffers.getAndUpdate(n -> n < bufferCount ? n + 1 : n) < bufferCount) {
+            return new byte[partSize];
+        }
+        return buffers.take(); // all buffers in use: wait for a part to finish
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partUploader.shutdownNow();
+        if (s3Client != null) s3Client.close();
+    }
 }
@@ -0,0 +1,314 @@
+-- Baseline schema, matching the JPA entities in com.insurai.insurai_backend.model.
+--
+-- Only runs on an empty database: existing databases are baselined at V1
+-- (spring.flyway.baseline-on-migrate) and keep the tables ddl-auto created for them.
+-- The secondary indexes of the hot finders are added by V2, not here.
+
+CREATE TABLE admins (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_admins_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE agents (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255),
+    available BIT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_agents_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE agent_availability (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    agent_id BIGINT NOT NULL,
+    available BIT NOT NULL,
+    start_time DATETIME(6),
+    end_time DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_agent_availability_agent FOREIGN KEY (agent_id) REFERENCES agents (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE hrs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    hr_id VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_hrs_email UNIQUE (email),
+    CONSTRAINT uk_hrs_hr_id UNIQUE (hr_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE employees (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id VARCHAR(255) NOT NULL,
+    name VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    role ENUM('EMPLOYEE', 'HR', 'ADMIN'),
+    active BIT NOT NULL,
+    reset_token VARCHAR(100),
+    reset_token_expiry DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employees_employee_id UNIQUE (employee_id),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE policies (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    policy_number VARCHAR(255) NOT NULL,
+    policy_name VARCHAR(255) NOT NULL,
+    policy_type VARCHAR(255) NOT NULL,
+    provider_name VARCHAR(255) NOT NULL,
+    coverage_amount DOUBLE NOT NULL,
+    monthly_premium DOUBLE NOT NULL,
+    start_date DATE NOT NULL,
+    renewal_date DATE NOT NULL,
+    policy_status VARCHAR(255) NOT NULL,
+    policy_description TEXT,
+    contract_url VARCHAR(255),
+    terms_url VARCHAR(255),
+    claim_form_url VARCHAR(255),
+    annexure_url VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_policies_policy_number UNIQUE (policy_number)
+) ENGINE=InnoDB;
+
+CREATE TABLE claims (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(2000),
+    amount DOUBLE NOT NULL,
+    claim_date DATETIME(6) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    remarks VARCHAR(2000),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    employee_id BIGINT NOT NULL,
+    policy_id BIGINT NOT NULL,
+    assigned_hr_id BIGINT,
+    fraud_flag BIT NOT NULL,
+    fraud_reason VARCHAR(2000),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_claims_employee FOREIGN KEY (employee_id) REFERENCES employees (id),
+    CONSTRAINT fk_claims_policy FOREIGN KEY (policy_id) REFERENCES policies (id),
+    CONSTRAINT fk_claims_assigned_hr FOREIGN KEY (assigned_hr_id) REFERENCES hrs (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE claim_documents (
+    claim_id BIGINT NOT NULL,
+    document_path VARCHAR(255),
+    CONSTRAINT fk_claim_documents_claim FOREIGN KEY (claim_id) REFERENCES claims (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE enrollments (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT NOT NULL,
+    policy_id BIGINT NOT NULL,
+    assigned_hr_id BIGINT,
+    status VARCHAR(255) NOT NULL,
+    enrollment_date DATE NOT NULL,
+    effective_date DATE,
+    termination_date DATE,
+    coverage_type VARCHAR(255) NOT NULL,
+    premium_amount DOUBLE NOT NULL,
+    request_reason VARCHAR(1000),
+    remarks VARCHAR(2000),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_enrollments_employee FOREIGN KEY (employee_id) REFERENCES employees (id),
+    CONSTRAINT fk_enrollments_policy FOREIGN KEY (policy_id) REFERENCES policies (id),
+    CONSTRAINT fk_enrollments_assigned_hr FOREIGN KEY (assigned_hr_id) REFERENCES hrs (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE dependents (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    enrollment_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    relationship VARCHAR(255) NOT NULL,
+    date_of_birth DATE NOT NULL,
+    dependent_id VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_dependents_enrollment FOREIGN KEY (enrollment_id) REFERENCES enrollments (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE employee_queries (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    query_text TEXT NOT NULL,
+    response TEXT,
+    status VARCHAR(255) NOT NULL,
+    policy_name VARCHAR(255),
+    claim_type VARCHAR(255),
+    employee_id BIGINT NOT NULL,
+    agent_id BIGINT NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_employee_queries_employee FOREIGN KEY (employee_id) REFERENCES employees (id),
+    CONSTRAINT fk_employee_queries_agent FOREIGN KEY (agent_id) REFERENCES agents (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE reimbursements (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    claim_id BIGINT NOT NULL,
+    employee_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    claim_amount DOUBLE NOT NULL,
+    approved_amount DOUBLE NOT NULL,
+    deductible_amount DOUBLE NOT NULL,
+    settlement_amount DOUBLE NOT NULL,
+    payment_method VARCHAR(255) NOT NULL,
+    transaction_reference_id VARCHAR(255),
+    bank_account_number VARCHAR(255),
+    initiated_date DATE NOT NULL,
+    processed_date DATE,
+    completed_date DATE,
+    processed_by VARCHAR(255),
+    remarks VARCHAR(2000),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_reimbursements_claim_id UNIQUE (claim_id),
+    CONSTRAINT fk_reimbursements_claim FOREIGN KEY (claim_id) REFERENCES claims (id),
+    CONSTRAINT fk_reimbursements_employee FOREIGN KEY (employee_id) REFERENCES employees (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE notifications (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    target_role VARCHAR(255) NOT NULL,
+    target_id BIGINT,
+    notification_type VARCHAR(255) NOT NULL,
+    read_status BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE notifications_archive (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    target_role VARCHAR(255) NOT NULL,
+    target_id BIGINT,
+    notification_type VARCHAR(255) NOT NULL,
+    read_status BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_notification_archive_target (target_id, target_role, id)
+) ENGINE=InnoDB;
+
+CREATE TABLE notification_read_watermarks (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    last_read_id BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_notification_watermark_user_role UNIQUE (user_id, role)
+) ENGINE=InnoDB;
+
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id VARCHAR(255),
+    user_name VARCHAR(255),
+    role VARCHAR(255),
+    action VARCHAR(255),
+    details VARCHAR(255),
+    `timestamp` DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE document_fingerprints (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sha256 VARCHAR(64) NOT NULL,
+    claim_id BIGINT NOT NULL,
+    employee_id BIGINT,
+    document_path VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE INDEX uk_document_fingerprints_sha256 (sha256)
+) ENGINE=InnoDB;
+
+CREATE TABLE stored_documents (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sha256 VARCHAR(64) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    content_type VARCHAR(100),
+    original_filename VARCHAR(255),
+    ref_count INTEGER NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE INDEX uk_stored_documents_sha256 (sha256),
+    INDEX idx_stored_documents_unreferenced (ref_count, updated_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE mail_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    html_body MEDIUMTEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    locked_at DATETIME(6),
+    last_error VARCHAR(2000),
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_mail_outbox_status_next_attempt (status, next_attempt_at, id)
+) ENGINE=InnoDB;
+
+CREATE TABLE renewal_config (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    alerts_enabled BIT NOT NULL,
+    first_alert_days INTEGER NOT NULL,
+    second_alert_days INTEGER NOT NULL,
+    final_alert_days INTEGER NOT NULL,
+    auto_expire_enabled BIT NOT NULL,
+    last_modified_at DATETIME(6),
+    last_modified_by VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE renewal_history (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    policy_id BIGINT NOT NULL,
+    old_renewal_date DATE NOT NULL,
+    new_renewal_date DATE NOT NULL,
+    renewed_by VARCHAR(255) NOT NULL,
+    renewal_type VARCHAR(255) NOT NULL,
+    renewed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_renewal_history_policy FOREIGN KEY (policy_id) REFERENCES policies (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE renewal_job_checkpoints (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    run_key VARCHAR(100) NOT NULL,
+    run_date DATE NOT NULL,
+    alert_days INTEGER NOT NULL,
+    policy_id BIGINT NOT NULL,
+    alert_message VARCHAR(500) NOT NULL,
+    last_enrollment_id BIGINT NOT NULL,
+    alerts_sent INTEGER NOT NULL,
+    completed BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_renewal_checkpoint_run_stage_policy UNIQUE (run_key, alert_days, policy_id),
+    INDEX idx_renewal_checkpoint_date_completed (run_date, completed)
+) ENGINE=InnoDB;
@@ -0,0 +1,68 @@
+-- Secondary indexes for the hot repository finders.
+--
+-- The same indexes are declared with @Index on the entities. This script adds them to
+-- the V1 schema and to existing databases baselined at V1. Each index is created online
+-- (INPLACE, LOCK=NONE) and only if its table exists and the index does not, so it is
+-- safe on databases where ddl-auto already created some of them.
+
+DROP PROCEDURE IF EXISTS insurai_add_index;
+
+DELIMITER //
+CREATE PROCEDURE insurai_add_index(IN tbl VARCHAR(64), IN idx VARCHAR(64), IN cols VARCHAR(255))
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables
+               WHERE table_schema = DATABASE() AND table_name = tbl)
+       AND NOT EXISTS (SELECT 1 FROM information_schema.statistics
+                       WHERE table_schema = DATABASE() AND table_name = tbl AND index_name = idx) THEN
+        SET @ddl = CONCAT('CREATE INDEX ', idx, ' ON ', tbl, ' (', cols, ') ALGORITHM=INPLACE LOCK=NONE');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+DELIMITER ;
+
+
+-- claims
+CALL insurai_add_index('claims', 'idx_claim_hr_status', 'assigned_hr_id, status');
+CALL insurai_add_index('claims', 'idx_claim_employee_status', 'employee_id, status');
+CALL insurai_add_index('claims', 'idx_claim_status_id', 'status, id');
+CALL insurai_add_index('claims', 'idx_claim_fraud_id', 'fraud_flag, id');
+
+-- notifications
+CALL insurai_add_index('notifications', 'idx_notification_user_unread', 'target_id, target_role, read_status, id');
+CALL insurai_add_index('notifications', 'idx_notification_target_read_created', 'target_id, read_status, created_at');
+CALL insurai_add_index('notifications', 'idx_notification_role_type_created', 'target_role, notification_type, created_at');
+CALL insurai_add_index('notifications', 'idx_notification_type_created', 'notification_type, created_at');
+
+-- enrollments
+CALL insurai_add_index('enrollments', 'idx_enrollment_employee_status', 'employee_id, status');
+CALL insurai_add_index('enrollments', 'idx_enrollment_policy_status', 'policy_id, status');
+CALL insurai_add_index('enrollments', 'idx_enrollment_hr_status', 'assigned_hr_id, status');
+CALL insurai_add_index('enrollments', 'idx_enrollment_status', 'status');
+
+-- employee_queries
+CALL insurai_add_index('employee_queries', 'idx_employee_query_employee_status', 'employee_id, status');
+CALL insurai_add_index('employee_queries', 'idx_employee_query_agent_status', 'agent_id, status');
+CALL insurai_add_index('employee_queries', 'idx_employee_query_status', 'status');
+
+-- reimbursements
+CALL insurai_add_index('reimbursements', 'idx_reimbursement_employee_status', 'employee_id, status');
+CALL insurai_add_index('reimbursements', 'idx_reimbursement_status_completed', 'status, completed_date');
+CALL insurai_add_index('reimbursements', 'idx_reimbursement_completed_date', 'completed_date');
+CALL insurai_add_index('reimbursements', 'idx_reimbursement_processed_date', 'processed_date');
+
+-- policies
+CALL insurai_add_index('policies', 'idx_policy_renewal_status', 'renewal_date, policy_status');
+CALL insurai_add_index('policies', 'idx_policy_status', 'policy_status');
+
+-- employees
+CALL insurai_add_index('employees', 'idx_employee_reset_token', 'reset_token');
+
+-- audit_logs
+CALL insurai_add_index('audit_logs', 'idx_audit_user_id', 'user_id, id');
+CALL insurai_add_index('audit_logs', 'idx_audit_action_id', 'action, id');
+CALL insurai_add_index('audit_logs', 'idx_audit_role_id', 'role, id');
+CALL insurai_add_index('audit_logs', 'idx_audit_timestamp', 'timestamp');
+
+DROP PROCEDURE insurai_add_index;
@@ -0,0 +1,27 @@
+-- Index for MailOutboxRetentionJob, which deletes SENT mail_outbox rows by sent_at.
+--
+-- Declared with @Index on MailOutboxMessage as well; created online and only if
+-- missing, like the V2 indexes.
+
+DROP PROCEDURE IF EXISTS insurai_add_index;
+
+DELIMITER //
+CREATE PROCEDURE insurai_add_index(IN tbl VARCHAR(64), IN idx VARCHAR(64), IN cols VARCHAR(255))
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables
+               WHERE table_schema = DATABASE() AND table_name = tbl)
+       AND NOT EXISTS (SELECT 1 FROM information_schema.statistics
+                       WHERE table_schema = DATABASE() AND table_name = tbl AND index_name = idx) THEN
+        SET @ddl = CONCAT('CREATE INDEX ', idx, ' ON ', tbl, ' (', cols, ') ALGORITHM=INPLACE LOCK=NONE');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+DELIMITER ;
+
+
+-- mail_outbox
+CALL insurai_add_index('mail_outbox', 'idx_mail_outbox_status_sent', 'status, sent_at, id');
+
+DROP PROCEDURE insurai_add_index;
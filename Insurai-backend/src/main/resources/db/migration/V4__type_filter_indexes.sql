@@ -0,0 +1,33 @@
+-- Indexes for the policy and renewal history finders that filter by type or provider
+-- (PolicyRepository.findByPolicyType, findByProviderName and
+-- RenewalHistoryRepository.findByRenewalType), which read the whole table before.
+--
+-- Declared with @Index on the entities as well; created online and only if missing,
+-- like the V2 indexes.
+
+DROP PROCEDURE IF EXISTS insurai_add_index;
+
+DELIMITER //
+CREATE PROCEDURE insurai_add_index(IN tbl VARCHAR(64), IN idx VARCHAR(64), IN cols VARCHAR(255))
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables
+               WHERE table_schema = DATABASE() AND table_name = tbl)
+       AND NOT EXISTS (SELECT 1 FROM information_schema.statistics
+                       WHERE table_schema = DATABASE() AND table_name = tbl AND index_name = idx) THEN
+        SET @ddl = CONCAT('CREATE INDEX ', idx, ' ON ', tbl, ' (', cols, ') ALGORITHM=INPLACE LOCK=NONE');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+DELIMITER ;
+
+
+-- policies
+CALL insurai_add_index('policies', 'idx_policy_type', 'policy_type');
+CALL insurai_add_index('policies', 'idx_policy_provider', 'provider_name');
+
+-- renewal_history
+CALL insurai_add_index('renewal_history', 'idx_renewal_history_type', 'renewal_type');
+
+DROP PROCEDURE insurai_add_index;
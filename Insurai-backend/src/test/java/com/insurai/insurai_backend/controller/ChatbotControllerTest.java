@@ -0,0 +1,137 @@
+package com.insurai.insurai_backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
+import com.insurai.insurai_backend.config.JwtPrincipal;
+import com.insurai.insurai_backend.config.JwtUtil;
+import com.insurai.insurai_backend.config.SecurityConfig;
+import com.insurai.insurai_backend.config.StreamTicketStore;
+import com.insurai.insurai_backend.service.ChatbotContextCache;
+import com.insurai.insurai_backend.service.ChatbotIntentClassifier;
+import com.insurai.insurai_backend.service.ChatbotResponseCache;
+import com.insurai.insurai_backend.service.CohereChatClient;
+import com.insurai.insurai_backend.service.EmployeeService;
+import com.insurai.insurai_backend.service.NotificationService;
+
+/**
+ * POST /employee/chatbot/stream through the real security chain, including the async
+ * dispatch that writes out the SSE response once the answer has streamed.
+ */
+@WebMvcTest(ChatbotController.class)
+@Import(SecurityConfig.class)
+class ChatbotControllerTest {
+
+	private static final String QUESTION = "{\"message\":\"What is a deductible?\"}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private JwtUtil jwtUtil;
+
+	@MockBean
+	private AuthenticatedUserResolver userResolver;
+
+	@MockBean
+	private StreamTicketStore streamTicketStore;
+
+	@MockBean
+	private ChatbotContextCache contextCache;
+
+	@MockBean
+	private ChatbotIntentClassifier intentClassifier;
+
+	@MockBean
+	private CohereChatClient cohereClient;
+
+	@MockBean
+	private ChatbotResponseCache responseCache;
+
+	@MockBean
+	private EmployeeService employeeService;
+
+	@MockBean
+	private NotificationService notificationService;
+
+	@BeforeEach
+	void setUp() {
+		when(jwtUtil.parse("employee-token"))
+				.thenReturn(new JwtPrincipal("emp@insurai.com", "EMPLOYEE", Instant.now().plusSeconds(3600)));
+		when(userResolver.resolve("emp@insurai.com", "EMPLOYEE"))
+				.thenReturn(Optional.of(new AuthenticatedUser(3L, "Emp", "emp@insurai.com", "EMPLOYEE", "E-3")));
+
+		ChatbotContextCache.Context context = mock(ChatbotContextCache.Context.class);
+		when(context.policies()).thenReturn(List.of());
+		when(contextCache.forEmployee(any())).thenReturn(context);
+		when(intentClassifier.classify(anyString())).thenReturn(ChatbotIntentClassifier.GENERAL);
+		when(cohereClient.isConfigured()).thenReturn(true);
+	}
+
+	@Test
+	void streamedAnswerIsWrittenOnAsyncDispatch() throws Exception {
+		AtomicReference<Consumer<String>> onToken = new AtomicReference<>();
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+		when(cohereClient.streamChat(anyString(), isNull(), any())).thenAnswer(invocation -> {
+			onToken.set(invocation.getArgument(2));
+			return upstream;
+		});
+
+		MvcResult started = mockMvc.perform(post("/employee/chatbot/stream")
+						.header("Authorization", "Bearer employee-token")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(QUESTION))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		// Tokens arrive after the request thread has returned
+		onToken.get().accept("A deductible ");
+		onToken.get().accept("is what you pay first.");
+		upstream.complete("A deductible is what you pay first.");
+
+		MvcResult completed = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andReturn();
+
+		String body = completed.getResponse().getContentAsString();
+		assertThat(body)
+				.contains("event:token\ndata:{\"text\":\"A deductible \"}")
+				.contains("event:token\ndata:{\"text\":\"is what you pay first.\"}")
+				.contains("event:done\ndata:{\"text\":\"A deductible is what you pay first.\"}");
+	}
+
+	@Test
+	void streamRequiresEmployeeToken() throws Exception {
+		mockMvc.perform(post("/employee/chatbot/stream")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(QUESTION))
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,99 @@
+package com.insurai.insurai_backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
+import com.insurai.insurai_backend.config.JwtUtil;
+import com.insurai.insurai_backend.model.Claim;
+import com.insurai.insurai_backend.model.Employee;
+import com.insurai.insurai_backend.model.Policy;
+import com.insurai.insurai_backend.repository.EmployeeRepository;
+import com.insurai.insurai_backend.repository.PolicyRepository;
+import com.insurai.insurai_backend.service.AuditLogService;
+import com.insurai.insurai_backend.service.ChatbotContextCache;
+import com.insurai.insurai_backend.service.ClaimDocumentStore;
+import com.insurai.insurai_backend.service.ClaimService;
+
+/**
+ * ClaimController releasing stored documents when a claim is not saved.
+ */
+class ClaimControllerTest {
+
+	private static final String AUTH = "Bearer token";
+
+	private final ClaimService claimService = mock(ClaimService.class);
+	private final PolicyRepository policyRepository = mock(PolicyRepository.class);
+	private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+	private final ClaimDocumentStore documentStore = mock(ClaimDocumentStore.class);
+	private final ClaimController controller = new ClaimController();
+
+	private final MultipartFile bill = new MockMultipartFile("documents", "bill.pdf", "application/pdf", new byte[] {1});
+	private final MultipartFile scan = new MockMultipartFile("documents", "scan.pdf", "application/pdf", new byte[] {2});
+
+	@BeforeEach
+	void setUp() {
+		JwtUtil jwtUtil = mock(JwtUtil.class);
+		AuthenticatedUserResolver userResolver = mock(AuthenticatedUserResolver.class);
+		when(jwtUtil.extractEmail("token")).thenReturn("emp@insurai.com");
+		when(jwtUtil.extractRole("token")).thenReturn("EMPLOYEE");
+		when(userResolver.resolve("emp@insurai.com", "EMPLOYEE"))
+				.thenReturn(Optional.of(new AuthenticatedUser(3L, "Emp", "emp@insurai.com", "EMPLOYEE", "E-3")));
+
+		Policy policy = new Policy();
+		policy.setCoverageAmount(1000.0);
+		when(policyRepository.findById(9L)).thenReturn(Optional.of(policy));
+		when(employeeRepository.getReferenceById(3L)).thenReturn(new Employee());
+
+		ReflectionTestUtils.setField(controller, "claimService", claimService);
+		ReflectionTestUtils.setField(controller, "policyRepository", policyRepository);
+		ReflectionTestUtils.setField(controller, "employeeRepository", employeeRepository);
+		ReflectionTestUtils.setField(controller, "jwtUtil", jwtUtil);
+		ReflectionTestUtils.setField(controller, "userResolver", userResolver);
+		ReflectionTestUtils.setField(controller, "auditLogService", mock(AuditLogService.class));
+		ReflectionTestUtils.setField(controller, "documentStore", documentStore);
+		ReflectionTestUtils.setField(controller, "chatbotContextCache", mock(ChatbotContextCache.class));
+	}
+
+	@Test
+	void overCoverageSubmissionReleasesStoredDocuments() throws Exception {
+		when(documentStore.store(bill)).thenReturn("hash-bill");
+		when(documentStore.store(scan)).thenReturn("hash-scan");
+		when(claimService.submitClaim(any(Claim.class))).thenThrow(new Exception("Claim amount exceeds policy coverage!"));
+
+		ResponseEntity<?> response = controller.submitClaim(AUTH, 9L, "Surgery", "Knee", 5000.0, "2026-10-01",
+				List.of(bill, scan));
+
+		assertThat(response.getStatusCode().value()).isEqualTo(400);
+		assertThat(response.getBody()).asString().contains("exceeds policy coverage");
+		verify(documentStore).release(List.of("hash-bill", "hash-scan"));
+	}
+
+	@Test
+	void failedUploadReleasesTheDocumentsAlreadyStored() throws Exception {
+		when(documentStore.store(bill)).thenReturn("hash-bill");
+		when(documentStore.store(scan)).thenThrow(new RuntimeException("Failed to store file scan.pdf"));
+
+		ResponseEntity<?> response = controller.submitClaim(AUTH, 9L, "Surgery", "Knee", 500.0, "2026-10-01",
+				List.of(bill, scan));
+
+		assertThat(response.getStatusCode().value()).isEqualTo(400);
+		verify(documentStore).release(List.of("hash-bill"));
+		verify(claimService, never()).submitClaim(any(Claim.class));
+	}
+}
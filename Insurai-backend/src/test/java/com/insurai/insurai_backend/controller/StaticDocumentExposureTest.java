@@ -0,0 +1,132 @@
+package com.insurai.insurai_backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.insurai.insurai_backend.config.AuthenticatedUser;
+import com.insurai.insurai_backend.config.AuthenticatedUserResolver;
+import com.insurai.insurai_backend.config.JwtPrincipal;
+import com.insurai.insurai_backend.config.JwtUtil;
+import com.insurai.insurai_backend.config.SecurityConfig;
+import com.insurai.insurai_backend.config.StreamTicketStore;
+import com.insurai.insurai_backend.repository.ClaimRepository;
+import com.insurai.insurai_backend.service.ClaimDocumentStore;
+
+/**
+ * With the shipped configuration, claim documents on disk (legacy uploads and store blobs)
+ * are not served statically to any authenticated user, only through the ownership-checked
+ * GET /claims/{claimId}/documents/{document}.
+ */
+@WebMvcTest(ClaimDocumentController.class)
+@Import(SecurityConfig.class)
+@TestPropertySource(locations = "classpath:application.properties.example")
+class StaticDocumentExposureTest {
+
+	private static final String SHA256 = "ab12cd34ef56ab12cd34ef56ab12cd34ef56ab12cd34ef56ab12cd34ef56ab12";
+	private static final String CONTENT = "medical bill of another employee";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private JwtUtil jwtUtil;
+
+	@MockBean
+	private AuthenticatedUserResolver userResolver;
+
+	@MockBean
+	private StreamTicketStore streamTicketStore;
+
+	@MockBean
+	private ClaimRepository claimRepository;
+
+	@MockBean
+	private ClaimDocumentStore documentStore;
+
+	@Value("${documents.legacy.dir}")
+	private String legacyDir;
+
+	@Value("${documents.store.local.root}")
+	private String storeRoot;
+
+	private final List<Path> files = new ArrayList<>();
+	private final List<Path> createdDirs = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() throws IOException {
+		when(jwtUtil.parse("hr-token"))
+				.thenReturn(new JwtPrincipal("hr@insurai.com", "HR", Instant.now().plusSeconds(3600)));
+		when(userResolver.resolve("hr@insurai.com", "HR"))
+				.thenReturn(Optional.of(new AuthenticatedUser(5L, "Hr", "hr@insurai.com", "HR", null)));
+
+		write(Paths.get(legacyDir, "exposure-test-bill.pdf"));
+		write(Paths.get(storeRoot, SHA256.substring(0, 2), SHA256.substring(2, 4), SHA256));
+		// Store layout that used to sit under the served uploads folder
+		write(Paths.get(legacyDir, "store", SHA256.substring(0, 2), SHA256.substring(2, 4), SHA256));
+	}
+
+	private void write(Path file) throws IOException {
+		for (Path dir = file.toAbsolutePath().getParent(); dir != null && !Files.exists(dir); dir = dir.getParent()) {
+			createdDirs.add(dir);
+		}
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, CONTENT, StandardCharsets.UTF_8);
+		files.add(file);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		for (Path file : files) {
+			Files.deleteIfExists(file);
+		}
+		// Only the directories this test created, deepest first
+		createdDirs.sort(Comparator.comparingInt(Path::getNameCount).reversed());
+		for (Path dir : createdDirs) {
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"/exposure-test-bill.pdf",
+			"/uploads/exposure-test-bill.pdf",
+			"/store/ab/12/" + SHA256,
+			"/uploads/store/ab/12/" + SHA256,
+			"/ab/12/" + SHA256,
+			"/document-store/ab/12/" + SHA256,
+			"/data/document-store/ab/12/" + SHA256,
+	})
+	void documentsOnDiskAreNotServedStatically(String path) throws Exception {
+		MvcResult result = mockMvc.perform(get(path).header("Authorization", "Bearer hr-token"))
+				.andExpect(status().is4xxClientError())
+				.andReturn();
+
+		assertThat(result.getResponse().getContentAsString()).doesNotContain(CONTENT);
+	}
+}
@@ -0,0 +1,172 @@
+package com.insurai.insurai_backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Runs every repository query method against MySQL and EXPLAINs the SQL it issued.
+ * Fails when a query reads any table with a full scan (type ALL), so a new finder (or an
+ * index missing from the migrations) cannot silently fall back to scanning a hot table.
+ * The schema is built by the Flyway migrations, not by ddl-auto, and the InnoDB statistics
+ * are set to those of large tables, so the plans are the ones a production-sized database
+ * gets rather than the full scans MySQL prefers for empty tables.
+ *
+ * Needs Docker; skipped when it is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanTest {
+
+	@Container
+	static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+			.withCommand("--performance-schema-consumer-events-statements-history-long=ON",
+					"--performance-schema-max-sql-text-length=8192");
+
+	// Finders that read every row of their table on purpose
+	private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+			// Admin listing of every availability change, no filter
+			"AgentAvailabilityRepository.findAllByOrderByIdDesc",
+			// Full audit log export (AuditLogService.getAllLogs); the paged views use the keyset finders
+			"AuditLogRepository.findAllByOrderByTimestampDesc",
+			// Every claim with its HR, no filter
+			"ClaimRepository.findAllWithHrDetails",
+			// Loads every fingerprint into the in-memory duplicate index on startup
+			"DocumentFingerprintRepository.streamAllSha256");
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+		registry.add("spring.datasource.username", () -> "root"); // performance_schema access
+		registry.add("spring.datasource.password", MYSQL::getPassword);
+		// Schema and indexes come from the Flyway migrations; Hibernate only checks it matches the entities
+		registry.add("spring.flyway.enabled", () -> "true");
+		registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+	}
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Persistent InnoDB statistics of a large table for every table in the schema
+	@BeforeEach
+	void pretendTablesAreLarge() {
+		jdbcTemplate.update("UPDATE mysql.innodb_table_stats SET n_rows = 1000000, clustered_index_size = 20000 " +
+				"WHERE database_name = DATABASE()");
+		jdbcTemplate.update("UPDATE mysql.innodb_index_stats SET stat_value = 1000000 " +
+				"WHERE database_name = DATABASE() AND stat_name LIKE 'n_diff_pfx%'");
+		// Reloads the statistics just written
+		for (String table : jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables " +
+				"WHERE table_schema = DATABASE() AND table_type = 'BASE TABLE'", String.class)) {
+			jdbcTemplate.execute("FLUSH TABLE `" + table + "`");
+		}
+	}
+
+	@Test
+	void repositoryQueriesUseIndexes() throws Exception {
+		Repositories repositories = new Repositories(context);
+		List<String> violations = new ArrayList<>();
+
+		for (Class<?> domainType : repositories) {
+			Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+			Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+
+			for (Method method : repositoryInterface.getDeclaredMethods()) {
+				if (method.isDefault() || Modifier.isStatic(method.getModifiers())
+						|| method.isAnnotationPresent(Modifying.class)) continue;
+
+				String name = repositoryInterface.getSimpleName() + "." + method.getName();
+				if (FULL_SCAN_ALLOWED.contains(name)) continue;
+
+				for (String sql : executedSelects(repository, method)) {
+					for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+						if ("ALL".equals(row.get("type"))) {
+							violations.add(name + " scans table " + row.get("table") + ": " + sql);
+						}
+					}
+				}
+			}
+		}
+
+		assertThat(violations).isEmpty();
+	}
+
+	// Invoke the finder with sample arguments and return the SELECTs it sent, with literal values
+	private List<String> executedSelects(Object repository, Method method) throws Exception {
+		jdbcTemplate.execute("TRUNCATE TABLE performance_schema.events_statements_history_long");
+
+		Type[] parameterTypes = method.getGenericParameterTypes();
+		Object[] args = new Object[parameterTypes.length];
+		for (int i = 0; i < parameterTypes.length; i++) {
+			args[i] = sampleValue(parameterTypes[i]);
+		}
+
+		Object result = method.invoke(repository, args);
+		if (result instanceof Stream<?> stream) {
+			try (stream) {
+				stream.count();
+			}
+		}
+		entityManager.clear();
+
+		return jdbcTemplate.queryForList(
+				"SELECT SQL_TEXT FROM performance_schema.events_statements_history_long " +
+				"WHERE CURRENT_SCHEMA = DATABASE() AND SQL_TEXT LIKE 'select%' " +
+				"AND SQL_TEXT NOT LIKE '%performance_schema%' ORDER BY EVENT_ID", String.class);
+	}
+
+	private Object sampleValue(Type type) {
+		if (type instanceof ParameterizedType parameterized
+				&& Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+			return List.of(sampleValue(parameterized.getActualTypeArguments()[0]));
+		}
+
+		Class<?> clazz = (Class<?>) type;
+		if (clazz == Long.class || clazz == long.class) return 1L;
+		if (clazz == Integer.class || clazz == int.class) return 1;
+		if (clazz == Boolean.class || clazz == boolean.class) return true;
+		if (clazz == String.class) return "Pending";
+		if (clazz == LocalDate.class) return LocalDate.now();
+		if (clazz == LocalDateTime.class) return LocalDateTime.now();
+		if (clazz == Pageable.class) return PageRequest.of(0, 20);
+		if (clazz.isAnnotationPresent(Entity.class)) return entityManager.getReference(clazz, 1L);
+		throw new IllegalArgumentException("No sample value for parameter type " + clazz.getName());
+	}
+}
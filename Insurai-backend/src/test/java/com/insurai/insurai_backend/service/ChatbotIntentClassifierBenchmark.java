@@ -0,0 +1,101 @@
+package com.insurai.insurai_backend.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Compares ChatbotIntentClassifier with the regex chain ChatbotController.detectIntent used before it.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.insurai.insurai_backend.service.ChatbotIntentClassifierBenchmark
+ *
+ * Runs inside the exec:java JVM (@Fork(0)): a forked JVM would not get the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(0)
+public class ChatbotIntentClassifierBenchmark {
+
+	// Lowercased and trimmed, as the controller passes them
+	private static final String[] MESSAGES = {
+			"what is the status of my claim 42?",
+			"show my claims",
+			"when does my policy expire",
+			"what is the premium of policy gold plan",
+			"who is my assigned agent",
+			"how long does it take to resolve my query",
+			"i want to submit a query about my reimbursement",
+			"can you explain what a deductible is and how it applies to my hospital bills",
+	};
+
+	private ChatbotIntentClassifier classifier;
+
+	@Setup
+	public void setUp() throws Exception {
+		classifier = new ChatbotIntentClassifier(new ClassPathResource("chatbot-intents.txt"));
+		for (String message : MESSAGES) {
+			if (!regexChain(message).equals(classifier.classify(message))) {
+				throw new IllegalStateException("Classifiers disagree on: " + message);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void regexChain(Blackhole blackhole) {
+		for (String message : MESSAGES) {
+			blackhole.consume(regexChain(message));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(8)
+	public void automaton(Blackhole blackhole) {
+		for (String message : MESSAGES) {
+			blackhole.consume(classifier.classify(message));
+		}
+	}
+
+	// The former ChatbotController.detectIntent (also the reference in ChatbotIntentClassifierTest)
+	static String regexChain(String msg) {
+		msg = msg.toLowerCase();
+		if (msg.matches(".*\\b(track|status)\\b.*\\bclaim\\b.*")) return "CLAIM_TRACK";
+		if (msg.matches(".*\\b(my claims|list claims)\\b.*")) return "CLAIM_LIST";
+		if (msg.matches(".*\\b(policy|policies)\\b.*")) {
+			if (msg.contains("expire")) return "POLICY_EXPIRY";
+			if (msg.contains("coverage")) return "POLICY_COVERAGE";
+			if (msg.contains("renew")) return "POLICY_RENEW";
+			if (msg.contains("premium")) return "POLICY_PREMIUM";
+			return "POLICY_INFO";
+		}
+		if (msg.matches(".*\\b(agent reply|last query reply)\\b.*")) return "EMP_QUERY_LAST_REPLY";
+		if (msg.matches(".*\\b(submit|ask)\\b.*\\bquery\\b.*")) return "EMP_QUERY_SUBMIT";
+		if (msg.matches(".*\\b(assigned agent)\\b.*")) return "EMP_QUERY_AGENT";
+		if (msg.matches(".*\\b(query time|how long).*\\bresolve\\b.*")) return "EMP_QUERY_TIME";
+		return "GENERAL";
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder()
+				.include(ChatbotIntentClassifierBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,137 @@
+package com.insurai.insurai_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * ChatbotIntentClassifier with the shipped chatbot-intents.txt, checked against the regex
+ * chain it replaced (ChatbotIntentClassifierBenchmark.regexChain).
+ */
+class ChatbotIntentClassifierTest {
+
+	private static ChatbotIntentClassifier classifier;
+
+	@BeforeAll
+	static void loadRules() throws IOException {
+		classifier = new ChatbotIntentClassifier(new ClassPathResource("chatbot-intents.txt"));
+	}
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', textBlock = """
+			# every intent
+			what is the status of my claim 42?                 | CLAIM_TRACK
+			track claim                                        | CLAIM_TRACK
+			show my claims                                     | CLAIM_LIST
+			list claims please                                 | CLAIM_LIST
+			when does my policy expire                         | POLICY_EXPIRY
+			what is the coverage of this policy                | POLICY_COVERAGE
+			how do i renew my policy                           | POLICY_RENEW
+			what is the premium of policy gold plan            | POLICY_PREMIUM
+			tell me about my policies                          | POLICY_INFO
+			show the agent reply                               | EMP_QUERY_LAST_REPLY
+			what was my last query reply                       | EMP_QUERY_LAST_REPLY
+			i want to submit a query about my reimbursement    | EMP_QUERY_SUBMIT
+			can i ask a query                                  | EMP_QUERY_SUBMIT
+			who is my assigned agent                           | EMP_QUERY_AGENT
+			how long does it take to resolve my query          | EMP_QUERY_TIME
+			what is the query time to resolve it               | EMP_QUERY_TIME
+			can you explain what a deductible is               | GENERAL
+			''                                                 | GENERAL
+			# word boundaries
+			my claimsheet                                      | GENERAL
+			statuses of claim                                  | GENERAL
+			trackclaim                                         | GENERAL
+			policyholder benefits                              | GENERAL
+			my claims!                                         | CLAIM_LIST
+			track-claim                                        | CLAIM_TRACK
+			STATUS OF CLAIM                                    | CLAIM_TRACK
+			# trailing * prefixes
+			my policy expired yesterday                        | POLICY_EXPIRY
+			policy expires soon                                | POLICY_EXPIRY
+			renewal of policy                                  | POLICY_RENEW
+			premiums on my policy                              | POLICY_PREMIUM
+			# overlapping keywords: the first intent in the file wins
+			track status of my claims and claim                | CLAIM_TRACK
+			track my policy claim                              | CLAIM_TRACK
+			my claims under this policy                        | CLAIM_LIST
+			policy coverage and premium                        | POLICY_COVERAGE
+			policy premium expires                             | POLICY_EXPIRY
+			submit a query about my policy                     | POLICY_INFO
+			agent reply from my assigned agent                 | EMP_QUERY_LAST_REPLY
+			ask my assigned agent a query                      | EMP_QUERY_SUBMIT
+			# non-ASCII text around the keywords
+			¿cuál es el status de mi claim?                    | CLAIM_TRACK
+			policy ✓ expire                                    | POLICY_EXPIRY
+			policy’s premium                                   | POLICY_PREMIUM
+			""")
+	void agreesWithRegexChain(String message, String intent) {
+		assertThat(classifier.classify(message)).isEqualTo(intent);
+		assertThat(ChatbotIntentClassifierBenchmark.regexChain(message)).isEqualTo(intent);
+	}
+
+	// Where the rules file deliberately differs from the regex chain
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', textBlock = """
+			# groups match in any order; the regex required track/status before claim
+			claim status                                       | CLAIM_TRACK     | GENERAL
+			resolve it, how long?                              | EMP_QUERY_TIME  | GENERAL
+			# runs of separators count as one
+			my   claims                                        | CLAIM_LIST      | GENERAL
+			# expire* matches word starts; the regex matched the substring anywhere
+			unexpired policy                                   | POLICY_INFO     | POLICY_EXPIRY
+			# how long is a whole phrase; the regex also matched how longer
+			how longer to resolve                              | GENERAL         | EMP_QUERY_TIME
+			""")
+	void differsFromRegexChain(String message, String intent, String regexIntent) {
+		assertThat(classifier.classify(message)).isEqualTo(intent);
+		assertThat(ChatbotIntentClassifierBenchmark.regexChain(message)).isEqualTo(regexIntent);
+	}
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', textBlock = """
+			# non-ASCII letters are part of the word, so they break a keyword
+			claimé status                                      | GENERAL
+			políçy                                             | GENERAL
+			ＣＬＡＩＭ status                                   | GENERAL
+			status ünd claim                                   | CLAIM_TRACK
+			""")
+	void nonAsciiLettersAreWordCharacters(String message, String intent) {
+		assertThat(classifier.classify(message)).isEqualTo(intent);
+	}
+
+	@Test
+	void nullMessageIsGeneral() {
+		assertThat(classifier.classify(null)).isEqualTo(ChatbotIntentClassifier.GENERAL);
+	}
+
+	@Test
+	void customRules() {
+		ChatbotIntentClassifier custom = new ChatbotIntentClassifier("""
+				# comment
+				REFUND = refund* & my  claim | my claims
+				HELLO  = Hello World   # trailing comment
+				""");
+
+		assertThat(custom.classify("refunded for my claim")).isEqualTo("REFUND");
+		assertThat(custom.classify("My Claims were refunds")).isEqualTo("REFUND");
+		assertThat(custom.classify("refund")).isEqualTo(ChatbotIntentClassifier.GENERAL);
+		assertThat(custom.classify("hello,world")).isEqualTo("HELLO");
+		assertThat(custom.classify("hello worlds")).isEqualTo(ChatbotIntentClassifier.GENERAL);
+	}
+
+	@Test
+	void invalidRulesAreRejected() {
+		assertThatThrownBy(() -> new ChatbotIntentClassifier("NO_EQUALS policy"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new ChatbotIntentClassifier("EMPTY = | policy"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
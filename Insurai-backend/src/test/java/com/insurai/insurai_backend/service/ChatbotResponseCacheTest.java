@@ -0,0 +1,81 @@
+package com.insurai.insurai_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.insurai.insurai_backend.model.Policy;
+
+/**
+ * ChatbotResponseCache with its default personal words.
+ */
+class ChatbotResponseCacheTest {
+
+	private final ChatbotResponseCache cache = new ChatbotResponseCache(true, 60_000, 100,
+			Set.of(ChatbotResponseCache.DEFAULT_PERSONAL_WORDS.split(",")));
+
+	private final List<Policy> policies = List.of(policy("Gold Health"));
+
+	private static Policy policy(String name) {
+		Policy policy = new Policy();
+		policy.setPolicyName(name);
+		return policy;
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"am I covered for dental",
+			"what did the agent tell me",
+			"the claim I submitted",
+			"I'm not sure what happened",
+			"I've been charged twice",
+			"why was my claim rejected",
+			"does our plan include vision",
+			"can we add a dependent",
+			"status of claim 42",
+	})
+	void personalQuestions(String question) {
+		assertThat(cache.isPersonal(question)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"what is a deductible",
+			"How does co-payment work?",
+			"explain out-of-network coverage",
+			"what's the waiting period for maternity",
+	})
+	void genericQuestions(String question) {
+		assertThat(cache.isPersonal(question)).isFalse();
+	}
+
+	@Test
+	void genericAnswersAreSharedAcrossFillerWords() {
+		AtomicInteger generated = new AtomicInteger();
+
+		String first = cache.getOrGenerate("What is a deductible?", policies,
+				() -> "answer " + generated.incrementAndGet());
+		String second = cache.getOrGenerate("hi, please tell what is the deductible", policies,
+				() -> "answer " + generated.incrementAndGet());
+
+		assertThat(first).isEqualTo("answer 1");
+		assertThat(second).isEqualTo("answer 1");
+		assertThat(generated).hasValue(1);
+	}
+
+	@Test
+	void policyChangesAndFallbacksAreNotServedFromCache() {
+		cache.put("what is a deductible", policies, CohereChatClient.FALLBACK_ANSWER);
+		assertThat(cache.get("what is a deductible", policies)).isEmpty();
+
+		cache.put("what is a deductible", policies, "answer");
+		assertThat(cache.get("what is a deductible", policies)).contains("answer");
+		assertThat(cache.get("what is a deductible", List.of(policy("Silver Dental")))).isEmpty();
+	}
+}
@@ -0,0 +1,233 @@
+package com.insurai.insurai_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CohereChatClient against a local stub of the chat API.
+ */
+class CohereChatClientTest {
+
+	private HttpServer server;
+	private volatile Stub stub;
+	private final AtomicInteger hits = new AtomicInteger();
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+	private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private CohereChatClient client;
+
+	@FunctionalInterface
+	interface Stub {
+		void handle(HttpExchange exchange) throws Exception;
+	}
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/v1/chat", exchange -> {
+			hits.incrementAndGet();
+			clientPorts.add(exchange.getRemoteAddress().getPort());
+			requests.add(exchange.getRequestHeaders().getFirst("Authorization") + " "
+					+ new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+			try {
+				stub.handle(exchange);
+			} catch (Exception e) {
+				// client went away (timeout tests)
+			} finally {
+				exchange.close();
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+	}
+
+	@AfterEach
+	void stopServer() throws IOException {
+		if (client != null) client.shutdown();
+		server.stop(0);
+	}
+
+	private CohereChatClient client(long readTimeoutMs, int maxConcurrent, int failureThreshold, long openMs) {
+		String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat";
+		client = new CohereChatClient(url, "test-key", "test-model", 4, 1000, readTimeoutMs, 200,
+				maxConcurrent, 0, failureThreshold, openMs, 10000, meterRegistry);
+		return client;
+	}
+
+	private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static void writeLine(OutputStream out, String json) throws IOException {
+		out.write((json + "\n").getBytes(StandardCharsets.UTF_8));
+		out.flush();
+	}
+
+	private double fallbacks(String reason) {
+		return meterRegistry.counter("chatbot.llm.fallbacks", "reason", reason).count();
+	}
+
+	@Test
+	void returnsAnswerOverPooledKeepAliveConnection() {
+		stub = exchange -> respond(exchange, 200, "{\"text\":\"  Your claim is approved. \"}");
+		CohereChatClient client = client(2000, 4, 3, 30000);
+
+		assertThat(client.chat("status?", "employee_E1")).isEqualTo("Your claim is approved.");
+		assertThat(client.chat("status?", "employee_E1")).isEqualTo("Your claim is approved.");
+
+		assertThat(requests.get(0))
+				.startsWith("Bearer test-key ")
+				.contains("\"model\":\"test-model\"", "\"message\":\"status?\"", "\"conversation_id\":\"employee_E1\"");
+		// Second call reused the first connection
+		assertThat(clientPorts).hasSize(2);
+		assertThat(clientPorts.get(1)).isEqualTo(clientPorts.get(0));
+		assertThat(meterRegistry.timer("chatbot.llm.requests", "outcome", "success").count()).isEqualTo(2);
+	}
+
+	@Test
+	void slowUpstreamTimesOutToFallback() {
+		stub = exchange -> {
+			Thread.sleep(3000);
+			respond(exchange, 200, "{\"text\":\"too late\"}");
+		};
+		CohereChatClient client = client(300, 4, 3, 30000);
+
+		long start = System.nanoTime();
+		String answer = client.chat("hello", "employee_E1");
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(answer).isEqualTo(CohereChatClient.FALLBACK_ANSWER);
+		assertThat(elapsedMs).isLessThan(2000);
+		assertThat(fallbacks("error")).isEqualTo(1);
+	}
+
+	@Test
+	void circuitOpensAfterConsecutiveFailuresAndClosesAfterTrialCall() throws Exception {
+		stub = exchange -> respond(exchange, 503, "{\"message\":\"unavailable\"}");
+		CohereChatClient client = client(2000, 4, 2, 300);
+
+		client.chat("one", "c");
+		client.chat("two", "c");
+		assertThat(hits).hasValue(2);
+
+		// Open: answered locally without calling the upstream
+		assertThat(client.chat("three", "c")).isEqualTo(CohereChatClient.FALLBACK_ANSWER);
+		assertThat(hits).hasValue(2);
+		assertThat(fallbacks("circuit_open")).isEqualTo(1);
+		assertThat(meterRegistry.get("chatbot.llm.circuit.open").gauge().value()).isEqualTo(1);
+
+		// After the cool-down one trial call goes through and closes the circuit
+		stub = exchange -> respond(exchange, 200, "{\"text\":\"back\"}");
+		Thread.sleep(400);
+		assertThat(client.chat("four", "c")).isEqualTo("back");
+		assertThat(hits).hasValue(3);
+		assertThat(meterRegistry.get("chatbot.llm.circuit.open").gauge().value()).isEqualTo(0);
+	}
+
+	@Test
+	void clientErrorsDoNotOpenCircuit() {
+		stub = exchange -> respond(exchange, 401, "{\"message\":\"invalid api token\"}");
+		CohereChatClient client = client(2000, 4, 1, 30000);
+
+		assertThat(client.chat("one", "c")).isEqualTo(CohereChatClient.FALLBACK_ANSWER);
+		assertThat(client.chat("two", "c")).isEqualTo(CohereChatClient.FALLBACK_ANSWER);
+		assertThat(hits).hasValue(2);
+		assertThat(fallbacks("circuit_open")).isZero();
+	}
+
+	@Test
+	void bulkheadRejectsCallsBeyondTheLimit() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch entered = new CountDownLatch(1);
+		stub = exchange -> {
+			entered.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			respond(exchange, 200, "{\"text\":\"first\"}");
+		};
+		CohereChatClient client = client(5000, 1, 3, 30000);
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> client.chat("one", "c"));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(client.chat("two", "c")).isEqualTo(CohereChatClient.FALLBACK_ANSWER);
+		assertThat(fallbacks("bulkhead_full")).isEqualTo(1);
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+		assertThat(hits).hasValue(1);
+	}
+
+	@Test
+	void streamRelaysTokensBeforeTheAnswerIsComplete() throws Exception {
+		CountDownLatch firstTokenReceived = new CountDownLatch(1);
+		stub = exchange -> {
+			exchange.getResponseHeaders().set("Content-Type", "application/stream+json");
+			exchange.sendResponseHeaders(200, 0); // chunked
+			try (OutputStream out = exchange.getResponseBody()) {
+				writeLine(out, "{\"event_type\":\"stream-start\",\"generation_id\":\"g1\"}");
+				writeLine(out, "{\"event_type\":\"text-generation\",\"text\":\"A deductible\"}");
+				// The rest is only sent once the client has seen the first token
+				if (!firstTokenReceived.await(5, TimeUnit.SECONDS)) return;
+				writeLine(out, "{\"event_type\":\"text-generation\",\"text\":\" is what you pay first.\"}");
+				writeLine(out, "{\"event_type\":\"stream-end\",\"finish_reason\":\"COMPLETE\"}");
+			}
+		};
+		CohereChatClient client = client(2000, 4, 3, 30000);
+
+		List<String> tokens = new CopyOnWriteArrayList<>();
+		CompletableFuture<String> answer = client.streamChat("what is a deductible", null, token -> {
+			tokens.add(token);
+			firstTokenReceived.countDown();
+		});
+
+		assertThat(answer.get(5, TimeUnit.SECONDS)).isEqualTo("A deductible is what you pay first.");
+		assertThat(tokens).containsExactly("A deductible", " is what you pay first.");
+		assertThat(requests.get(0)).contains("\"stream\":true").doesNotContain("conversation_id");
+		assertThat(meterRegistry.timer("chatbot.llm.streams", "outcome", "success").count()).isEqualTo(1);
+		assertThat(meterRegistry.timer("chatbot.llm.stream.first-token").count()).isEqualTo(1);
+		assertThat(meterRegistry.get("chatbot.llm.in-flight").gauge().value()).isEqualTo(0);
+	}
+
+	@Test
+	void streamFailingBeforeAnyTokenFallsBack() throws Exception {
+		stub = exchange -> respond(exchange, 503, "{\"message\":\"unavailable\"}");
+		CohereChatClient client = client(2000, 4, 1, 30000);
+
+		List<String> tokens = new CopyOnWriteArrayList<>();
+		assertThat(client.streamChat("hello", "c", tokens::add).get(5, TimeUnit.SECONDS))
+				.isEqualTo(CohereChatClient.FALLBACK_ANSWER);
+		assertThat(tokens).isEmpty();
+		assertThat(fallbacks("error")).isEqualTo(1);
+
+		// The failure counts towards the same circuit as chat()
+		assertThat(client.chat("again", "c")).isEqualTo(CohereChatClient.FALLBACK_ANSWER);
+		assertThat(fallbacks("circuit_open")).isEqualTo(1);
+		assertThat(hits).hasValue(1);
+	}
+}
@@ -0,0 +1,81 @@
+package com.insurai.insurai_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.insurai.insurai_backend.model.Notification;
+import com.insurai.insurai_backend.repository.NotificationRepository;
+
+/**
+ * InAppNotificationService keeping cached inboxes (NotificationInboxCache) in step.
+ */
+class InAppNotificationServiceTest {
+
+	private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+	private final NotificationFeedService feedService = mock(NotificationFeedService.class);
+	private final NotificationInboxCache inboxCache = new NotificationInboxCache(feedService, 10, 100);
+	private final InAppNotificationService service = new InAppNotificationService();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "notificationRepository", notificationRepository);
+		ReflectionTestUtils.setField(service, "notificationPushService", mock(NotificationPushService.class));
+		ReflectionTestUtils.setField(service, "inboxCache", inboxCache);
+		ReflectionTestUtils.setField(service, "feedService", feedService);
+
+		when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
+			Notification notification = invocation.getArgument(0);
+			notification.setId(100L);
+			return notification;
+		});
+	}
+
+	private static Notification personal(long id, Long targetId, String role) {
+		Notification notification = new Notification();
+		notification.setId(id);
+		notification.setTitle("Claim Submitted");
+		notification.setMessage("Your claim has been submitted.");
+		notification.setTargetId(targetId);
+		notification.setTargetRole(role);
+		notification.setNotificationType("CLAIM");
+		notification.setCreatedAt(LocalDateTime.now());
+		notification.setUpdatedAt(LocalDateTime.now());
+		return notification;
+	}
+
+	@Test
+	void roleBroadcastReachesCachedInboxesOfThatRole() {
+		when(feedService.unreadCount(7L, "HR")).thenReturn(2L);
+		when(feedService.feed(eq(7L), eq("HR"), anyBoolean(), anyInt())).thenReturn(List.of(personal(5, 7L, "HR")));
+		when(feedService.unreadCount(3L, "EMPLOYEE")).thenReturn(1L);
+		when(feedService.feed(eq(3L), eq("EMPLOYEE"), anyBoolean(), anyInt())).thenReturn(List.of(personal(4, 3L, "EMPLOYEE")));
+
+		// Load both inboxes into the cache
+		assertThat(inboxCache.unreadCount(7L, "HR")).isEqualTo(2);
+		assertThat(inboxCache.unreadCount(3L, "EMPLOYEE")).isEqualTo(1);
+
+		service.createNotificationForRole("Policy Expiring", "Gold plan expires in 7 days", "HR", "POLICY");
+
+		assertThat(inboxCache.unreadCount(7L, "HR")).isEqualTo(3);
+		assertThat(inboxCache.latest(7L, "HR")).first()
+				.satisfies(head -> {
+					assertThat(head.getId()).isEqualTo(100L);
+					assertThat(head.getTargetId()).isNull();
+					assertThat(head.isReadStatus()).isFalse();
+				});
+		// Other roles are untouched
+		assertThat(inboxCache.unreadCount(3L, "EMPLOYEE")).isEqualTo(1);
+	}
+}
@@ -0,0 +1,154 @@
+package com.insurai.insurai_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+
+/**
+ * SupabaseStorageService against a MinIO container speaking the same S3 API.
+ *
+ * Needs Docker; skipped when it is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SupabaseStorageServiceTest {
+
+	private static final String BUCKET = "claims-test";
+	private static final int PART_SIZE = 5 * 1024 * 1024;
+
+	@Container
+	static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+	private static S3Client s3;
+
+	@TempDir
+	Path tempDir;
+
+	private SupabaseStorageService service;
+
+	@BeforeAll
+	static void createBucket() {
+		s3 = S3Client.builder()
+				.endpointOverride(URI.create(MINIO.getS3URL()))
+				.credentialsProvider(StaticCredentialsProvider.create(
+						AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword())))
+				.region(Region.US_EAST_1)
+				.forcePathStyle(true)
+				.build();
+		s3.createBucket(CreateBucketRequest.builder().bucket(BUCKET).build());
+	}
+
+	@BeforeEach
+	void setUp() {
+		service = new SupabaseStorageService();
+		ReflectionTestUtils.setField(service, "supabaseUrl", MINIO.getS3URL());
+		ReflectionTestUtils.setField(service, "accessKey", MINIO.getUserName());
+		ReflectionTestUtils.setField(service, "secretKey", MINIO.getPassword());
+		ReflectionTestUtils.setField(service, "bucketName", BUCKET);
+		ReflectionTestUtils.setField(service, "region", "us-east-1");
+		ReflectionTestUtils.setField(service, "multipartThreshold", 8L * 1024 * 1024);
+		ReflectionTestUtils.setField(service, "partSize", PART_SIZE);
+		ReflectionTestUtils.setField(service, "bufferCount", 2);
+		service.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	private static byte[] randomBytes(int size) {
+		byte[] bytes = new byte[size];
+		new Random(42).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static boolean hasPendingMultipartUploads() {
+		return s3.listMultipartUploads(ListMultipartUploadsRequest.builder().bucket(BUCKET).build()).hasUploads();
+	}
+
+	@Test
+	void multipartUploadRoundTrips() throws IOException {
+		// Three parts: two full ones and a short last one
+		byte[] content = randomBytes(2 * PART_SIZE + 123_456);
+		Path file = Files.write(tempDir.resolve("report.pdf"), content);
+
+		service.uploadFile(file, "claims/report.pdf", "application/pdf");
+
+		assertThat(service.exists("claims/report.pdf")).isTrue();
+		int start = PART_SIZE - 10;
+		try (InputStream range = service.openRange("claims/report.pdf", start, start + 19)) {
+			assertThat(range.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, start, start + 20));
+		}
+		try (InputStream whole = service.openRange("claims/report.pdf", 0, content.length - 1)) {
+			assertThat(whole.readAllBytes()).isEqualTo(content);
+		}
+		assertThat(hasPendingMultipartUploads()).isFalse();
+	}
+
+	@Test
+	void failedMultipartUploadIsAborted() {
+		byte[] content = randomBytes(2 * PART_SIZE);
+		// Fails once the first part has been read and sent
+		MockMultipartFile file = new MockMultipartFile("file", "broken.pdf", "application/pdf", content) {
+			@Override
+			public InputStream getInputStream() {
+				return new FilterInputStream(new ByteArrayInputStream(content)) {
+					private int read;
+
+					@Override
+					public int read(byte[] b, int off, int len) throws IOException {
+						if (read >= PART_SIZE) throw new IOException("connection reset");
+						int n = super.read(b, off, len);
+						if (n > 0) read += n;
+						return n;
+					}
+				};
+			}
+		};
+
+		assertThatThrownBy(() -> service.uploadFile(file, "claims/broken.pdf"))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessageContaining("connection reset");
+
+		assertThat(hasPendingMultipartUploads()).isFalse();
+		assertThat(service.exists("claims/broken.pdf")).isFalse();
+	}
+
+	@Test
+	void deleteRemovesObject() throws IOException {
+		Path file = Files.write(tempDir.resolve("small.pdf"), randomBytes(1024));
+		service.uploadFile(file, "claims/small.pdf", "application/pdf");
+		assertThat(service.exists("claims/small.pdf")).isTrue();
+
+		service.deleteFile("claims/small.pdf");
+
+		assertThat(service.exists("claims/small.pdf")).isFalse();
+	}
+}
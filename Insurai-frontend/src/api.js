@@ -46,3 +46,47 @@ API.interceptors.response.use(
 );
 
 export default API;
+
+// Keyset-paginated listings ({ items, nextCursor, hasMore }): pass nextCursor back to get the next page
+export const fetchPage = async (path, cursor, params = {}) => {
+  const { data } = await API.get(path, {
+    params: cursor != null ? { ...params, cursor } : params,
+  });
+  return data;
+};
+
+// Every page of a keyset-paginated listing, one bounded request at a time (for reports that aggregate)
+export const fetchAllPages = async (path, params = {}) => {
+  const items = [];
+  let cursor = null;
+  do {
+    const page = await fetchPage(path, cursor, params);
+    items.push(...(page.items || []));
+    cursor = page.hasMore ? page.nextCursor : null;
+  } while (cursor != null);
+  return items;
+};
+
+// Claim documents (/claims/{claimId}/documents/{document}) need the Bearer token, so a plain link
+// cannot open them: fetch the file as a blob and show it from an object URL instead
+export const openClaimDocument = async (claimId, doc) => {
+  const tab = window.open("", "_blank"); // opened inside the click so popup blockers allow it
+  try {
+    const { data } = await API.get(
+      `/claims/${Number(claimId)}/documents/${encodeURIComponent(doc.split("/").pop())}`,
+      { responseType: "blob", timeout: 0 }
+    );
+    const url = URL.createObjectURL(data);
+    if (tab) tab.location.href = url;
+    else window.location.assign(url);
+    setTimeout(() => URL.revokeObjectURL(url), 60000);
+  } catch (err) {
+    if (tab) tab.close();
+    console.error("Failed to open document:", err);
+    alert("Could not open the document.");
+  }
+};
+
+// Display name for a Claim.documents entry: SHA-256 references have no file name of their own
+export const claimDocumentLabel = (doc, index) =>
+  /^[0-9a-f]{64}$/.test(doc) ? `Document ${index + 1}` : doc.split("/").pop();
@@ -0,0 +1,58 @@
+import API from "./api";
+
+const RETRY_DELAY_MS = 5000;
+
+// Live notifications for a user over Server-Sent Events.
+// EventSource cannot send the Authorization header, so each connection uses a one-time ticket
+// from /stream-ticket. On a drop it reconnects with a fresh ticket and the last id it saw, and
+// the server replays what was missed, one capped page per connection. Returns a function that
+// closes the stream.
+export const subscribeToNotifications = ({ userId, role, onNotification }) => {
+  let source = null;
+  let retryTimer = null;
+  let lastEventId = null;
+  let closed = false;
+
+  const connect = async () => {
+    try {
+      const { data } = await API.post(`/notifications/user/${Number(userId)}/stream-ticket`);
+      if (closed) return;
+
+      const params = new URLSearchParams({ role, ticket: data.ticket });
+      if (lastEventId != null) params.set("lastEventId", lastEventId);
+      source = new EventSource(`${API.defaults.baseURL}/notifications/user/${Number(userId)}/stream?${params}`);
+
+      source.addEventListener("notification", (event) => {
+        lastEventId = event.lastEventId;
+        onNotification(JSON.parse(event.data));
+      });
+      // The replay hit the server's cap and the stream closed; fetch the next page right away
+      source.addEventListener("replay-truncated", () => {
+        source.close();
+        connect();
+      });
+      // The ticket is single-use, so the browser's own reconnect would be refused
+      source.onerror = () => {
+        source.close();
+        scheduleReconnect();
+      };
+    } catch (err) {
+      console.error("Notification stream unavailable:", err);
+      scheduleReconnect();
+    }
+  };
+
+  const scheduleReconnect = () => {
+    if (closed) return;
+    clearTimeout(retryTimer);
+    retryTimer = setTimeout(connect, RETRY_DELAY_MS);
+  };
+
+  connect();
+
+  return () => {
+    closed = true;
+    clearTimeout(retryTimer);
+    if (source) source.close();
+  };
+};
@@ -1,4 +1,5 @@
 import React, { useState, useMemo } from "react";
+import { claimDocumentLabel, openClaimDocument } from "../../../api";
 import {
   BarChart,
   Bar,
@@ -15,7 +16,7 @@ import {
   ResponsiveContainer
 } from 'recharts';
 
-const AdminAllClaims = ({ claims = [] }) => {
+const AdminAllClaims = ({ claims = [], hasMore = false, onLoadMore }) => {
   const [searchTerm, setSearchTerm] = useState("");
   const [statusFilter, setStatusFilter] = useState("All");
   const [dateFilter, setDateFilter] = useState("All");
@@ -1259,6 +1260,28 @@ const AdminAllClaims = ({ claims = [] }) => {
               </div>
             </div>
           )}
+
+          {/* Older claims are fetched a page at a time */}
+          {hasMore && onLoadMore && (
+            <div style={{ padding: '16px 24px', borderTop: '1px solid #e2e8f0', textAlign: 'center' }}>
+              <button
+                onClick={onLoadMore}
+                style={{
+                  padding: '8px 20px',
+                  borderRadius: '8px',
+                  border: '2px solid #667eea',
+                  background: 'white',
+                  color: '#667eea',
+                  fontSize: '14px',
+                  fontWeight: '600',
+                  cursor: 'pointer',
+                  transition: 'all 0.2s'
+                }}
+              >
+                Load older claims
+              </button>
+            </div>
+          )}
         </div>
 
         {/* View Claim Modal */}
@@ -1483,9 +1506,8 @@ const AdminAllClaims = ({ claims = [] }) => {
                       {viewClaim.documents.map((doc, idx) => (
                         <a
                           key={idx}
-                          href={`http://localhost:8080${doc}`}
-                          target="_blank"
-                          rel="noopener noreferrer"
+                          href="#"
+                          onClick={e => { e.preventDefault(); openClaimDocument(viewClaim.id, doc); }}
                           style={{
                             display: 'flex',
                             alignItems: 'center',
@@ -1509,7 +1531,7 @@ const AdminAllClaims = ({ claims = [] }) => {
                           }}
                         >
                           <span style={{ fontSize: '24px' }}>📄</span>
-                          <span>Document {idx + 1}</span>
+                          <span>{claimDocumentLabel(doc, idx)}</span>
                         </a>
                       ))}
                     </div>
@@ -2,6 +2,7 @@
 import React, { useState, useEffect, useCallback } from "react";
 import { useNavigate } from "react-router-dom";
 import axios from "axios";
+import { fetchPage } from "../../../api";
 import { motion, AnimatePresence } from "framer-motion";
 import {
   BarChart, Bar, XAxis, YAxis, Tooltip, ResponsiveContainer,
@@ -138,6 +139,23 @@ const ProgressCircle = ({ percentage, size = 80, strokeWidth = 8, color = theme.
   );
 };
 
+// Claim summary joined with the names shown in the claims table
+const mapClaim = (claim, { employees, hrs, policies: policyList }) => {
+  const employee = employees.find(e => e.id === (claim.employeeId || claim.employee_id));
+  const hr = hrs.find(h => h.id === (claim.assignedHrId || claim.assigned_hr_id));
+  const policy = policyList.find(p => p.id === (claim.policyId || claim.policy_id));
+
+  return {
+    ...claim,
+    employeeName: employee?.name || "Unknown",
+    employeeIdDisplay: employee?.employeeId || "N/A",
+    documents: claim.documents || [],
+    assignedHrName: hr?.name || "Not Assigned",
+    policyName: policy?.policyName || "N/A",
+    remarks: claim.remarks || "",
+  };
+};
+
 // ============= MAIN COMPONENT =============
 export default function AdminDashboard() {
   const navigate = useNavigate();
@@ -150,6 +168,8 @@ export default function AdminDashboard() {
   // Data states
   const [users, setUsers] = useState([]);
   const [claims, setClaims] = useState([]);
+  const [claimsCursor, setClaimsCursor] = useState(null);
+  const [claimLookups, setClaimLookups] = useState({ employees: [], hrs: [], policies: [] });
   const [policies, setPolicies] = useState([]);
   const [systemHealth, setSystemHealth] = useState({
     cpu: 45,
@@ -218,15 +238,14 @@ export default function AdminDashboard() {
   }, []);
 
   // ============= FETCH CLAIMS =============
+  // First page of claims (newest first); more pages are loaded on demand
   const fetchAllClaims = useCallback(async () => {
     try {
       const token = localStorage.getItem("token");
       if (!token) return;
 
-      const [claimsRes, empRes, hrRes, policyRes] = await Promise.all([
-        fetch("http://localhost:8080/admin/claims", {
-          headers: { Authorization: `Bearer ${token}` },
-        }),
+      const [claimsPage, empRes, hrRes, policyRes] = await Promise.all([
+        fetchPage("/admin/claims"),
         fetch("http://localhost:8080/auth/employees", {
           headers: { Authorization: `Bearer ${token}` },
         }),
@@ -238,8 +257,7 @@ export default function AdminDashboard() {
         })
       ]);
 
-      const [claimsData, employees, hrs, policiesData] = await Promise.all([
-        claimsRes.json(),
+      const [employees, hrs, policiesData] = await Promise.all([
         empRes.json(),
         hrRes.json(),
         policyRes.json()
@@ -247,23 +265,10 @@ export default function AdminDashboard() {
 
       setPolicies(policiesData);
 
-      const mappedClaims = claimsData.map(claim => {
-        const employee = employees.find(e => e.id === (claim.employeeId || claim.employee_id));
-        const hr = hrs.find(h => h.id === (claim.assignedHrId || claim.assigned_hr_id));
-        const policy = policiesData.find(p => p.id === (claim.policyId || claim.policy_id));
-
-        return {
-          ...claim,
-          employeeName: employee?.name || "Unknown",
-          employeeIdDisplay: employee?.employeeId || "N/A",
-          documents: claim.documents || [],
-          assignedHrName: hr?.name || "Not Assigned",
-          policyName: policy?.policyName || "N/A",
-          remarks: claim.remarks || "",
-        };
-      });
-
-      setClaims(mappedClaims);
+      const lookups = { employees, hrs, policies: policiesData };
+      setClaimLookups(lookups);
+      setClaims((claimsPage.items || []).map(claim => mapClaim(claim, lookups)));
+      setClaimsCursor(claimsPage.hasMore ? claimsPage.nextCursor : null);
     } catch (err) {
       console.error("Error fetching claims:", err);
     } finally {
@@ -271,6 +276,17 @@ export default function AdminDashboard() {
     }
   }, []);
 
+  const loadMoreClaims = useCallback(async () => {
+    if (claimsCursor == null) return;
+    try {
+      const page = await fetchPage("/admin/claims", claimsCursor);
+      setClaims(prev => [...prev, ...(page.items || []).map(claim => mapClaim(claim, claimLookups))]);
+      setClaimsCursor(page.hasMore ? page.nextCursor : null);
+    } catch (err) {
+      console.error("Error fetching more claims:", err);
+    }
+  }, [claimsCursor, claimLookups]);
+
   // ============= REGISTER HANDLERS =============
   const handleRegisterHR = async (hrData) => {
     try {
@@ -810,7 +826,7 @@ const renderContent = () => {
     case "claims":
       return (
         <motion.div variants={pageVariants} initial="initial" animate="animate" exit="exit">
-          <AdminAllClaims claims={claims} />
+          <AdminAllClaims claims={claims} hasMore={claimsCursor != null} onLoadMore={loadMoreClaims} />
         </motion.div>
       );
 
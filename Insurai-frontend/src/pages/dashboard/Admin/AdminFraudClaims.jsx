@@ -1,6 +1,6 @@
 // src/components/admin/AdminFraudClaims.jsx
 import React, { useState, useEffect, useMemo } from "react";
-import axios from "axios";
+import { claimDocumentLabel, fetchAllPages, openClaimDocument } from "../../../api";
 import { Bar, Pie, Line } from "react-chartjs-2";
 import {
   Chart as ChartJS,
@@ -61,10 +61,8 @@ export default function AdminFraudClaims() {
         const token = localStorage.getItem("token");
         if (!token) return console.error("❌ No admin token found!");
 
-        const response = await axios.get("http://localhost:8080/admin/claims/fraud", {
-          headers: { Authorization: `Bearer ${token}` },
-        });
-        setFraudClaims(response.data);
+        // Fraud-flagged claims are a small subset; fetched page by page
+        setFraudClaims(await fetchAllPages("/admin/claims/fraud", { size: 200 }));
       } catch (error) {
         console.error("Error fetching fraud claims:", error);
       } finally {
@@ -427,12 +425,11 @@ export default function AdminFraudClaims() {
                       {viewingClaim.documents.map((doc, i) => (
                         <li key={i}>
                           <a 
-                            href={`http://localhost:8080${doc}`} 
-                            target="_blank" 
-                            rel="noopener noreferrer"
+                            href="#"
+                            onClick={(e) => { e.preventDefault(); openClaimDocument(viewingClaim.id, doc); }}
                             style={{ color: COLORS.PRIMARY }}
                           >
-                            Document {i + 1}
+                            {claimDocumentLabel(doc, i)}
                           </a>
                         </li>
                       ))}
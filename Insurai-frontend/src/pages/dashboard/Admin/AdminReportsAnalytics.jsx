@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from "react";
 import axios from "axios";
+import { fetchAllPages } from "../../../api";
 import jsPDF from "jspdf";
 import "jspdf-autotable";
 import { PieChart, Pie, Cell, Tooltip, Legend, ResponsiveContainer, BarChart, Bar, XAxis, YAxis, CartesianGrid, LineChart, Line } from 'recharts';
@@ -52,14 +53,14 @@ export default function AdminReportsAnalytics() {
       try {
         const [usersRes, claimsRes, policiesRes, hrsRes, agentsRes] = await Promise.all([
           axios.get("http://localhost:8080/auth/employees", { headers: { Authorization: `Bearer ${token}` } }),
-          axios.get("http://localhost:8080/admin/claims", { headers: { Authorization: `Bearer ${token}` } }),
+          fetchAllPages("/admin/claims", { size: 200 }),
           axios.get("http://localhost:8080/admin/policies", { headers: { Authorization: `Bearer ${token}` } }),
           axios.get("http://localhost:8080/hr", { headers: { Authorization: `Bearer ${token}` } }),
           axios.get("http://localhost:8080/agent", { headers: { Authorization: `Bearer ${token}` } }),
         ]);
 
         setUsers(usersRes.data || []);
-        setClaims(claimsRes.data || []);
+        setClaims(claimsRes || []);
         setPolicies(policiesRes.data || []);
         setHrs(hrsRes.data || []);
         setAgents(agentsRes.data || []);
@@ -1,4 +1,5 @@
 import React, { useState, useEffect, useMemo } from "react";
+import { claimDocumentLabel, openClaimDocument } from "../../../api";
 
 export default function EmployeeClaims({
   activeTab,
@@ -680,14 +681,13 @@ const fetchClaims = async () => {
                       {viewingClaim.documents.map((doc, index) => (
                         <a 
                           key={index}
-                          href={`http://localhost:8080${doc}`} 
-                          target="_blank" 
-                          rel="noopener noreferrer"
+                          href="#"
+                          onClick={(e) => { e.preventDefault(); openClaimDocument(viewingClaim.id, doc); }}
                           className="list-group-item list-group-item-action d-flex justify-content-between align-items-center"
                         >
                           <span>
                             <i className="bi bi-file-earmark me-2"></i>
-                            {doc.split("/").pop()}
+                            {claimDocumentLabel(doc, index)}
                           </span>
                           <i className="bi bi-download text-primary"></i>
                         </a>
@@ -916,11 +916,11 @@ const renderNewClaimForm = () => {
                             <div className="d-flex align-items-center">
                               <i className="bi bi-file-earmark text-primary me-2"></i>
                               <small className="text-truncate text-gray-700" style={{maxWidth: '200px'}}>
-                                {doc.split("/").pop()}
+                                {claimDocumentLabel(doc, index)}
                               </small>
                             </div>
                             <div>
-                              <a href={`http://localhost:8080${doc}`} target="_blank" rel="noopener noreferrer"
+                              <a href="#" onClick={(e) => { e.preventDefault(); openClaimDocument(newClaim.id, doc); }}
                                  className="btn btn-sm btn-outline-primary me-1" title="View">
                                 <i className="bi bi-eye"></i>
                               </a>
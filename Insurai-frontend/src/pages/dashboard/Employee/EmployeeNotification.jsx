@@ -1,6 +1,7 @@
 // src/components/notification/EmployeeNotification.jsx
 import React, { useEffect, useState, useMemo } from "react";
 import axios from "axios";
+import { subscribeToNotifications } from "../../../notificationStream";
 import "bootstrap/dist/css/bootstrap.min.css";
 import "bootstrap-icons/font/bootstrap-icons.css";
 
@@ -52,11 +53,22 @@ export default function EmployeeNotification({ userDbId, token }) {
     };
 
     fetchNotifications();
-
-    const interval = setInterval(fetchNotifications, 30000); // auto-refresh every 30s
-    return () => clearInterval(interval);
   }, [userDbId, token, filter]);
 
+  // ---------------- Live Notifications (pushed by the server) ----------------
+  useEffect(() => {
+    if (!userDbId || !token) return;
+
+    return subscribeToNotifications({
+      userId: userDbId,
+      role: "EMPLOYEE",
+      onNotification: (notification) =>
+        setNotifications((prev) =>
+          prev.some((n) => n.id === notification.id) ? prev : [notification, ...prev]
+        ),
+    });
+  }, [userDbId, token]);
+
   // ---------------- Mark Single Notification as Read ----------------
   const markAsRead = async (notificationId) => {
     try {
@@ -1,5 +1,6 @@
 // src/components/hr/HRClaims.jsx
 import React, { useState, useMemo } from "react";
+import { claimDocumentLabel, openClaimDocument } from "../../../api";
 
 export default function HRClaims({
   pendingClaims,
@@ -438,11 +439,11 @@ export default function HRClaims({
                           <li key={idx}>
                             <a
                               className="dropdown-item"
-                              href={`http://localhost:8080${doc}`}
-                              target="_blank"
+                              href="#"
+                              onClick={(e) => { e.preventDefault(); openClaimDocument(claim.id, doc); }}
                             >
                               <i className="bi bi-download me-2"></i>{" "}
-                              Document {idx + 1}
+                              {claimDocumentLabel(doc, idx)}
                             </a>
                           </li>
                         ))}
@@ -618,11 +619,11 @@ export default function HRClaims({
                   {viewingClaim.documents?.length > 0 ? (
                     <div className="list-group">
                       {viewingClaim.documents.map((doc, idx) => (
-                        <a key={idx} href={`http://localhost:8080${doc}`} target="_blank" 
+                        <a key={idx} href="#" onClick={(e) => { e.preventDefault(); openClaimDocument(viewingClaim.id, doc); }}
                            className="list-group-item list-group-item-action d-flex justify-content-between align-items-center">
                           <span>
                             <i className="bi bi-file-earmark me-2"></i>
-                            Document {idx + 1}
+                            {claimDocumentLabel(doc, idx)}
                           </span>
                           <i className="bi bi-download text-primary"></i>
                         </a>
@@ -5,6 +5,7 @@ import { Chart as ChartJS, CategoryScale, LinearScale, BarElement, Title, Toolti
 import { CSVLink } from "react-csv";
 import jsPDF from "jspdf";
 import "jspdf-autotable";
+import { claimDocumentLabel, openClaimDocument } from "../../../api";
 
 ChartJS.register(
   CategoryScale,
@@ -369,8 +370,9 @@ const employeeMap = useMemo(() => {
                       </td>
                       <td>
                         {a.documents?.map((doc, i) => (
-                          <a key={i} href={`http://localhost:8080${doc}`} target="_blank" className="d-block">
-                            Doc {i + 1}
+                          <a key={i} href="#" className="d-block"
+                             onClick={(e) => { e.preventDefault(); e.stopPropagation(); openClaimDocument(a.id, doc); }}>
+                            {claimDocumentLabel(doc, i)}
                           </a>
                         ))}
                       </td>
@@ -406,7 +408,7 @@ const employeeMap = useMemo(() => {
                 <p><strong>Documents:</strong></p>
                 <ul>
                   {viewingAlert.documents?.map((doc, i) => (
-                    <li key={i}><a href={`http://localhost:8080${doc}`} target="_blank">Document {i + 1}</a></li>
+                    <li key={i}><a href="#" onClick={(e) => { e.preventDefault(); openClaimDocument(viewingAlert.id, doc); }}>{claimDocumentLabel(doc, i)}</a></li>
                   ))}
                 </ul>
               </div>
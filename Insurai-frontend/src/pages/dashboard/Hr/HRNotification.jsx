@@ -1,6 +1,7 @@
 // src/components/hr/HRNotification.jsx
 import React, { useEffect, useState, useMemo } from "react";
 import axios from "axios";
+import { subscribeToNotifications } from "../../../notificationStream";
 import "bootstrap/dist/css/bootstrap.min.css";
 import "bootstrap-icons/font/bootstrap-icons.css";
 
@@ -50,6 +51,20 @@ export default function HRNotification({ currentHrId }) {
     fetchNotifications();
   }, [currentHrId]);
 
+  // Live notifications pushed by the server, role broadcasts included
+  useEffect(() => {
+    if (!currentHrId || !localStorage.getItem("token")) return;
+
+    return subscribeToNotifications({
+      userId: currentHrId,
+      role: "HR",
+      onNotification: (notification) =>
+        setNotifications((prev) =>
+          prev.some((n) => n.id === notification.id) ? prev : [notification, ...prev]
+        ),
+    });
+  }, [currentHrId]);
+
   const markAsRead = async (id) => {
     try {
       const token = localStorage.getItem("token");